@@ -0,0 +1,141 @@
+package ru.practicum.shareit.benchmark;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.ItemShort;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+class Fixtures {
+
+    static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    static List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            users.add(new User(i, "user" + i, "user" + i + "@yandex.ru"));
+        }
+        return users;
+    }
+
+    static List<ItemRequest> itemRequests(int count, List<User> requesters) {
+        List<ItemRequest> itemRequests = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            itemRequests.add(ItemRequest.builder()
+                    .id(i)
+                    .description("Need a drill for request " + i)
+                    .requester(requesters.get(i % requesters.size()))
+                    .created(NOW.minusMinutes(i))
+                    .build());
+        }
+        return itemRequests;
+    }
+
+    static List<Item> items(int count, List<User> owners, List<ItemRequest> itemRequests) {
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            items.add(Item.builder()
+                    .id(i)
+                    .name("item" + i)
+                    .description("Cordless drill number " + i + " with two batteries")
+                    .available(i % 3 != 0)
+                    .owner(owners.get(i % owners.size()))
+                    .request(itemRequests.isEmpty() ? null : itemRequests.get(i % itemRequests.size()))
+                    .commentCount(i % 7)
+                    .lastCommentCreated(NOW.minusHours(i))
+                    .build());
+        }
+        return items;
+    }
+
+    static List<Booking> bookings(int count, List<User> bookers, List<Item> items) {
+        List<Booking> bookings = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            bookings.add(Booking.builder()
+                    .id(i)
+                    .start(NOW.plusDays(i))
+                    .end(NOW.plusDays(i + 1))
+                    .item(items.get(i % items.size()))
+                    .booker(bookers.get(i % bookers.size()))
+                    .status(Booking.Status.values()[i % Booking.Status.values().length])
+                    .build());
+        }
+        return bookings;
+    }
+
+    static List<Comment> comments(int count, List<User> authors, List<Item> items) {
+        List<Comment> comments = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            comments.add(Comment.builder()
+                    .id(i)
+                    .text("Worked great, comment " + i)
+                    .item(items.get(i % items.size()))
+                    .author(authors.get(i % authors.size()))
+                    .created(NOW.minusDays(i))
+                    .build());
+        }
+        return comments;
+    }
+
+    static List<ItemShort> itemShorts(List<Item> items) {
+        List<ItemShort> itemShorts = new ArrayList<>(items.size());
+        for (Item item : items) {
+            itemShorts.add(new SimpleItemShort(item));
+        }
+        return itemShorts;
+    }
+
+    private static class SimpleItemShort implements ItemShort {
+
+        private final Item item;
+
+        SimpleItemShort(Item item) {
+            this.item = item;
+        }
+
+        @Override
+        public Long getId() {
+            return item.getId();
+        }
+
+        @Override
+        public String getName() {
+            return item.getName();
+        }
+
+        @Override
+        public String getDescription() {
+            return item.getDescription();
+        }
+
+        @Override
+        public Boolean getAvailable() {
+            return item.getAvailable();
+        }
+
+        @Override
+        public Long getRequestId() {
+            return item.getRequest() == null ? null : item.getRequest().getId();
+        }
+
+        @Override
+        public Long getCommentCount() {
+            return item.getCommentCount();
+        }
+
+        @Override
+        public LocalDateTime getLastCommentCreated() {
+            return item.getLastCommentCreated();
+        }
+
+    }
+
+}
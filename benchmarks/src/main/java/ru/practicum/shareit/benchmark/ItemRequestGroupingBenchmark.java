@@ -0,0 +1,78 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemShort;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.request.ItemRequestServiceImpl;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemRequestGroupingBenchmark {
+
+    @Param({"20", "1000"})
+    private int requests;
+
+    @Param({"5"})
+    private int itemsPerRequest;
+
+    private ItemRequestServiceImpl itemRequestService;
+    private KeysetCursor cursor;
+
+    @Setup
+    public void setUp() {
+        List<User> users = Fixtures.users(50);
+        List<ItemRequest> itemRequests = Fixtures.itemRequests(requests, users);
+        List<ItemShort> itemShorts = Fixtures.itemShorts(Fixtures.items(requests * itemsPerRequest, users,
+                itemRequests));
+        itemRequestService = new ItemRequestServiceImpl(
+                stub(ItemRequestRepository.class, Map.of("findLatestByRequesterIdIsNotBefore", itemRequests)),
+                stub(UserRepository.class, Map.of("existsById", true)),
+                stub(ItemRepository.class, Map.of("findAllShortByRequestIdIn", itemShorts)));
+        cursor = new KeysetCursor(Fixtures.NOW.plusYears(1), Long.MAX_VALUE);
+    }
+
+    @Benchmark
+    public List<ItemRequestDto> getItemRequestsAllButOwner() {
+        return itemRequestService.getItemRequestsAllButOwner(0L, cursor, requests);
+    }
+
+    private static <T> T stub(Class<T> repositoryClass, Map<String, Object> results) {
+        return repositoryClass.cast(Proxy.newProxyInstance(repositoryClass.getClassLoader(),
+                new Class<?>[]{repositoryClass}, (proxy, method, args) -> {
+                    if (results.containsKey(method.getName())) {
+                        return results.get(method.getName());
+                    }
+                    if (method.getDeclaringClass() == Object.class) {
+                        return method.getName().equals("toString") ? repositoryClass.getSimpleName()
+                                : method.invoke(results, args);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                }));
+    }
+
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.CommentMapper;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"10", "1000"})
+    private int size;
+
+    private ObjectWriter writer;
+    private List<ItemDto> itemDtos;
+    private List<BookingDto> bookingDtos;
+
+    @Setup
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json().build().writer();
+        List<User> users = Fixtures.users(50);
+        List<Item> items = Fixtures.items(size, users, Fixtures.itemRequests(10, users));
+        List<Booking> bookings = Fixtures.bookings(size * 2, users, items);
+        List<Comment> comments = Fixtures.comments(size * 2, users, items);
+        itemDtos = new ArrayList<>(size);
+        for (int i = 0; i < items.size(); i++) {
+            ItemDto itemDto = ItemMapper.toItemDto(items.get(i));
+            itemDto.setLastBooking(BookingMapper.mapToBookingDtoItem(bookings.get(2 * i)));
+            itemDto.setNextBooking(BookingMapper.mapToBookingDtoItem(bookings.get(2 * i + 1)));
+            itemDto.setComments(CommentMapper.mapToCommentDto(comments.subList(2 * i, 2 * i + 2)));
+            itemDtos.add(itemDto);
+        }
+        bookingDtos = BookingMapper.mapToBookingDto(bookings.subList(0, size));
+    }
+
+    @Benchmark
+    public byte[] itemDtos() throws JsonProcessingException {
+        return writer.writeValueAsBytes(itemDtos);
+    }
+
+    @Benchmark
+    public byte[] bookingDtos() throws JsonProcessingException {
+        return writer.writeValueAsBytes(bookingDtos);
+    }
+
+}
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentMapper;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.ItemRequestMapper;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"10", "1000"})
+    private int size;
+
+    private List<Booking> bookings;
+    private List<Item> items;
+    private List<Comment> comments;
+    private List<ItemRequest> itemRequests;
+    private List<ItemDto> itemDtos;
+
+    @Setup
+    public void setUp() {
+        List<User> users = Fixtures.users(50);
+        itemRequests = Fixtures.itemRequests(size, users);
+        items = Fixtures.items(size, users, itemRequests);
+        bookings = Fixtures.bookings(size, users, items);
+        comments = Fixtures.comments(size, users, items);
+        itemDtos = ItemMapper.toItemDto(items);
+    }
+
+    @Benchmark
+    public List<BookingDto> bookingToDto() {
+        return BookingMapper.mapToBookingDto(bookings);
+    }
+
+    @Benchmark
+    public void bookingToDtoItem(Blackhole blackhole) {
+        for (Booking booking : bookings) {
+            blackhole.consume(BookingMapper.mapToBookingDtoItem(booking));
+        }
+    }
+
+    @Benchmark
+    public List<ItemDto> itemToDto() {
+        return ItemMapper.toItemDto(items);
+    }
+
+    @Benchmark
+    public void itemDtoToItem(Blackhole blackhole) {
+        for (ItemDto itemDto : itemDtos) {
+            blackhole.consume(ItemMapper.toItem(itemDto));
+        }
+    }
+
+    @Benchmark
+    public List<CommentDto> commentToDto() {
+        return CommentMapper.mapToCommentDto(comments);
+    }
+
+    @Benchmark
+    public void itemRequestToDto(Blackhole blackhole) {
+        for (ItemRequest itemRequest : itemRequests) {
+            blackhole.consume(ItemRequestMapper.mapToItemRequestDto(itemRequest, itemDtos));
+        }
+    }
+
+}
@@ -1,20 +1,25 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.booking.dto.NewBookingDto;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.MissingUserCache;
+import ru.practicum.shareit.client.ServerCallGuards;
+import ru.practicum.shareit.client.ServerLoadBalancer;
+import ru.practicum.shareit.tracing.Tracer;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
@@ -23,12 +28,16 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(RestTemplateBuilder builder, MissingUserCache missingUserCache,
+                         ServerCallGuards serverCallGuards, Tracer tracer) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .uriTemplateHandler(
+                                new DefaultUriBuilderFactory(ServerLoadBalancer.SERVER_BASE_URL + API_PREFIX))
+                        .build(),
+                missingUserCache,
+                serverCallGuards.forClient("bookings"),
+                tracer
         );
     }
 
@@ -47,24 +56,58 @@ public class BookingClient extends BaseClient {
     }
 
     public ResponseEntity<Object> getAllBookingsByUser(
-            long userId, String state, @PositiveOrZero long from, @Positive long size) {
-        BookingState.from(state)
-                .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + state));
-        Map<String, Object> parameters = Map.of(
-                "state", state,
-                "from", from,
-                "size", size);
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+            long userId, String state, @Nullable String before, @Nullable Long itemId,
+            @Nullable LocalDateTime rangeStart, @Nullable LocalDateTime rangeEnd,
+            @PositiveOrZero long from, @Positive long size) {
+        return getBookings("", userId, state, before, itemId, rangeStart, rangeEnd, from, size);
     }
 
     public ResponseEntity<Object> getAllBookingsAllItemsByOwner(
-            long userId, String state, @PositiveOrZero long from, @Positive long size) {
+            long userId, String state, @Nullable String before, @Nullable Long itemId,
+            @Nullable LocalDateTime rangeStart, @Nullable LocalDateTime rangeEnd,
+            @PositiveOrZero long from, @Positive long size) {
+        return getBookings("/owner/", userId, state, before, itemId, rangeStart, rangeEnd, from, size);
+    }
+
+    public ResponseEntity<Object> getBookingSummaryByUser(long userId) {
+        return get("/summary", userId);
+    }
+
+    public ResponseEntity<Object> getBookingSummaryByOwner(long userId) {
+        return get("/owner/summary", userId);
+    }
+
+    private ResponseEntity<Object> getBookings(
+            String path, long userId, String state, @Nullable String before, @Nullable Long itemId,
+            @Nullable LocalDateTime rangeStart, @Nullable LocalDateTime rangeEnd, long from, long size) {
         BookingState.from(state)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + state));
-        Map<String, Object> parameters = Map.of(
-                "state", state,
-                "from", from,
-                "size", size);
-        return get("/owner/?state={state}&from={from}&size={size}", userId, parameters);
+        if (rangeStart != null && rangeEnd != null && !rangeStart.isBefore(rangeEnd)) {
+            throw new IllegalArgumentException("Range end is equal or less than range start.");
+        }
+        Map<String, Object> parameters = new HashMap<>();
+        StringBuilder query = new StringBuilder(path).append("?state={state}&size={size}");
+        parameters.put("state", state);
+        parameters.put("size", size);
+        if (before != null) {
+            query.append("&before={before}");
+            parameters.put("before", before);
+        } else {
+            query.append("&from={from}");
+            parameters.put("from", from);
+        }
+        if (itemId != null) {
+            query.append("&itemId={itemId}");
+            parameters.put("itemId", itemId);
+        }
+        if (rangeStart != null) {
+            query.append("&rangeStart={rangeStart}");
+            parameters.put("rangeStart", rangeStart);
+        }
+        if (rangeEnd != null) {
+            query.append("&rangeEnd={rangeEnd}");
+            parameters.put("rangeEnd", rangeEnd);
+        }
+        return get(query.toString(), userId, parameters);
     }
 }
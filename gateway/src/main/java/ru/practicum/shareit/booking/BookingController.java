@@ -2,10 +2,14 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.NewBookingDto;
+import ru.practicum.shareit.ratelimit.RateLimit;
+
+import java.time.LocalDateTime;
 
 @Controller
 @RequestMapping(path = "/bookings")
@@ -14,12 +18,14 @@ public class BookingController {
 
 	private final BookingClient bookingClient;
 
+	@RateLimit("booking-write")
 	@PostMapping
 	public ResponseEntity<Object> addBooking(@RequestBody NewBookingDto newBookingDto,
 								 @RequestHeader("X-Sharer-User-Id") long userId) {
 		return bookingClient.addBooking(newBookingDto, userId);
 	}
 
+	@RateLimit("booking-write")
 	@PatchMapping("/{bookingId}")
 	public ResponseEntity<Object> approveOrRejectBooking(@PathVariable long bookingId,
 											 @RequestParam boolean approved,
@@ -36,17 +42,44 @@ public class BookingController {
 	@GetMapping
 	public ResponseEntity<Object> getAllBookingsByCurrentUser(@RequestHeader("X-Sharer-User-Id") long userId,
 														@RequestParam(defaultValue = "ALL") String state,
+														@RequestParam(required = false) String before,
+														@RequestParam(required = false) Long itemId,
+														@RequestParam(required = false)
+														@DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+														LocalDateTime rangeStart,
+														@RequestParam(required = false)
+														@DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+														LocalDateTime rangeEnd,
 														@RequestParam(defaultValue = "0") long from,
 														@RequestParam(defaultValue = "10") long size) {
-		return bookingClient.getAllBookingsByUser(userId, state, from, size);
+		return bookingClient.getAllBookingsByUser(userId, state, before, itemId, rangeStart, rangeEnd, from, size);
 	}
 
 	@GetMapping("/owner")
 	public ResponseEntity<Object> getAllBookingsAllItemsByOwner(@RequestHeader("X-Sharer-User-Id") long userId,
 														  @RequestParam(defaultValue = "ALL") String state,
+														  @RequestParam(required = false) String before,
+														  @RequestParam(required = false) Long itemId,
+														  @RequestParam(required = false)
+														  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+														  LocalDateTime rangeStart,
+														  @RequestParam(required = false)
+														  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+														  LocalDateTime rangeEnd,
 														  @RequestParam(defaultValue = "0") long from,
 														  @RequestParam(defaultValue = "10") long size) {
-		return bookingClient.getAllBookingsAllItemsByOwner(userId, state, from, size);
+		return bookingClient.getAllBookingsAllItemsByOwner(userId, state, before, itemId, rangeStart, rangeEnd,
+				from, size);
+	}
+
+	@GetMapping("/summary")
+	public ResponseEntity<Object> getBookingSummaryByCurrentUser(@RequestHeader("X-Sharer-User-Id") long userId) {
+		return bookingClient.getBookingSummaryByUser(userId);
+	}
+
+	@GetMapping("/owner/summary")
+	public ResponseEntity<Object> getBookingSummaryByOwner(@RequestHeader("X-Sharer-User-Id") long userId) {
+		return bookingClient.getBookingSummaryByOwner(userId);
 	}
 
 }
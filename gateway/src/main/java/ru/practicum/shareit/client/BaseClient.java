@@ -1,22 +1,45 @@
 package ru.practicum.shareit.client;
 
+import java.io.OutputStream;
+import java.net.SocketTimeoutException;
 import java.util.List;
 import java.util.Map;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.exception.ErrorResponse;
+import ru.practicum.shareit.tracing.Span;
+import ru.practicum.shareit.tracing.SpanKind;
+import ru.practicum.shareit.tracing.Tracer;
 
 public class BaseClient {
+    private static final String MISSING_USER_ID_HEADER = "X-Missing-User-Id";
+    private static final List<String> SERVER_FRAMING_HEADERS = List.of(HttpHeaders.TRANSFER_ENCODING,
+            HttpHeaders.CONTENT_LENGTH, HttpHeaders.CONNECTION, "Keep-Alive");
+    private static final ObjectMapper ERROR_WRITER = new ObjectMapper();
+
     protected final RestTemplate rest;
+    protected final MissingUserCache missingUserCache;
+    private final ServerCallGuard guard;
+    private final Tracer tracer;
 
-    public BaseClient(RestTemplate rest) {
+    public BaseClient(RestTemplate rest, MissingUserCache missingUserCache, ServerCallGuard guard, Tracer tracer) {
         this.rest = rest;
+        this.missingUserCache = missingUserCache;
+        this.guard = guard;
+        this.tracer = tracer;
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -84,8 +107,38 @@ public class BaseClient {
     }
 
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        if (userId != null && missingUserCache.contains(userId)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ErrorResponse("No such entity exists.", "There is no user with id = " + userId));
+        }
+        Span span = startClientSpan(method, path);
+        try {
+            ResponseEntity<Object> response = sendGuarded(method, path, userId, parameters, body);
+            span.setAttribute("http.status_code", response.getStatusCodeValue());
+            if (response.getStatusCode().is5xxServerError()) {
+                span.recordError("HTTP " + response.getStatusCodeValue());
+            }
+            return response;
+        } catch (RuntimeException e) {
+            span.recordError(e);
+            throw e;
+        } finally {
+            tracer.end(span);
+        }
+    }
+
+    private <T> ResponseEntity<Object> sendGuarded(HttpMethod method, String path, Long userId,
+                                                   @Nullable Map<String, Object> parameters, @Nullable T body) {
+        ServerCallGuard.Admission admission = guard.tryAcquire();
+        if (admission != ServerCallGuard.Admission.ADMITTED) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(new ErrorResponse("Server is unavailable.", guard.describe(admission)));
+        }
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
+        long start = System.nanoTime();
+        boolean success = false;
         ResponseEntity<Object> shareitServerResponse;
         try {
             if (parameters != null) {
@@ -93,12 +146,95 @@ public class BaseClient {
             } else {
                 shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
             }
+            success = isHealthy(shareitServerResponse.getStatusCodeValue(), shareitServerResponse.getHeaders());
         } catch (HttpStatusCodeException e) {
+            success = isHealthy(e.getRawStatusCode(), e.getResponseHeaders());
+            rememberMissingUser(e);
             return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+        } catch (ResourceAccessException e) {
+            HttpStatus status = e.getCause() instanceof SocketTimeoutException
+                    ? HttpStatus.GATEWAY_TIMEOUT : HttpStatus.BAD_GATEWAY;
+            return ResponseEntity.status(status).body(new ErrorResponse("Server is unavailable.", e.getMessage()));
+        } finally {
+            guard.release(success, System.nanoTime() - start);
         }
         return prepareGatewayResponse(shareitServerResponse);
     }
 
+    protected ResponseEntity<StreamingResponseBody> stream(String path, MediaType mediaType) {
+        // The permit is taken before the response is committed, so a rejection can still become a 503.
+        ServerCallGuard.Admission admission = guard.tryAcquire();
+        if (admission != ServerCallGuard.Admission.ADMITTED) {
+            byte[] error = writeError(new ErrorResponse("Server is unavailable.", guard.describe(admission)));
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(outputStream -> outputStream.write(error));
+        }
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .body(outputStream -> streamAdmitted(path, mediaType, outputStream));
+    }
+
+    private void streamAdmitted(String path, MediaType mediaType, OutputStream outputStream) {
+        Span span = startClientSpan(HttpMethod.GET, path);
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            rest.execute(path, HttpMethod.GET,
+                    request -> {
+                        request.getHeaders().setAccept(List.of(mediaType));
+                        request.getHeaders().set(Tracer.TRACEPARENT_HEADER, span.traceparent());
+                    },
+                    response -> StreamUtils.copy(response.getBody(), outputStream));
+            success = true;
+        } catch (HttpStatusCodeException e) {
+            success = isHealthy(e.getRawStatusCode(), e.getResponseHeaders());
+            span.recordError(e);
+            throw e;
+        } catch (RuntimeException e) {
+            span.recordError(e);
+            throw e;
+        } finally {
+            guard.release(success, System.nanoTime() - start);
+            tracer.end(span);
+        }
+    }
+
+    private static byte[] writeError(ErrorResponse error) {
+        try {
+            return ERROR_WRITER.writeValueAsBytes(error);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // A load-shed 503 comes from a server that is busy, not broken, so it must not count toward opening the circuit.
+    private static boolean isHealthy(int status, @Nullable HttpHeaders headers) {
+        return status < HttpStatus.INTERNAL_SERVER_ERROR.value() || ServerLoadBalancer.isShed(status, headers);
+    }
+
+    private Span startClientSpan(HttpMethod method, String path) {
+        Span span = tracer.startSpan("HTTP " + method.name(), SpanKind.CLIENT);
+        span.setAttribute("http.method", method.name());
+        span.setAttribute("http.target", path);
+        return span;
+    }
+
+    private void rememberMissingUser(HttpStatusCodeException e) {
+        if (e.getStatusCode() != HttpStatus.NOT_FOUND || e.getResponseHeaders() == null) {
+            return;
+        }
+        String missingUserId = e.getResponseHeaders().getFirst(MISSING_USER_ID_HEADER);
+        if (missingUserId != null) {
+            try {
+                missingUserCache.add(Long.parseLong(missingUserId));
+            } catch (NumberFormatException ignored) {
+                // A malformed header only means the id isn't cached.
+            }
+        }
+    }
+
     private HttpHeaders defaultHeaders(Long userId) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
@@ -106,12 +242,19 @@ public class BaseClient {
         if (userId != null) {
             headers.set("X-Sharer-User-Id", String.valueOf(userId));
         }
+        String traceparent = Tracer.currentTraceparent();
+        if (traceparent != null) {
+            headers.set(Tracer.TRACEPARENT_HEADER, traceparent);
+        }
         return headers;
     }
 
     private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
         if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
+            HttpHeaders headers = new HttpHeaders();
+            headers.putAll(response.getHeaders());
+            SERVER_FRAMING_HEADERS.forEach(headers::remove);
+            return ResponseEntity.status(response.getStatusCode()).headers(headers).body(response.getBody());
         }
 
         ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ClientCallTimingAspect {
+
+    private static final String EXCEPTION_OUTCOME = "EXCEPTION";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("within(ru.practicum.shareit..*Client) && execution(public * *(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = EXCEPTION_OUTCOME;
+        try {
+            Object result = joinPoint.proceed();
+            outcome = outcomeOf(result);
+            return result;
+        } finally {
+            sample.stop(Timer.builder("shareit.gateway.client")
+                    .description("Gateway client call time")
+                    .tag("client", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    private static String outcomeOf(Object result) {
+        if (!(result instanceof ResponseEntity)) {
+            return HttpStatus.Series.SUCCESSFUL.name();
+        }
+        HttpStatus.Series series = HttpStatus.Series.resolve(((ResponseEntity<?>) result).getStatusCodeValue());
+        return series == null ? "UNKNOWN" : series.name();
+    }
+
+}
@@ -0,0 +1,81 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+@Component
+public class MissingUserCache {
+
+    private final long ttlNanos;
+    private final int maxSize;
+    private final LongSupplier nanoClock;
+    private final Map<Long, Long> expiresAt = new ConcurrentHashMap<>();
+    private final AtomicLong lastPurge;
+
+    @Autowired
+    public MissingUserCache(@Value("${shareit-gateway.missing-user-cache.ttl:PT30S}") Duration ttl,
+                            @Value("${shareit-gateway.missing-user-cache.max-size:65536}") int maxSize) {
+        this(ttl, maxSize, System::nanoTime);
+    }
+
+    MissingUserCache(Duration ttl, int maxSize, LongSupplier nanoClock) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxSize = maxSize;
+        this.nanoClock = nanoClock;
+        this.lastPurge = new AtomicLong(nanoClock.getAsLong() - ttlNanos);
+    }
+
+    public boolean contains(long userId) {
+        if (userId <= 0) {
+            return false;
+        }
+        Long expiry = expiresAt.get(userId);
+        if (expiry == null) {
+            return false;
+        }
+        if (expiry - nanoClock.getAsLong() > 0) {
+            return true;
+        }
+        expiresAt.remove(userId, expiry);
+        return false;
+    }
+
+    public void add(long userId) {
+        if (userId <= 0) {
+            return;
+        }
+        long now = nanoClock.getAsLong();
+        if (expiresAt.size() >= maxSize && !expiresAt.containsKey(userId)) {
+            purgeExpired(now);
+            if (expiresAt.size() >= maxSize) {
+                return;
+            }
+        }
+        expiresAt.put(userId, now + ttlNanos);
+    }
+
+    public void remove(long userId) {
+        expiresAt.remove(userId);
+    }
+
+    int size() {
+        return expiresAt.size();
+    }
+
+    private void purgeExpired(long now) {
+        // Only one caller sweeps per eighth of the TTL, the rest skip caching while the cache is full.
+        long last = lastPurge.get();
+        if (now - last < ttlNanos / 8 || !lastPurge.compareAndSet(last, now)) {
+            return;
+        }
+        expiresAt.values().removeIf(expiry -> expiry - now <= 0);
+    }
+
+}
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class ReadYourWritesInterceptor implements ClientHttpRequestInterceptor {
+
+    static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    static final String READ_YOUR_WRITES_HEADER = "X-Read-Your-Writes";
+
+    private final long windowNanos;
+    private final int maxUsers;
+    private final Map<Long, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReadYourWritesInterceptor(ServerClientProperties properties) {
+        this.windowNanos = properties.getReadYourWrites().getWindow().toNanos();
+        this.maxUsers = properties.getReadYourWrites().getMaxTrackedUsers();
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        Long userId = userId(request);
+        if (userId == null) {
+            return execution.execute(request, body);
+        }
+        long now = System.nanoTime();
+        if (request.getMethod() == HttpMethod.GET) {
+            Long writtenAt = lastWrites.get(userId);
+            if (writtenAt != null && now - writtenAt < windowNanos) {
+                request.getHeaders().set(READ_YOUR_WRITES_HEADER, "primary");
+            }
+            return execution.execute(request, body);
+        }
+        ClientHttpResponse response = execution.execute(request, body);
+        if (response.getStatusCode().is2xxSuccessful()) {
+            recordWrite(userId, now);
+        }
+        return response;
+    }
+
+    private void recordWrite(long userId, long now) {
+        if (lastWrites.size() >= maxUsers) {
+            lastWrites.values().removeIf(writtenAt -> now - writtenAt >= windowNanos);
+            if (lastWrites.size() >= maxUsers) {
+                return;
+            }
+        }
+        lastWrites.put(userId, now);
+    }
+
+    private static Long userId(HttpRequest request) {
+        String header = request.getHeaders().getFirst(USER_ID_HEADER);
+        if (header == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(header);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+}
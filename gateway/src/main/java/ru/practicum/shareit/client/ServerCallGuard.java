@@ -0,0 +1,98 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+public class ServerCallGuard {
+
+    public enum Admission {
+        ADMITTED,
+        BULKHEAD_FULL,
+        CIRCUIT_OPEN
+    }
+
+    private final String name;
+    private final Semaphore bulkhead;
+    private final long maxWaitNanos;
+    private final CircuitBreaker circuitBreaker;
+    private final Timer latency;
+    private final Counter succeeded;
+    private final Counter failed;
+    private final Counter bulkheadRejected;
+    private final Counter circuitRejected;
+
+    ServerCallGuard(String name, ServerClientProperties.Bulkhead bulkhead, CircuitBreaker circuitBreaker,
+                    MeterRegistry meterRegistry) {
+        this.name = name;
+        this.bulkhead = new Semaphore(bulkhead.getMaxConcurrentCalls());
+        this.maxWaitNanos = bulkhead.getMaxWait().toNanos();
+        this.circuitBreaker = circuitBreaker;
+        Gauge.builder("shareit.gateway.bulkhead.available", this.bulkhead, Semaphore::availablePermits)
+                .tag("client", name)
+                .register(meterRegistry);
+        Gauge.builder("shareit.gateway.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("0 - closed, 1 - half open, 2 - open")
+                .tag("client", name)
+                .register(meterRegistry);
+        this.latency = Timer.builder("shareit.gateway.server.latency").tag("client", name).register(meterRegistry);
+        this.succeeded = callCounter(meterRegistry, "success");
+        this.failed = callCounter(meterRegistry, "failure");
+        this.bulkheadRejected = callCounter(meterRegistry, "bulkhead_full");
+        this.circuitRejected = callCounter(meterRegistry, "circuit_open");
+    }
+
+    public Admission tryAcquire() {
+        if (!acquireBulkhead()) {
+            bulkheadRejected.increment();
+            return Admission.BULKHEAD_FULL;
+        }
+        if (!circuitBreaker.tryAcquirePermission()) {
+            bulkhead.release();
+            circuitRejected.increment();
+            return Admission.CIRCUIT_OPEN;
+        }
+        return Admission.ADMITTED;
+    }
+
+    public void release(boolean success, long elapsedNanos) {
+        try {
+            circuitBreaker.onResult(success);
+            latency.record(elapsedNanos, TimeUnit.NANOSECONDS);
+            (success ? succeeded : failed).increment();
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    public String describe(Admission admission) {
+        if (admission == Admission.CIRCUIT_OPEN) {
+            return "Circuit to server for " + name + " client is open.";
+        }
+        return "Too many concurrent requests to server for " + name + " client.";
+    }
+
+    private boolean acquireBulkhead() {
+        if (maxWaitNanos <= 0) {
+            return bulkhead.tryAcquire();
+        }
+        try {
+            return bulkhead.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private Counter callCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("shareit.gateway.server.calls")
+                .tag("client", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+}
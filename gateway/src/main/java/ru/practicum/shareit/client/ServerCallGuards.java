@@ -0,0 +1,30 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@RequiredArgsConstructor
+public class ServerCallGuards {
+
+    private final ServerClientProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, ServerCallGuard> guards = new ConcurrentHashMap<>();
+
+    public ServerCallGuard forClient(String name) {
+        return guards.computeIfAbsent(name, this::createGuard);
+    }
+
+    private ServerCallGuard createGuard(String name) {
+        ServerClientProperties.Bulkhead bulkhead = properties.getBulkheads().getOrDefault(name,
+                properties.getBulkheads().getOrDefault(ServerClientProperties.DEFAULT_BULKHEAD,
+                        new ServerClientProperties.Bulkhead()));
+        return new ServerCallGuard(name, bulkhead,
+                new CircuitBreaker(name, properties.getCircuitBreaker(), System::nanoTime), meterRegistry);
+    }
+
+}
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.client;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-server.client")
+public class ServerClientProperties {
+
+    public static final String DEFAULT_BULKHEAD = "default";
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    private Duration readTimeout = Duration.ofSeconds(10);
+
+    private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+
+    private int maxConnections = 200;
+
+    private Map<String, Bulkhead> bulkheads = new HashMap<>();
+
+    private Breaker circuitBreaker = new Breaker();
+
+    private LoadBalancer loadBalancer = new LoadBalancer();
+
+    private ReadYourWrites readYourWrites = new ReadYourWrites();
+
+    @Data
+    public static class Bulkhead {
+
+        private int maxConcurrentCalls = 20;
+
+        private Duration maxWait = Duration.ZERO;
+
+    }
+
+    @Data
+    public static class Breaker {
+
+        private int slidingWindowSize = 50;
+
+        private int minimumCalls = 20;
+
+        private double failureRateThreshold = 0.5;
+
+        private Duration openDuration = Duration.ofSeconds(10);
+
+        private int halfOpenCalls = 3;
+
+    }
+
+    @Data
+    public static class LoadBalancer {
+
+        private int failureThreshold = 3;
+
+        private Duration ejectionDuration = Duration.ofSeconds(10);
+
+        private int getAttempts = 2;
+
+    }
+
+    @Data
+    public static class ReadYourWrites {
+
+        private Duration window = Duration.ofSeconds(5);
+
+        private int maxTrackedUsers = 100_000;
+
+    }
+
+}
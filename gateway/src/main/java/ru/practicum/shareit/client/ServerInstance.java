@@ -0,0 +1,61 @@
+package ru.practicum.shareit.client;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+class ServerInstance {
+
+    private final String baseUrl;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile boolean ejected;
+    private volatile long ejectedAt;
+
+    ServerInstance(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    String getBaseUrl() {
+        return baseUrl;
+    }
+
+    AtomicInteger getOutstanding() {
+        return outstanding;
+    }
+
+    boolean isEjected() {
+        return ejected;
+    }
+
+    boolean isAvailable(long now, long ejectionNanos) {
+        return !ejected || now - ejectedAt >= ejectionNanos;
+    }
+
+    URI resolve(URI logicalUri) {
+        String query = logicalUri.getRawQuery();
+        return URI.create(baseUrl + logicalUri.getRawPath() + (query == null ? "" : "?" + query));
+    }
+
+    void onSuccess() {
+        consecutiveFailures.set(0);
+        if (ejected) {
+            ejected = false;
+            log.info("Server instance {} is back in rotation.", baseUrl);
+        }
+    }
+
+    void onFailure(long now, int failureThreshold) {
+        if (consecutiveFailures.incrementAndGet() < failureThreshold) {
+            return;
+        }
+        ejectedAt = now;
+        if (!ejected) {
+            ejected = true;
+            log.warn("Server instance {} ejected after {} consecutive failures.", baseUrl, failureThreshold);
+        }
+    }
+
+}
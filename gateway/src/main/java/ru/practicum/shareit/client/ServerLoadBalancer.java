@@ -0,0 +1,215 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.support.HttpRequestWrapper;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+@Component
+public class ServerLoadBalancer implements ClientHttpRequestInterceptor {
+
+    public static final String SERVER_BASE_URL = "http://shareit-server";
+
+    private static final String LOAD_SHED_HEADER = "X-Load-Shed";
+
+    private final List<ServerInstance> instances = new ArrayList<>();
+    private final LongSupplier nanoClock;
+    private final int failureThreshold;
+    private final long ejectionNanos;
+    private final int getAttempts;
+
+    @Autowired
+    public ServerLoadBalancer(@Value("${shareit-server.url}") String serverUrls, ServerClientProperties properties,
+                              MeterRegistry meterRegistry) {
+        this(serverUrls, properties, meterRegistry, System::nanoTime);
+    }
+
+    ServerLoadBalancer(String serverUrls, ServerClientProperties properties, MeterRegistry meterRegistry,
+                       LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        for (String serverUrl : serverUrls.split(",")) {
+            String baseUrl = serverUrl.trim().replaceAll("/+$", "");
+            if (!baseUrl.isEmpty()) {
+                instances.add(new ServerInstance(baseUrl));
+            }
+        }
+        if (instances.isEmpty()) {
+            throw new IllegalStateException("No server instances configured in shareit-server.url.");
+        }
+        ServerClientProperties.LoadBalancer settings = properties.getLoadBalancer();
+        this.failureThreshold = settings.getFailureThreshold();
+        this.ejectionNanos = settings.getEjectionDuration().toNanos();
+        this.getAttempts = Math.max(1, Math.min(settings.getGetAttempts(), instances.size()));
+        for (ServerInstance instance : instances) {
+            Gauge.builder("shareit.gateway.instance.outstanding", instance.getOutstanding(), Number::doubleValue)
+                    .tag("instance", instance.getBaseUrl())
+                    .register(meterRegistry);
+            Gauge.builder("shareit.gateway.instance.ejected", instance, i -> i.isEjected() ? 1 : 0)
+                    .tag("instance", instance.getBaseUrl())
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        int attempts = request.getMethod() == HttpMethod.GET ? getAttempts : 1;
+        ServerInstance previous = null;
+        for (int attempt = 1; ; attempt++) {
+            boolean lastAttempt = attempt >= attempts;
+            ServerInstance instance = choose(previous);
+            URI uri = instance.resolve(request.getURI());
+            instance.getOutstanding().incrementAndGet();
+            ClientHttpResponse response;
+            try {
+                response = execution.execute(new HttpRequestWrapper(request) {
+                    @Override
+                    public URI getURI() {
+                        return uri;
+                    }
+                }, body);
+            } catch (IOException e) {
+                instance.getOutstanding().decrementAndGet();
+                instance.onFailure(nanoClock.getAsLong(), failureThreshold);
+                if (lastAttempt) {
+                    throw e;
+                }
+                previous = instance;
+                continue;
+            }
+            if (isShed(response)) {
+                return new TrackedResponse(response, instance);
+            }
+            if (!isUnavailable(response)) {
+                instance.onSuccess();
+                return new TrackedResponse(response, instance);
+            }
+            instance.onFailure(nanoClock.getAsLong(), failureThreshold);
+            if (lastAttempt) {
+                return new TrackedResponse(response, instance);
+            }
+            response.close();
+            instance.getOutstanding().decrementAndGet();
+            previous = instance;
+        }
+    }
+
+    private ServerInstance choose(ServerInstance excluded) {
+        if (instances.size() == 1) {
+            return instances.get(0);
+        }
+        long now = nanoClock.getAsLong();
+        List<ServerInstance> candidates = new ArrayList<>(instances.size());
+        for (ServerInstance instance : instances) {
+            if (instance != excluded && instance.isAvailable(now, ejectionNanos)) {
+                candidates.add(instance);
+            }
+        }
+        if (candidates.isEmpty()) {
+            for (ServerInstance instance : instances) {
+                if (instance != excluded) {
+                    candidates.add(instance);
+                }
+            }
+        }
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServerInstance a = candidates.get(first);
+        ServerInstance b = candidates.get(second);
+        return a.getOutstanding().get() <= b.getOutstanding().get() ? a : b;
+    }
+
+    // The server's admission control answers 503 when it sheds load. The instance is healthy, only busy, so it is
+    // neither ejected nor retried elsewhere, which would just move the overload to the next instance.
+    private static boolean isShed(ClientHttpResponse response) throws IOException {
+        return isShed(response.getRawStatusCode(), response.getHeaders());
+    }
+
+    static boolean isShed(int status, @Nullable HttpHeaders headers) {
+        return status == HttpStatus.SERVICE_UNAVAILABLE.value() && headers != null
+                && headers.containsKey(LOAD_SHED_HEADER);
+    }
+
+    private static boolean isUnavailable(ClientHttpResponse response) throws IOException {
+        int status = response.getRawStatusCode();
+        return status == HttpStatus.BAD_GATEWAY.value()
+                || status == HttpStatus.SERVICE_UNAVAILABLE.value()
+                || status == HttpStatus.GATEWAY_TIMEOUT.value();
+    }
+
+    private static class TrackedResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final ServerInstance instance;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        TrackedResponse(ClientHttpResponse delegate, ServerInstance instance) {
+            this.delegate = delegate;
+            this.instance = instance;
+        }
+
+        @Override
+        public HttpStatus getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public int getRawStatusCode() throws IOException {
+            return delegate.getRawStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                if (closed.compareAndSet(false, true)) {
+                    instance.getOutstanding().decrementAndGet();
+                }
+            }
+        }
+
+    }
+
+}
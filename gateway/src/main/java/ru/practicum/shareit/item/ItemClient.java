@@ -1,18 +1,23 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.MissingUserCache;
+import ru.practicum.shareit.client.ServerCallGuards;
+import ru.practicum.shareit.client.ServerLoadBalancer;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSearchSort;
+import ru.practicum.shareit.tracing.Tracer;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
 import java.util.List;
@@ -25,12 +30,16 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(RestTemplateBuilder builder, MissingUserCache missingUserCache,
+                      ServerCallGuards serverCallGuards, Tracer tracer) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .uriTemplateHandler(
+                                new DefaultUriBuilderFactory(ServerLoadBalancer.SERVER_BASE_URL + API_PREFIX))
+                        .build(),
+                missingUserCache,
+                serverCallGuards.forClient("items"),
+                tracer
         );
     }
 
@@ -53,15 +62,30 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getAllItemsWithText(String text, @PositiveOrZero long from, @Positive long size) {
+    public ResponseEntity<Object> getAllItemsWithText(
+            String text, String sort, @PositiveOrZero long from, @Positive long size) {
+        ItemSearchSort searchSort = ItemSearchSort.from(sort)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown sort: " + sort));
         if (text == null || text.isBlank()) {
             return ResponseEntity.ok(List.of());
         }
         Map<String, Object> parameters = Map.of(
                 "text", text,
+                "sort", searchSort.name(),
                 "from", from,
                 "size", size);
-        return get("/search?text={text}&from={from}&size={size}", 0L, parameters);
+        return get("/search?text={text}&sort={sort}&from={from}&size={size}", 0L, parameters);
+    }
+
+    public ResponseEntity<Object> getItemComments(long userId, long itemId, @Nullable String before,
+                                                  @Positive @Max(100) long size) {
+        if (before == null) {
+            return get("/" + itemId + "/comments?size={size}", userId, Map.of("size", size));
+        }
+        Map<String, Object> parameters = Map.of(
+                "before", before,
+                "size", size);
+        return get("/" + itemId + "/comments?before={before}&size={size}", userId, parameters);
     }
 
     public ResponseEntity<Object> addComment(long userId, long itemId, @Valid CommentDto commentDto) {
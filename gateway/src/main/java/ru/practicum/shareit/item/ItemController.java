@@ -6,6 +6,7 @@ import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.ratelimit.RateLimit;
 
 @Controller
 @RequestMapping(path = "/items")
@@ -38,11 +39,21 @@ public class ItemController {
         return itemClient.getAllItemsByUserId(userId, from, size);
     }
 
+    @RateLimit("search")
     @GetMapping("/search")
     public ResponseEntity<Object> getAllAvailableItemsWithText(@RequestParam String text,
+                                                      @RequestParam(defaultValue = "DEFAULT") String sort,
                                                       @RequestParam(defaultValue = "0") long from,
                                                       @RequestParam(defaultValue = "10") long size) {
-        return itemClient.getAllItemsWithText(text, from, size);
+        return itemClient.getAllItemsWithText(text, sort, from, size);
+    }
+
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<Object> getItemComments(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                  @PathVariable long itemId,
+                                                  @RequestParam(required = false) String before,
+                                                  @RequestParam(defaultValue = "10") long size) {
+        return itemClient.getItemComments(userId, itemId, before, size);
     }
 
     @PostMapping("/{itemId}/comment")
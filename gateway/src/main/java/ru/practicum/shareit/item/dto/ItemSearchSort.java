@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item.dto;
+
+import java.util.Optional;
+
+public enum ItemSearchSort {
+    DEFAULT,
+    POPULARITY;
+
+    public static Optional<ItemSearchSort> from(String stringSort) {
+        for (ItemSearchSort sort : values()) {
+            if (sort.name().equalsIgnoreCase(stringSort)) {
+                return Optional.of(sort);
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import ru.practicum.shareit.exception.ErrorResponse;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        if (!properties.isEnabled() || !(handler instanceof HandlerMethod)) {
+            return true;
+        }
+        String policy = resolvePolicy((HandlerMethod) handler);
+        long waitNanos = rateLimiter.tryAcquire(policy, resolveClientKey(request));
+        if (waitNanos == 0) {
+            return true;
+        }
+        long retryAfterSeconds = Math.max(1, (long) Math.ceil((double) waitNanos / TimeUnit.SECONDS.toNanos(1)));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse("Too many requests.",
+                "Rate limit '" + policy + "' exceeded, retry after " + retryAfterSeconds + " s."));
+        return false;
+    }
+
+    private static String resolvePolicy(HandlerMethod handlerMethod) {
+        RateLimit rateLimit = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getMethod(), RateLimit.class);
+        if (rateLimit == null) {
+            rateLimit = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), RateLimit.class);
+        }
+        return rateLimit == null ? RateLimitProperties.DEFAULT_POLICY : rateLimit.value();
+    }
+
+    static String resolveClientKey(HttpServletRequest request) {
+        String userId = request.getHeader(USER_ID_HEADER);
+        if (userId != null) {
+            try {
+                return "user:" + Long.parseLong(userId.trim());
+            } catch (NumberFormatException e) {
+                // Arbitrary header values would each get their own bucket, fall back to the caller's address.
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+}
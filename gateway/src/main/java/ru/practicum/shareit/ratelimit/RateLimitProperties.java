@@ -0,0 +1,33 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-gateway.rate-limit")
+public class RateLimitProperties {
+
+    public static final String DEFAULT_POLICY = "default";
+
+    private boolean enabled = true;
+
+    private int maxKeys = 100_000;
+
+    private Duration idleTimeout = Duration.ofMinutes(5);
+
+    private Map<String, Policy> policies = new HashMap<>();
+
+    @Data
+    public static class Policy {
+
+        private int capacity = 50;
+
+        private double refillPerSecond = 20;
+
+    }
+
+}
@@ -0,0 +1,88 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+@Slf4j
+@Component
+public class RateLimiter {
+
+    private static final long OVERFLOW_WARNING_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final RateLimitProperties properties;
+    private final LongSupplier nanoClock;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> overflowBuckets = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep;
+    private final AtomicLong lastOverflowWarning;
+    private final AtomicLong overflowedRequests = new AtomicLong();
+
+    @Autowired
+    public RateLimiter(RateLimitProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    RateLimiter(RateLimitProperties properties, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+        this.lastSweep = new AtomicLong(nanoClock.getAsLong());
+        this.lastOverflowWarning = new AtomicLong(nanoClock.getAsLong() - OVERFLOW_WARNING_INTERVAL_NANOS);
+    }
+
+    public long tryAcquire(String policyName, String clientKey) {
+        RateLimitProperties.Policy policy = properties.getPolicies().get(policyName);
+        if (policy == null) {
+            policy = properties.getPolicies().get(RateLimitProperties.DEFAULT_POLICY);
+            if (policy == null) {
+                return 0;
+            }
+        }
+        long now = nanoClock.getAsLong();
+        String key = policyName + '|' + clientKey;
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            evictIdleBuckets(now);
+            RateLimitProperties.Policy bucketPolicy = policy;
+            if (buckets.size() >= properties.getMaxKeys()) {
+                warnOverflow(now, key);
+                return overflowBuckets.computeIfAbsent(policyName, k -> new TokenBucket(bucketPolicy, now))
+                        .tryAcquire(now);
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(bucketPolicy, now));
+        }
+        return bucket.tryAcquire(now);
+    }
+
+    private void evictIdleBuckets(long now) {
+        long idleNanos = properties.getIdleTimeout().toNanos();
+        long previousSweep = lastSweep.get();
+        boolean sweepDue = now - previousSweep >= idleNanos || buckets.size() >= properties.getMaxKeys();
+        if (!sweepDue || !lastSweep.compareAndSet(previousSweep, now)) {
+            return;
+        }
+        buckets.values().removeIf(bucket -> now - bucket.lastUsed() >= idleNanos);
+    }
+
+    private void warnOverflow(long now, String key) {
+        long overflowed = overflowedRequests.incrementAndGet();
+        long previousWarning = lastOverflowWarning.get();
+        if (now - previousWarning >= OVERFLOW_WARNING_INTERVAL_NANOS
+                && lastOverflowWarning.compareAndSet(previousWarning, now)) {
+            overflowedRequests.addAndGet(-overflowed);
+            log.warn("Rate limiter is tracking {} keys, {} requests (last for {}) share the overflow bucket.",
+                    buckets.size(), overflowed, key);
+        }
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private final AtomicReference<State> state;
+
+    TokenBucket(RateLimitProperties.Policy policy, long now) {
+        this.capacity = policy.getCapacity();
+        this.tokensPerNano = policy.getRefillPerSecond() / TimeUnit.SECONDS.toNanos(1);
+        this.state = new AtomicReference<>(new State(capacity, now));
+    }
+
+    long tryAcquire(long now) {
+        while (true) {
+            State current = state.get();
+            double tokens = Math.min(capacity, current.tokens + (now - current.updatedAt) * tokensPerNano);
+            boolean acquired = tokens >= 1;
+            // Rejected attempts are recorded too, a client retrying against an empty bucket must not look idle.
+            if (state.compareAndSet(current, new State(acquired ? tokens - 1 : tokens, now))) {
+                return acquired ? 0 : (long) Math.ceil((1 - tokens) / tokensPerNano);
+            }
+        }
+    }
+
+    long lastUsed() {
+        return state.get().updatedAt;
+    }
+
+    private static final class State {
+
+        private final double tokens;
+        private final long updatedAt;
+
+        private State(double tokens, long updatedAt) {
+            this.tokens = tokens;
+            this.updatedAt = updatedAt;
+        }
+
+    }
+
+}
@@ -1,15 +1,18 @@
 package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.MissingUserCache;
+import ru.practicum.shareit.client.ServerCallGuards;
+import ru.practicum.shareit.client.ServerLoadBalancer;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.tracing.Tracer;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
@@ -23,12 +26,16 @@ public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(RestTemplateBuilder builder, MissingUserCache missingUserCache,
+                             ServerCallGuards serverCallGuards, Tracer tracer) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .uriTemplateHandler(
+                                new DefaultUriBuilderFactory(ServerLoadBalancer.SERVER_BASE_URL + API_PREFIX))
+                        .build(),
+                missingUserCache,
+                serverCallGuards.forClient("requests"),
+                tracer
         );
     }
 
@@ -40,7 +47,14 @@ public class ItemRequestClient extends BaseClient {
         return get("/", userId);
     }
 
-    public ResponseEntity<Object> getItemRequestsAllButOwner(long userId, @PositiveOrZero long from, @Positive long size) {
+    public ResponseEntity<Object> getItemRequestsAllButOwner(long userId, @Nullable String before,
+                                                             @PositiveOrZero long from, @Positive long size) {
+        if (before != null) {
+            Map<String, Object> parameters = Map.of(
+                    "before", before,
+                    "size", size);
+            return get("/all?before={before}&size={size}", userId, parameters);
+        }
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size);
@@ -26,9 +26,10 @@ public class ItemRequestController {
 
     @GetMapping("/all")
     public ResponseEntity<Object> getItemRequestsAllButOwner(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                           @RequestParam(required = false) String before,
                                                            @RequestParam(defaultValue = "0") long from,
                                                            @RequestParam(defaultValue = "10") long size) {
-        return itemRequestClient.getItemRequestsAllButOwner(userId, from, size);
+        return itemRequestClient.getItemRequestsAllButOwner(userId, before, from, size);
     }
 
     @GetMapping("/{requestId}")
@@ -1,41 +1,71 @@
 package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.MissingUserCache;
+import ru.practicum.shareit.client.ServerCallGuards;
+import ru.practicum.shareit.client.ServerLoadBalancer;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.tracing.Tracer;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.util.List;
+import java.util.Map;
 
 @Service
 @Validated
 public class UserClient extends BaseClient {
 
     private static final String API_PREFIX = "/users";
+    private static final int MAX_LOOKUP_IDS = 1000;
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(builder.uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build());
+    public UserClient(RestTemplateBuilder builder, MissingUserCache missingUserCache,
+                      ServerCallGuards serverCallGuards, Tracer tracer) {
+        super(builder.uriTemplateHandler(new DefaultUriBuilderFactory(ServerLoadBalancer.SERVER_BASE_URL + API_PREFIX))
+                .build(), missingUserCache, serverCallGuards.forClient("users"), tracer);
     }
 
     public ResponseEntity<Object> addUser(@Valid UserDto userDto) {
-        return post("", userDto);
+        ResponseEntity<Object> response = post("", userDto);
+        if (response.getStatusCode().is2xxSuccessful() && response.getBody() instanceof Map) {
+            Object userId = ((Map<?, ?>) response.getBody()).get("id");
+            if (userId instanceof Number) {
+                missingUserCache.remove(((Number) userId).longValue());
+            }
+        }
+        return response;
     }
 
     public ResponseEntity<Object> updateUserData(UserDto userDto, long userId) {
         return patch("/" + userId, userDto);
     }
 
-    public ResponseEntity<Object> getAllUsers() {
-        return get("");
+    public ResponseEntity<Object> getAllUsers(@PositiveOrZero long afterId, @Positive int size) {
+        Map<String, Object> parameters = Map.of(
+                "afterId", afterId,
+                "size", size);
+        return get("?afterId={afterId}&size={size}", null, parameters);
+    }
+
+    public ResponseEntity<Object> lookupUsers(@NotEmpty @Size(max = MAX_LOOKUP_IDS) List<@NotNull Long> ids) {
+        return post("/lookup", ids);
+    }
+
+    public ResponseEntity<StreamingResponseBody> streamAllUsers() {
+        return stream("/stream", MediaType.APPLICATION_NDJSON);
     }
 
     public ResponseEntity<Object> getUserById(long userId) {
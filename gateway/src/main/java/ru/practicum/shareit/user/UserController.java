@@ -1,11 +1,15 @@
 package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.util.List;
+
 @Controller
 @RequestMapping("/users")
 @RequiredArgsConstructor
@@ -24,8 +28,24 @@ public class UserController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllUsers() {
-        return userClient.getAllUsers();
+    public ResponseEntity<Object> getAllUsers(@RequestParam(defaultValue = "0") long afterId,
+                                              @RequestParam(defaultValue = "1000") int size) {
+        return userClient.getAllUsers(afterId, size);
+    }
+
+    @GetMapping(params = "ids")
+    public ResponseEntity<Object> getUsersByIds(@RequestParam List<Long> ids) {
+        return userClient.lookupUsers(ids);
+    }
+
+    @PostMapping("/lookup")
+    public ResponseEntity<Object> lookupUsers(@RequestBody List<Long> ids) {
+        return userClient.lookupUsers(ids);
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllUsers() {
+        return userClient.streamAllUsers();
     }
 
     @GetMapping("/{userId}")
@@ -0,0 +1,122 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.tracing.Span;
+import ru.practicum.shareit.tracing.SpanKind;
+import ru.practicum.shareit.tracing.Tracer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+public class BaseClientTest {
+
+    private final RestTemplate rest = mock(RestTemplate.class);
+    private final Tracer tracer = mock(Tracer.class);
+    private CircuitBreaker circuitBreaker;
+
+    @Test
+    void stream_whenBulkheadFull_thenServiceUnavailableBeforeStreaming() throws IOException {
+        BaseClient client = client(0);
+
+        ResponseEntity<StreamingResponseBody> response = client.stream("/stream", MediaType.APPLICATION_NDJSON);
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.SERVICE_UNAVAILABLE));
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER), equalTo("1"));
+        assertThat(response.getHeaders().getContentType(), equalTo(MediaType.APPLICATION_JSON));
+        assertThat(write(response), containsString("Server is unavailable."));
+        verifyNoInteractions(rest);
+    }
+
+    @Test
+    void stream_whenAdmitted_thenPermitHeldUntilBodyWritten() throws IOException {
+        when(tracer.startSpan(anyString(), any(SpanKind.class))).thenReturn(mock(Span.class));
+        BaseClient client = client(1);
+
+        ResponseEntity<StreamingResponseBody> first = client.stream("/stream", MediaType.APPLICATION_NDJSON);
+        ResponseEntity<StreamingResponseBody> second = client.stream("/stream", MediaType.APPLICATION_NDJSON);
+        write(first);
+        ResponseEntity<StreamingResponseBody> third = client.stream("/stream", MediaType.APPLICATION_NDJSON);
+
+        assertThat(first.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(first.getHeaders().getContentType(), equalTo(MediaType.APPLICATION_NDJSON));
+        assertThat(second.getStatusCode(), equalTo(HttpStatus.SERVICE_UNAVAILABLE));
+        assertThat(third.getStatusCode(), equalTo(HttpStatus.OK));
+    }
+
+    @Test
+    void get_whenServerShedsLoad_thenCircuitStaysClosed() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Load-Shed", "true");
+        when(rest.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(Object.class)))
+                .thenThrow(HttpServerErrorException.create(HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable",
+                        headers, new byte[0], StandardCharsets.UTF_8));
+        when(tracer.startSpan(anyString(), any(SpanKind.class))).thenReturn(mock(Span.class));
+        BaseClient client = client(1);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(client.get("/1").getStatusCode(), equalTo(HttpStatus.SERVICE_UNAVAILABLE));
+        }
+
+        assertThat(circuitBreaker.getState(), equalTo(CircuitBreaker.State.CLOSED));
+        verify(rest, times(10)).exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(Object.class));
+    }
+
+    @Test
+    void get_whenServerFails_thenCircuitOpens() {
+        when(rest.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(Object.class)))
+                .thenThrow(HttpServerErrorException.create(HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable",
+                        new HttpHeaders(), new byte[0], StandardCharsets.UTF_8));
+        when(tracer.startSpan(anyString(), any(SpanKind.class))).thenReturn(mock(Span.class));
+        BaseClient client = client(1);
+
+        for (int i = 0; i < 10; i++) {
+            client.get("/1");
+        }
+
+        assertThat(circuitBreaker.getState(), equalTo(CircuitBreaker.State.OPEN));
+        verify(rest, times(4)).exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(Object.class));
+    }
+
+    private BaseClient client(int maxConcurrentCalls) {
+        ServerClientProperties properties = new ServerClientProperties();
+        properties.getCircuitBreaker().setSlidingWindowSize(4);
+        properties.getCircuitBreaker().setMinimumCalls(4);
+        ServerClientProperties.Bulkhead bulkhead = new ServerClientProperties.Bulkhead();
+        bulkhead.setMaxConcurrentCalls(maxConcurrentCalls);
+        bulkhead.setMaxWait(Duration.ZERO);
+        circuitBreaker = new CircuitBreaker("users", properties.getCircuitBreaker(), System::nanoTime);
+        ServerCallGuard guard = new ServerCallGuard("users", bulkhead, circuitBreaker, new SimpleMeterRegistry());
+        return new BaseClient(rest, new MissingUserCache(Duration.ofSeconds(30), 16), guard, tracer);
+    }
+
+    private static String write(ResponseEntity<StreamingResponseBody> response) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        response.getBody().writeTo(outputStream);
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,118 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+public class CircuitBreakerTest {
+
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(10);
+
+    private CircuitBreaker circuitBreaker;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        ServerClientProperties.Breaker settings = new ServerClientProperties.Breaker();
+        settings.setSlidingWindowSize(4);
+        settings.setMinimumCalls(4);
+        settings.setFailureRateThreshold(0.5);
+        settings.setOpenDuration(OPEN_DURATION);
+        settings.setHalfOpenCalls(2);
+        now = 0;
+        circuitBreaker = new CircuitBreaker("test", settings, () -> now);
+    }
+
+    @Test
+    void onResult_whenFewerThanMinimumCalls_thenStaysClosed() {
+        record(false, false, false);
+
+        assertThat(circuitBreaker.getState(), equalTo(CircuitBreaker.State.CLOSED));
+        assertThat(circuitBreaker.tryAcquirePermission(), equalTo(true));
+    }
+
+    @Test
+    void onResult_whenFailureRateReached_thenOpensAndRejects() {
+        record(true, false, true, false);
+
+        assertThat(circuitBreaker.getState(), equalTo(CircuitBreaker.State.OPEN));
+        assertThat(circuitBreaker.tryAcquirePermission(), equalTo(false));
+    }
+
+    @Test
+    void onResult_whenOldFailuresSlideOutOfWindow_thenStaysClosed() {
+        record(false, true, true, true, true);
+
+        assertThat(circuitBreaker.getState(), equalTo(CircuitBreaker.State.CLOSED));
+    }
+
+    @Test
+    void tryAcquirePermission_whenOpenDurationElapsed_thenLimitedTrialCallsAllowed() {
+        open();
+        now += OPEN_DURATION.toNanos() - 1;
+        assertThat(circuitBreaker.tryAcquirePermission(), equalTo(false));
+
+        now += 1;
+        assertThat(circuitBreaker.tryAcquirePermission(), equalTo(true));
+        assertThat(circuitBreaker.getState(), equalTo(CircuitBreaker.State.HALF_OPEN));
+        assertThat(circuitBreaker.tryAcquirePermission(), equalTo(true));
+        assertThat(circuitBreaker.tryAcquirePermission(), equalTo(false));
+    }
+
+    @Test
+    void onResult_whenAllTrialCallsSucceed_thenCloses() {
+        open();
+        now += OPEN_DURATION.toNanos();
+        circuitBreaker.tryAcquirePermission();
+        circuitBreaker.tryAcquirePermission();
+
+        circuitBreaker.onResult(true);
+        assertThat(circuitBreaker.getState(), equalTo(CircuitBreaker.State.HALF_OPEN));
+        circuitBreaker.onResult(true);
+
+        assertThat(circuitBreaker.getState(), equalTo(CircuitBreaker.State.CLOSED));
+        record(false, false, false);
+        assertThat(circuitBreaker.getState(), equalTo(CircuitBreaker.State.CLOSED));
+    }
+
+    @Test
+    void onResult_whenTrialCallFails_thenReopensForFullDuration() {
+        open();
+        now += OPEN_DURATION.toNanos();
+        circuitBreaker.tryAcquirePermission();
+
+        circuitBreaker.onResult(false);
+
+        assertThat(circuitBreaker.getState(), equalTo(CircuitBreaker.State.OPEN));
+        now += OPEN_DURATION.toNanos() - 1;
+        assertThat(circuitBreaker.tryAcquirePermission(), equalTo(false));
+        now += 1;
+        assertThat(circuitBreaker.tryAcquirePermission(), equalTo(true));
+    }
+
+    @Test
+    void onResult_whenLateResultArrivesWhileOpen_thenIgnored() {
+        open();
+
+        circuitBreaker.onResult(true);
+        circuitBreaker.onResult(true);
+
+        assertThat(circuitBreaker.getState(), equalTo(CircuitBreaker.State.OPEN));
+    }
+
+    private void open() {
+        record(false, false, false, false);
+        assertThat(circuitBreaker.getState(), equalTo(CircuitBreaker.State.OPEN));
+    }
+
+    private void record(boolean... results) {
+        for (boolean success : results) {
+            circuitBreaker.onResult(success);
+        }
+    }
+
+}
@@ -0,0 +1,108 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+public class MissingUserCacheTest {
+
+    private static final Duration TTL = Duration.ofSeconds(8);
+
+    private long now;
+
+    @Test
+    void contains_whenUserAdded_thenCachedUntilTtlExpires() {
+        MissingUserCache cache = new MissingUserCache(TTL, 10, () -> now);
+
+        cache.add(1);
+        now += TTL.toNanos() - 1;
+        assertThat(cache.contains(1), equalTo(true));
+
+        now += 1;
+        assertThat(cache.contains(1), equalTo(false));
+        assertThat(cache.size(), equalTo(0));
+    }
+
+    @Test
+    void add_whenUserAddedAgain_thenTtlRefreshed() {
+        MissingUserCache cache = new MissingUserCache(TTL, 10, () -> now);
+
+        cache.add(1);
+        now += TimeUnit.SECONDS.toNanos(5);
+        cache.add(1);
+        now += TimeUnit.SECONDS.toNanos(5);
+
+        assertThat(cache.contains(1), equalTo(true));
+    }
+
+    @Test
+    void remove_whenUserCreated_thenNoLongerCached() {
+        MissingUserCache cache = new MissingUserCache(TTL, 10, () -> now);
+        cache.add(1);
+
+        cache.remove(1);
+
+        assertThat(cache.contains(1), equalTo(false));
+    }
+
+    @Test
+    void add_whenNotPositiveId_thenIgnored() {
+        MissingUserCache cache = new MissingUserCache(TTL, 10, () -> now);
+
+        cache.add(0);
+        cache.add(-1);
+
+        assertThat(cache.size(), equalTo(0));
+        assertThat(cache.contains(0), equalTo(false));
+    }
+
+    @Test
+    void add_whenFullOfLiveEntries_thenNewUserNotCached() {
+        MissingUserCache cache = new MissingUserCache(TTL, 2, () -> now);
+        cache.add(1);
+        cache.add(2);
+
+        cache.add(3);
+
+        assertThat(cache.contains(3), equalTo(false));
+        assertThat(cache.contains(1), equalTo(true));
+        assertThat(cache.contains(2), equalTo(true));
+    }
+
+    @Test
+    void add_whenFullOfExpiredEntries_thenExpiredPurged() {
+        MissingUserCache cache = new MissingUserCache(TTL, 2, () -> now);
+        cache.add(1);
+        cache.add(2);
+        now += TTL.toNanos();
+
+        cache.add(3);
+
+        assertThat(cache.contains(3), equalTo(true));
+        assertThat(cache.size(), equalTo(1));
+    }
+
+    @Test
+    void add_whenPurgedRecently_thenNextPurgeWaits() {
+        MissingUserCache cache = new MissingUserCache(TTL, 2, () -> now);
+        cache.add(1);
+        now += TimeUnit.MILLISECONDS.toNanos(500);
+        cache.add(2);
+        now = TTL.toNanos();
+        cache.add(3);
+
+        now += TimeUnit.MILLISECONDS.toNanos(500);
+        cache.add(4);
+        assertThat(cache.contains(4), equalTo(false));
+
+        now += TimeUnit.MILLISECONDS.toNanos(500);
+        cache.add(4);
+        assertThat(cache.contains(4), equalTo(true));
+        assertThat(cache.contains(3), equalTo(true));
+    }
+
+}
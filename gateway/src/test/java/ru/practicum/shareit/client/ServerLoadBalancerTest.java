@@ -0,0 +1,181 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ServerLoadBalancerTest {
+
+    private static final String FIRST = "http://server-1:9090";
+    private static final String SECOND = "http://server-2:9090";
+
+    private ServerClientProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private long now;
+    private final List<String> calledHosts = new ArrayList<>();
+    private final Map<String, HttpStatus> statuses = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        properties = new ServerClientProperties();
+        properties.getLoadBalancer().setFailureThreshold(2);
+        properties.getLoadBalancer().setEjectionDuration(Duration.ofSeconds(10));
+        properties.getLoadBalancer().setGetAttempts(2);
+        meterRegistry = new SimpleMeterRegistry();
+        now = 0;
+        statuses.put(FIRST, HttpStatus.OK);
+        statuses.put(SECOND, HttpStatus.OK);
+    }
+
+    @Test
+    void intercept_whenInstanceBusier_thenLessLoadedInstanceChosen() throws IOException {
+        ServerLoadBalancer loadBalancer = loadBalancer();
+
+        ClientHttpResponse held = loadBalancer.intercept(request(HttpMethod.GET), new byte[0], execution());
+        String busy = calledHosts.get(0);
+        for (int i = 0; i < 10; i++) {
+            loadBalancer.intercept(request(HttpMethod.GET), new byte[0], execution()).close();
+        }
+        held.close();
+
+        assertThat(calledHosts.subList(1, calledHosts.size()), everyItem(not(equalTo(busy))));
+    }
+
+    @Test
+    void intercept_whenGetFailsToConnect_thenRetriedOnOtherInstance() throws IOException {
+        ServerLoadBalancer loadBalancer = loadBalancer();
+        List<String> attempts = new ArrayList<>();
+
+        ClientHttpResponse response = loadBalancer.intercept(request(HttpMethod.GET), new byte[0],
+                (request, body) -> {
+                    attempts.add(host(request.getURI()));
+                    if (attempts.size() == 1) {
+                        throw new ConnectException("Connection refused");
+                    }
+                    return new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+                });
+
+        assertThat(response.getRawStatusCode(), equalTo(200));
+        assertThat(attempts.size(), equalTo(2));
+        assertThat(attempts.get(1), not(equalTo(attempts.get(0))));
+    }
+
+    @Test
+    void intercept_whenPostFailsToConnect_thenNotRetried() {
+        ServerLoadBalancer loadBalancer = loadBalancer();
+        List<String> attempts = new ArrayList<>();
+
+        assertThrows(ConnectException.class, () -> loadBalancer.intercept(request(HttpMethod.POST), new byte[0],
+                (request, body) -> {
+                    attempts.add(host(request.getURI()));
+                    throw new ConnectException("Connection refused");
+                }));
+        assertThat(attempts.size(), equalTo(1));
+    }
+
+    @Test
+    void intercept_whenInstanceKeepsFailing_thenEjectedUntilDurationPasses() throws IOException {
+        properties.getLoadBalancer().setGetAttempts(1);
+        statuses.put(FIRST, HttpStatus.BAD_GATEWAY);
+        ServerLoadBalancer loadBalancer = loadBalancer();
+
+        for (int i = 0; i < 100 && ejected(FIRST) == 0; i++) {
+            loadBalancer.intercept(request(HttpMethod.GET), new byte[0], execution()).close();
+        }
+        assertThat(ejected(FIRST), equalTo(1.0));
+
+        calledHosts.clear();
+        for (int i = 0; i < 20; i++) {
+            loadBalancer.intercept(request(HttpMethod.GET), new byte[0], execution()).close();
+        }
+        assertThat(calledHosts, everyItem(equalTo(SECOND)));
+
+        now += Duration.ofSeconds(10).toNanos();
+        calledHosts.clear();
+        for (int i = 0; i < 100 && !calledHosts.contains(FIRST); i++) {
+            loadBalancer.intercept(request(HttpMethod.GET), new byte[0], execution()).close();
+        }
+        assertThat(calledHosts, hasItem(FIRST));
+    }
+
+    @Test
+    void intercept_whenServerShedsLoad_thenInstanceNeitherEjectedNorRetried() throws IOException {
+        properties.getLoadBalancer().setFailureThreshold(1);
+        ServerLoadBalancer loadBalancer = loadBalancer();
+        List<String> attempts = new ArrayList<>();
+
+        ClientHttpResponse response = loadBalancer.intercept(request(HttpMethod.GET), new byte[0],
+                (request, body) -> {
+                    attempts.add(host(request.getURI()));
+                    MockClientHttpResponse shed = new MockClientHttpResponse(new byte[0],
+                            HttpStatus.SERVICE_UNAVAILABLE);
+                    shed.getHeaders().add("X-Load-Shed", "true");
+                    return shed;
+                });
+        response.close();
+
+        assertThat(response.getRawStatusCode(), equalTo(503));
+        assertThat(attempts.size(), equalTo(1));
+        assertThat(ejected(attempts.get(0)), equalTo(0.0));
+    }
+
+    @Test
+    void intercept_whenAllInstancesUnavailable_thenLastResponseReturned() throws IOException {
+        statuses.put(FIRST, HttpStatus.SERVICE_UNAVAILABLE);
+        statuses.put(SECOND, HttpStatus.SERVICE_UNAVAILABLE);
+        ServerLoadBalancer loadBalancer = loadBalancer();
+
+        ClientHttpResponse response = loadBalancer.intercept(request(HttpMethod.GET), new byte[0], execution());
+
+        assertThat(response.getRawStatusCode(), equalTo(503));
+        assertThat(calledHosts.size(), equalTo(2));
+        assertThat(calledHosts.get(1), not(equalTo(calledHosts.get(0))));
+    }
+
+    private ServerLoadBalancer loadBalancer() {
+        return new ServerLoadBalancer(FIRST + ", " + SECOND + "/", properties, meterRegistry, () -> now);
+    }
+
+    private ClientHttpRequestExecution execution() {
+        return (request, body) -> {
+            String host = host(request.getURI());
+            calledHosts.add(host);
+            return new MockClientHttpResponse(new byte[0], statuses.get(host));
+        };
+    }
+
+    private double ejected(String instance) {
+        return meterRegistry.get("shareit.gateway.instance.ejected").tag("instance", instance).gauge().value();
+    }
+
+    private static MockClientHttpRequest request(HttpMethod method) {
+        return new MockClientHttpRequest(method, URI.create(ServerLoadBalancer.SERVER_BASE_URL + "/users/1"));
+    }
+
+    private static String host(URI uri) {
+        return uri.getScheme() + "://" + uri.getAuthority();
+    }
+
+}
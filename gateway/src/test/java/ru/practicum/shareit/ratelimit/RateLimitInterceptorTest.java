@@ -0,0 +1,36 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+public class RateLimitInterceptorTest {
+
+    @Test
+    void resolveClientKey_whenUserIdNumeric_thenKeyedByUser() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-Sharer-User-Id", " 42 ");
+
+        assertThat(RateLimitInterceptor.resolveClientKey(request), equalTo("user:42"));
+    }
+
+    @Test
+    void resolveClientKey_whenUserIdInvalid_thenKeyedByAddress() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.7");
+        request.addHeader("X-Sharer-User-Id", "random-" + System.nanoTime());
+
+        assertThat(RateLimitInterceptor.resolveClientKey(request), equalTo("ip:10.0.0.7"));
+    }
+
+    @Test
+    void resolveClientKey_whenUserIdMissing_thenKeyedByAddress() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.7");
+
+        assertThat(RateLimitInterceptor.resolveClientKey(request), equalTo("ip:10.0.0.7"));
+    }
+
+}
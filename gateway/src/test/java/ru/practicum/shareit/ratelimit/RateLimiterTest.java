@@ -0,0 +1,112 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+
+public class RateLimiterTest {
+
+    private RateLimitProperties properties;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties.Policy policy = new RateLimitProperties.Policy();
+        policy.setCapacity(2);
+        policy.setRefillPerSecond(1);
+        properties = new RateLimitProperties();
+        properties.setMaxKeys(2);
+        properties.setIdleTimeout(Duration.ofMinutes(1));
+        properties.setPolicies(Map.of(RateLimitProperties.DEFAULT_POLICY, policy));
+        now = 0;
+    }
+
+    @Test
+    void tryAcquire_whenBucketEmpty_thenWaitUntilNextTokenReturned() {
+        RateLimiter rateLimiter = new RateLimiter(properties, () -> now);
+
+        assertThat(rateLimiter.tryAcquire("default", "user:1"), equalTo(0L));
+        assertThat(rateLimiter.tryAcquire("default", "user:1"), equalTo(0L));
+        assertThat(rateLimiter.tryAcquire("default", "user:1"), equalTo(TimeUnit.SECONDS.toNanos(1)));
+
+        now += TimeUnit.MILLISECONDS.toNanos(500);
+        assertThat(rateLimiter.tryAcquire("default", "user:1"), equalTo(TimeUnit.MILLISECONDS.toNanos(500)));
+
+        now += TimeUnit.MILLISECONDS.toNanos(500);
+        assertThat(rateLimiter.tryAcquire("default", "user:1"), equalTo(0L));
+    }
+
+    @Test
+    void tryAcquire_whenDifferentClients_thenSeparateBuckets() {
+        RateLimiter rateLimiter = new RateLimiter(properties, () -> now);
+
+        rateLimiter.tryAcquire("default", "user:1");
+        rateLimiter.tryAcquire("default", "user:1");
+
+        assertThat(rateLimiter.tryAcquire("default", "user:1"), greaterThan(0L));
+        assertThat(rateLimiter.tryAcquire("default", "user:2"), equalTo(0L));
+    }
+
+    @Test
+    void tryAcquire_whenUnknownPolicy_thenDefaultPolicyApplied() {
+        RateLimiter rateLimiter = new RateLimiter(properties, () -> now);
+
+        rateLimiter.tryAcquire("search", "user:1");
+        rateLimiter.tryAcquire("search", "user:1");
+
+        assertThat(rateLimiter.tryAcquire("search", "user:1"), greaterThan(0L));
+    }
+
+    @Test
+    void tryAcquire_whenKeyLimitReached_thenNewClientsShareOverflowBucket() {
+        RateLimiter rateLimiter = new RateLimiter(properties, () -> now);
+        rateLimiter.tryAcquire("default", "user:1");
+        rateLimiter.tryAcquire("default", "user:2");
+
+        assertThat(rateLimiter.tryAcquire("default", "user:3"), equalTo(0L));
+        assertThat(rateLimiter.tryAcquire("default", "user:4"), equalTo(0L));
+        assertThat(rateLimiter.tryAcquire("default", "user:5"), greaterThan(0L));
+        assertThat(rateLimiter.size(), equalTo(2));
+    }
+
+    @Test
+    void tryAcquire_whenBucketsIdle_thenEvictedAndNewClientsTracked() {
+        RateLimiter rateLimiter = new RateLimiter(properties, () -> now);
+        rateLimiter.tryAcquire("default", "user:1");
+        rateLimiter.tryAcquire("default", "user:2");
+
+        now += Duration.ofMinutes(2).toNanos();
+        rateLimiter.tryAcquire("default", "user:3");
+
+        assertThat(rateLimiter.size(), equalTo(1));
+    }
+
+    @Test
+    void tryAcquire_whenClientKeepsGettingRejected_thenBucketNotEvicted() {
+        RateLimitProperties.Policy slowPolicy = new RateLimitProperties.Policy();
+        slowPolicy.setCapacity(2);
+        slowPolicy.setRefillPerSecond(0.001);
+        properties.setPolicies(Map.of(RateLimitProperties.DEFAULT_POLICY, slowPolicy));
+        RateLimiter rateLimiter = new RateLimiter(properties, () -> now);
+        rateLimiter.tryAcquire("default", "user:1");
+        rateLimiter.tryAcquire("default", "user:1");
+
+        for (int i = 0; i < 6; i++) {
+            now += Duration.ofSeconds(30).toNanos();
+            assertThat(rateLimiter.tryAcquire("default", "user:1"), greaterThan(0L));
+        }
+        now += Duration.ofSeconds(30).toNanos();
+        rateLimiter.tryAcquire("default", "user:2");
+
+        assertThat(rateLimiter.size(), equalTo(2));
+        assertThat(rateLimiter.tryAcquire("default", "user:1"), greaterThan(0L));
+    }
+
+}
@@ -0,0 +1,246 @@
+package ru.practicum.shareit.loadtest;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+class Dataset {
+
+    static final String[] WORDS = {"drill", "saw", "ladder", "tent", "bike", "kayak", "camera", "tripod", "projector",
+        "speaker", "guitar", "grill", "mixer", "vacuum", "sander", "hammer", "jack", "compressor", "snowboard",
+        "skis", "stroller", "scooter", "telescope", "drone", "router", "printer", "lamp", "heater", "fan", "mower"};
+
+    private static final int BATCH_SIZE = 1_000;
+
+    private final int users;
+    private final long[] itemOwners;
+    private final boolean[] itemsAvailable;
+    private final int requests;
+    private final ZipfSampler userActivity;
+    private final ZipfSampler itemPopularity;
+    private final LocalDateTime now = LocalDateTime.now();
+    private long bookings;
+    private long comments;
+    private int[] commentItems;
+    private int[] commentAges;
+
+    private Dataset(LoadTestConfig config, Random random) {
+        users = config.getUsers();
+        itemOwners = new long[config.getItems()];
+        itemsAvailable = new boolean[config.getItems()];
+        requests = config.getRequests();
+        userActivity = new ZipfSampler(users, config.getSkew(), random);
+        itemPopularity = new ZipfSampler(config.getItems(), config.getSkew(), random);
+    }
+
+    static Dataset seed(DataSource dataSource, LoadTestConfig config, Random random) throws SQLException {
+        Dataset dataset = new Dataset(config, random);
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            dataset.writeUsers(connection);
+            dataset.writeRequests(connection, random);
+            long[] commentCounts = new long[config.getItems()];
+            LocalDateTime[] lastComments = new LocalDateTime[config.getItems()];
+            dataset.planComments(config, random, commentCounts, lastComments);
+            dataset.writeItems(connection, random, commentCounts, lastComments);
+            dataset.writeBookings(connection, config, random);
+            dataset.writeComments(connection, random);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE");
+            } catch (SQLException ignored) {
+                // Statistics only help the planner, the dataset is usable without them.
+            }
+            connection.commit();
+        }
+        return dataset;
+    }
+
+    long randomUser(Random random) {
+        return random.nextInt(users) + 1;
+    }
+
+    long activeUser(Random random) {
+        return userActivity.next(random) + 1;
+    }
+
+    long popularItem(Random random) {
+        return itemPopularity.next(random) + 1;
+    }
+
+    long itemOwner(long itemId) {
+        return itemOwners[(int) itemId - 1];
+    }
+
+    boolean isItemAvailable(long itemId) {
+        return itemsAvailable[(int) itemId - 1];
+    }
+
+    int getUsers() {
+        return users;
+    }
+
+    int getItems() {
+        return itemOwners.length;
+    }
+
+    long getBookings() {
+        return bookings;
+    }
+
+    long getComments() {
+        return comments;
+    }
+
+    private void writeUsers(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "insert into users (id, name, email, normalized_email) values (?, ?, ?, ?)")) {
+            for (int id = 1; id <= users; id++) {
+                String email = "user" + id + "@shareit.test";
+                statement.setLong(1, id);
+                statement.setString(2, "user" + id);
+                statement.setString(3, email);
+                statement.setString(4, email);
+                addBatch(statement, id);
+            }
+            statement.executeBatch();
+        }
+        restartIdentity(connection, "users", users);
+    }
+
+    private void writeRequests(Connection connection, Random random) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "insert into requests (id, description, requester_id, created) values (?, ?, ?, ?)")) {
+            for (int id = 1; id <= requests; id++) {
+                statement.setLong(1, id);
+                statement.setString(2, "Looking for a " + word(random) + " for the weekend");
+                statement.setLong(3, activeUser(random));
+                statement.setTimestamp(4, Timestamp.valueOf(now.minusMinutes(random.nextInt(60 * 24 * 90))));
+                addBatch(statement, id);
+            }
+            statement.executeBatch();
+        }
+        restartIdentity(connection, "requests", requests);
+    }
+
+    private void planComments(LoadTestConfig config, Random random, long[] commentCounts,
+                              LocalDateTime[] lastComments) {
+        comments = (long) config.getItems() * config.getCommentsPerItem();
+        commentItems = new int[(int) comments];
+        commentAges = new int[(int) comments];
+        for (int i = 0; i < comments; i++) {
+            int item = itemPopularity.next(random);
+            int age = random.nextInt(60 * 24 * 365) + 1;
+            commentItems[i] = item;
+            commentAges[i] = age;
+            commentCounts[item]++;
+            LocalDateTime created = now.minusMinutes(age);
+            if (lastComments[item] == null || lastComments[item].isBefore(created)) {
+                lastComments[item] = created;
+            }
+        }
+    }
+
+    private void writeItems(Connection connection, Random random, long[] commentCounts,
+                            LocalDateTime[] lastComments) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("insert into items (id, name, description, "
+                + "is_available, owner_id, request_id, comment_count, last_comment_created) "
+                + "values (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int id = 1; id <= itemOwners.length; id++) {
+                String name = word(random);
+                itemOwners[id - 1] = activeUser(random);
+                itemsAvailable[id - 1] = random.nextInt(10) != 0;
+                statement.setLong(1, id);
+                statement.setString(2, name.substring(0, 1).toUpperCase() + name.substring(1) + " " + id);
+                statement.setString(3, "Reliable " + name + ", comes with a spare " + word(random));
+                statement.setBoolean(4, itemsAvailable[id - 1]);
+                statement.setLong(5, itemOwners[id - 1]);
+                if (requests > 0 && random.nextInt(5) == 0) {
+                    statement.setLong(6, random.nextInt(requests) + 1);
+                } else {
+                    statement.setNull(6, Types.BIGINT);
+                }
+                statement.setLong(7, commentCounts[id - 1]);
+                statement.setTimestamp(8, lastComments[id - 1] == null ? null
+                        : Timestamp.valueOf(lastComments[id - 1]));
+                addBatch(statement, id);
+            }
+            statement.executeBatch();
+        }
+        restartIdentity(connection, "items", itemOwners.length);
+    }
+
+    private void writeBookings(Connection connection, LoadTestConfig config, Random random) throws SQLException {
+        bookings = (long) config.getItems() * config.getBookingsPerItem();
+        try (PreparedStatement statement = connection.prepareStatement("insert into bookings "
+                + "(id, start_date, end_date, item_id, booker_id, status) values (?, ?, ?, ?, ?, ?)")) {
+            for (long id = 1; id <= bookings; id++) {
+                long itemId = popularItem(random);
+                LocalDateTime start = now.plusHours(random.nextInt(24 * 425) - 24 * 365);
+                LocalDateTime end = start.plusHours(random.nextInt(24 * 7) + 1);
+                statement.setLong(1, id);
+                statement.setTimestamp(2, Timestamp.valueOf(start));
+                statement.setTimestamp(3, Timestamp.valueOf(end));
+                statement.setLong(4, itemId);
+                statement.setLong(5, otherUser(random, itemOwner(itemId)));
+                statement.setString(6, bookingStatus(random, start.isAfter(now)));
+                addBatch(statement, id);
+            }
+            statement.executeBatch();
+        }
+        restartIdentity(connection, "bookings", bookings);
+    }
+
+    private void writeComments(Connection connection, Random random) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "insert into comments (id, text, item_id, author_id, created) values (?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < comments; i++) {
+                long itemId = commentItems[i] + 1;
+                statement.setLong(1, i + 1);
+                statement.setString(2, "The " + word(random) + " worked great, would borrow again");
+                statement.setLong(3, itemId);
+                statement.setLong(4, otherUser(random, itemOwner(itemId)));
+                statement.setTimestamp(5, Timestamp.valueOf(now.minusMinutes(commentAges[i])));
+                addBatch(statement, i + 1);
+            }
+            statement.executeBatch();
+        }
+        restartIdentity(connection, "comments", comments);
+    }
+
+    private long otherUser(Random random, long excluded) {
+        long user = randomUser(random);
+        return user != excluded || users == 1 ? user : user % users + 1;
+    }
+
+    private static String bookingStatus(Random random, boolean future) {
+        int roll = random.nextInt(10);
+        if (future) {
+            return roll < 5 ? "WAITING" : roll < 9 ? "APPROVED" : "REJECTED";
+        }
+        return roll < 9 ? "APPROVED" : "REJECTED";
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private static void addBatch(PreparedStatement statement, long id) throws SQLException {
+        statement.addBatch();
+        if (id % BATCH_SIZE == 0) {
+            statement.executeBatch();
+        }
+    }
+
+    private static void restartIdentity(Connection connection, String table, long maxId) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("alter table " + table + " alter column id restart with " + (maxId + 1));
+        }
+    }
+
+}
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+class EndpointStats {
+
+    private final String name;
+    private long[] latencies = new long[1024];
+    private int count;
+    private long errors;
+    private final Map<Integer, Long> statuses = new TreeMap<>();
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    void record(int status, long latencyNanos) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+        statuses.merge(status, 1L, Long::sum);
+        if (status < 200 || status >= 300) {
+            errors++;
+        }
+    }
+
+    void merge(EndpointStats other) {
+        if (count + other.count > latencies.length) {
+            latencies = Arrays.copyOf(latencies, count + other.count);
+        }
+        System.arraycopy(other.latencies, 0, latencies, count, other.count);
+        count += other.count;
+        errors += other.errors;
+        other.statuses.forEach((status, hits) -> statuses.merge(status, hits, Long::sum));
+    }
+
+    void sort() {
+        Arrays.sort(latencies, 0, count);
+    }
+
+    double percentileMillis(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * count) - 1;
+        return latencies[Math.max(0, Math.min(index, count - 1))] / 1_000_000.0;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    long getErrors() {
+        return errors;
+    }
+
+    Map<Integer, Long> getStatuses() {
+        return statuses;
+    }
+
+}
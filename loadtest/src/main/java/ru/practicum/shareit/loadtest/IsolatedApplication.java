@@ -0,0 +1,123 @@
+package ru.practicum.shareit.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.jar.JarFile;
+
+class IsolatedApplication implements AutoCloseable {
+
+    private final URLClassLoader classLoader;
+    private final Object context;
+
+    private IsolatedApplication(URLClassLoader classLoader, Object context) {
+        this.classLoader = classLoader;
+        this.context = context;
+    }
+
+    static IsolatedApplication start(String name, String mainClassName, List<URL> classpath, String... args)
+            throws ReflectiveOperationException, IOException {
+        URLClassLoader classLoader = new URLClassLoader(name, classpath.toArray(new URL[0]),
+                ClassLoader.getPlatformClassLoader());
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        thread.setContextClassLoader(classLoader);
+        try {
+            disableTomcatUrlStreamHandlerFactory(classLoader);
+            Class<?> springApplication = classLoader.loadClass("org.springframework.boot.SpringApplication");
+            Object context = springApplication.getMethod("run", Class.class, String[].class)
+                    .invoke(null, classLoader.loadClass(mainClassName), args);
+            return new IsolatedApplication(classLoader, context);
+        } catch (InvocationTargetException e) {
+            classLoader.close();
+            throw new IllegalStateException(name + " failed to start", e.getCause());
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+    }
+
+    private static void disableTomcatUrlStreamHandlerFactory(ClassLoader classLoader)
+            throws ReflectiveOperationException {
+        try {
+            classLoader.loadClass("org.apache.catalina.webresources.TomcatURLStreamHandlerFactory")
+                    .getMethod("disable").invoke(null);
+        } catch (ClassNotFoundException ignored) {
+            // Not a Tomcat application, nothing registers a JVM-wide handler factory.
+        }
+    }
+
+    static List<String> classpathEntries() {
+        List<String> entries = new ArrayList<>();
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            if (!entry.isEmpty()) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    static String entryContaining(List<String> entries, String resource) throws IOException {
+        for (String entry : entries) {
+            File file = new File(entry);
+            if (file.isDirectory()) {
+                if (new File(file, resource).isFile()) {
+                    return entry;
+                }
+            } else if (file.isFile()) {
+                try (JarFile jar = new JarFile(file)) {
+                    if (jar.getEntry(resource) != null) {
+                        return entry;
+                    }
+                }
+            }
+        }
+        throw new IllegalStateException(resource + " is not on the class path");
+    }
+
+    static List<URL> urlsExcluding(List<String> entries, String... excluded) throws MalformedURLException {
+        List<URL> urls = new ArrayList<>();
+        for (String entry : entries) {
+            if (!List.of(excluded).contains(entry)) {
+                urls.add(new File(entry).toURI().toURL());
+            }
+        }
+        return urls;
+    }
+
+    Object getBean(String className) throws ReflectiveOperationException {
+        Class<?> beanFactory = classLoader.loadClass("org.springframework.beans.factory.BeanFactory");
+        return beanFactory.getMethod("getBean", Class.class).invoke(context, classLoader.loadClass(className));
+    }
+
+    String getProperty(String key) throws ReflectiveOperationException {
+        Class<?> applicationContext = classLoader.loadClass(
+                "org.springframework.context.ConfigurableApplicationContext");
+        Object environment = applicationContext.getMethod("getEnvironment").invoke(context);
+        return (String) classLoader.loadClass("org.springframework.core.env.PropertyResolver")
+                .getMethod("getProperty", String.class).invoke(environment, key);
+    }
+
+    Object invoke(Object target, String interfaceName, String methodName) throws ReflectiveOperationException {
+        return classLoader.loadClass(interfaceName).getMethod(methodName).invoke(target);
+    }
+
+    Class<?> loadClass(String className) throws ClassNotFoundException {
+        return classLoader.loadClass(className);
+    }
+
+    @Override
+    public void close() throws Exception {
+        try {
+            classLoader.loadClass("org.springframework.context.ConfigurableApplicationContext")
+                    .getMethod("close").invoke(context);
+        } finally {
+            classLoader.close();
+        }
+    }
+
+}
@@ -0,0 +1,103 @@
+package ru.practicum.shareit.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+class LoadRunner {
+
+    private final HttpClient client;
+    private final Workload workload;
+    private final LoadTestConfig config;
+    private final AtomicLong requestsSent = new AtomicLong();
+
+    LoadRunner(HttpClient client, Workload workload, LoadTestConfig config) {
+        this.client = client;
+        this.workload = workload;
+        this.config = config;
+    }
+
+    Map<String, Double> calibrateQueries(QueryStatistics queryStatistics) throws IOException, InterruptedException {
+        Map<String, Double> queriesPerRequest = new LinkedHashMap<>();
+        Random random = new Random(config.getSeed());
+        for (Workload.Operation operation : workload.getOperations()) {
+            long before = queryStatistics.preparedStatements();
+            for (int i = 0; i < config.getCalibrationRequests(); i++) {
+                client.send(operation.request(random), HttpResponse.BodyHandlers.discarding());
+            }
+            long queries = queryStatistics.preparedStatements() - before;
+            queriesPerRequest.put(operation.getName(), (double) queries / config.getCalibrationRequests());
+        }
+        return queriesPerRequest;
+    }
+
+    long getRequestsSent() {
+        return requestsSent.get();
+    }
+
+    Map<String, EndpointStats> run() throws InterruptedException {
+        long measureFrom = System.nanoTime() + config.getWarmup().toNanos();
+        long measureUntil = measureFrom + config.getDuration().toNanos();
+        List<Worker> workers = new ArrayList<>();
+        for (int i = 0; i < config.getThreads(); i++) {
+            Worker worker = new Worker(new Random(config.getSeed() + i + 1), measureFrom, measureUntil);
+            workers.add(worker);
+            worker.start();
+        }
+        Map<String, EndpointStats> total = new LinkedHashMap<>();
+        for (Workload.Operation operation : workload.getOperations()) {
+            total.put(operation.getName(), new EndpointStats(operation.getName()));
+        }
+        for (Worker worker : workers) {
+            worker.join();
+            worker.stats.forEach((name, stats) -> total.get(name).merge(stats));
+        }
+        total.values().forEach(EndpointStats::sort);
+        return total;
+    }
+
+    private class Worker extends Thread {
+
+        private final Random random;
+        private final long measureFrom;
+        private final long measureUntil;
+        private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+
+        Worker(Random random, long measureFrom, long measureUntil) {
+            super("load-worker");
+            this.random = random;
+            this.measureFrom = measureFrom;
+            this.measureUntil = measureUntil;
+        }
+
+        @Override
+        public void run() {
+            for (long now = System.nanoTime(); now < measureUntil; now = System.nanoTime()) {
+                Workload.Operation operation = workload.next(random);
+                int status;
+                try {
+                    status = client.send(operation.request(random), HttpResponse.BodyHandlers.discarding())
+                            .statusCode();
+                } catch (IOException e) {
+                    status = -1;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                long finished = System.nanoTime();
+                requestsSent.incrementAndGet();
+                if (now >= measureFrom && finished <= measureUntil) {
+                    stats.computeIfAbsent(operation.getName(), EndpointStats::new).record(status, finished - now);
+                }
+            }
+        }
+
+    }
+
+}
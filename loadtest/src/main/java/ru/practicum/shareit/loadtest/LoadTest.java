@@ -0,0 +1,99 @@
+package ru.practicum.shareit.loadtest;
+
+import javax.sql.DataSource;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public class LoadTest {
+
+    private static final String SERVER_MAIN = "ru.practicum.shareit.ShareItServer";
+    private static final String GATEWAY_MAIN = "ru.practicum.shareit.ShareItGateway";
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        PrintStream out = System.out;
+        List<String> classpath = IsolatedApplication.classpathEntries();
+        String self = IsolatedApplication.entryContaining(classpath, classFile(LoadTest.class.getName()));
+        String serverEntry = IsolatedApplication.entryContaining(classpath, classFile(SERVER_MAIN));
+        String gatewayEntry = IsolatedApplication.entryContaining(classpath, classFile(GATEWAY_MAIN));
+
+        out.println("Load test: " + config);
+        try (IsolatedApplication server = IsolatedApplication.start("shareit-server", SERVER_MAIN,
+                IsolatedApplication.urlsExcluding(classpath, self, gatewayEntry),
+                "--server.port=0",
+                "--spring.profiles.active=test",
+                "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.properties.hibernate.generate_statistics=true",
+                "--logging.level.root=WARN")) {
+            long seedStarted = System.nanoTime();
+            DataSource dataSource = (DataSource) server.getBean(DataSource.class.getName());
+            Dataset dataset = Dataset.seed(dataSource, config, new Random(config.getSeed()));
+            out.printf("Seeded %d users, %d items, %d bookings, %d comments in %d ms%n", dataset.getUsers(),
+                    dataset.getItems(), dataset.getBookings(), dataset.getComments(),
+                    Duration.ofNanos(System.nanoTime() - seedStarted).toMillis());
+
+            try (IsolatedApplication gateway = IsolatedApplication.start("shareit-gateway", GATEWAY_MAIN,
+                    IsolatedApplication.urlsExcluding(classpath, self, serverEntry),
+                    "--server.port=0",
+                    "--shareit-server.url=http://localhost:" + server.getProperty("local.server.port"),
+                    "--shareit-gateway.rate-limit.enabled=false",
+                    "--spring.autoconfigure.exclude="
+                            + "org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration,"
+                            + "org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration",
+                    "--logging.level.root=WARN",
+                    "--logging.level.org.springframework.web.client.RestTemplate=WARN")) {
+                URI gatewayUri = URI.create("http://localhost:" + gateway.getProperty("local.server.port"));
+                HttpClient client = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .connectTimeout(Duration.ofSeconds(5))
+                        .build();
+                QueryStatistics queryStatistics = new QueryStatistics(server);
+                LoadRunner runner = new LoadRunner(client, new Workload(gatewayUri, dataset), config);
+
+                Map<String, Double> queriesPerRequest = runner.calibrateQueries(queryStatistics);
+                long queriesBefore = queryStatistics.preparedStatements();
+                Map<String, EndpointStats> results = runner.run();
+                long queries = queryStatistics.preparedStatements() - queriesBefore;
+                printReport(out, config, results, queriesPerRequest,
+                        (double) queries / Math.max(1, runner.getRequestsSent()));
+            }
+        }
+    }
+
+    private static void printReport(PrintStream out, LoadTestConfig config, Map<String, EndpointStats> results,
+                                    Map<String, Double> queriesPerRequest, double totalQueriesPerRequest) {
+        double seconds = config.getDuration().toMillis() / 1000.0;
+        EndpointStats total = new EndpointStats("TOTAL");
+        out.println();
+        out.printf("%-26s %9s %7s %9s %9s %9s %9s %12s%n",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p99 ms", "p999 ms", "Queries/req");
+        for (EndpointStats stats : results.values()) {
+            printRow(out, stats, seconds, queriesPerRequest.getOrDefault(stats.getName(), 0.0));
+            total.merge(stats);
+        }
+        total.sort();
+        printRow(out, total, seconds, totalQueriesPerRequest);
+        out.println();
+        for (EndpointStats stats : results.values()) {
+            if (stats.getErrors() > 0) {
+                out.println(stats.getName() + " statuses: " + stats.getStatuses());
+            }
+        }
+    }
+
+    private static void printRow(PrintStream out, EndpointStats stats, double seconds, double queriesPerRequest) {
+        out.printf("%-26s %9d %7d %9.1f %9.2f %9.2f %9.2f %12.2f%n", stats.getName(), stats.getCount(),
+                stats.getErrors(), stats.getCount() / seconds, stats.percentileMillis(0.5),
+                stats.percentileMillis(0.99), stats.percentileMillis(0.999), queriesPerRequest);
+    }
+
+    private static String classFile(String className) {
+        return className.replace('.', '/') + ".class";
+    }
+
+}
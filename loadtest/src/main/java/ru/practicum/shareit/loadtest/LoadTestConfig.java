@@ -0,0 +1,128 @@
+package ru.practicum.shareit.loadtest;
+
+import java.time.Duration;
+
+class LoadTestConfig {
+
+    private int users = 2_000;
+    private int items = 10_000;
+    private int bookingsPerItem = 5;
+    private int commentsPerItem = 2;
+    private int requests = 1_000;
+    private double skew = 1.1;
+    private int threads = 16;
+    private Duration warmup = Duration.ofSeconds(10);
+    private Duration duration = Duration.ofSeconds(60);
+    private int calibrationRequests = 50;
+    private long seed = 42;
+
+    static LoadTestConfig parse(String[] args) {
+        LoadTestConfig config = new LoadTestConfig();
+        for (String arg : args) {
+            for (String option : arg.trim().split("\\s+")) {
+                if (!option.isEmpty()) {
+                    config.set(option);
+                }
+            }
+        }
+        return config;
+    }
+
+    private void set(String option) {
+        int separator = option.indexOf('=');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Expected key=value but got: " + option);
+        }
+        String key = option.substring(0, separator).replaceFirst("^--", "");
+        String value = option.substring(separator + 1);
+        switch (key) {
+            case "users":
+                users = Integer.parseInt(value);
+                break;
+            case "items":
+                items = Integer.parseInt(value);
+                break;
+            case "bookingsPerItem":
+                bookingsPerItem = Integer.parseInt(value);
+                break;
+            case "commentsPerItem":
+                commentsPerItem = Integer.parseInt(value);
+                break;
+            case "requests":
+                requests = Integer.parseInt(value);
+                break;
+            case "skew":
+                skew = Double.parseDouble(value);
+                break;
+            case "threads":
+                threads = Integer.parseInt(value);
+                break;
+            case "warmup":
+                warmup = Duration.parse(value);
+                break;
+            case "duration":
+                duration = Duration.parse(value);
+                break;
+            case "calibrationRequests":
+                calibrationRequests = Integer.parseInt(value);
+                break;
+            case "seed":
+                seed = Long.parseLong(value);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown load test option: " + key);
+        }
+    }
+
+    int getUsers() {
+        return users;
+    }
+
+    int getItems() {
+        return items;
+    }
+
+    int getBookingsPerItem() {
+        return bookingsPerItem;
+    }
+
+    int getCommentsPerItem() {
+        return commentsPerItem;
+    }
+
+    int getRequests() {
+        return requests;
+    }
+
+    double getSkew() {
+        return skew;
+    }
+
+    int getThreads() {
+        return threads;
+    }
+
+    Duration getWarmup() {
+        return warmup;
+    }
+
+    Duration getDuration() {
+        return duration;
+    }
+
+    int getCalibrationRequests() {
+        return calibrationRequests;
+    }
+
+    long getSeed() {
+        return seed;
+    }
+
+    @Override
+    public String toString() {
+        return "users=" + users + ", items=" + items + ", bookingsPerItem=" + bookingsPerItem
+                + ", commentsPerItem=" + commentsPerItem + ", requests=" + requests + ", skew=" + skew
+                + ", threads=" + threads + ", warmup=" + warmup + ", duration=" + duration;
+    }
+
+}
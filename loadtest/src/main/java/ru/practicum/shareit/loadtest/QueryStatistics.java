@@ -0,0 +1,25 @@
+package ru.practicum.shareit.loadtest;
+
+class QueryStatistics {
+
+    private final IsolatedApplication server;
+    private final Object statistics;
+
+    QueryStatistics(IsolatedApplication server) throws ReflectiveOperationException {
+        this.server = server;
+        Object entityManagerFactory = server.getBean("javax.persistence.EntityManagerFactory");
+        Object sessionFactory = server.loadClass("javax.persistence.EntityManagerFactory")
+                .getMethod("unwrap", Class.class)
+                .invoke(entityManagerFactory, server.loadClass("org.hibernate.SessionFactory"));
+        this.statistics = server.invoke(sessionFactory, "org.hibernate.SessionFactory", "getStatistics");
+    }
+
+    long preparedStatements() {
+        try {
+            return (long) server.invoke(statistics, "org.hibernate.stat.Statistics", "getPrepareStatementCount");
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Hibernate statistics are not available", e);
+        }
+    }
+
+}
@@ -0,0 +1,112 @@
+package ru.practicum.shareit.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+class Workload {
+
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final Dataset dataset;
+    private final List<Operation> operations = new ArrayList<>();
+    private int totalWeight;
+
+    Workload(URI gateway, Dataset dataset) {
+        this.baseUrl = gateway.toString();
+        this.dataset = dataset;
+        add("GET /items/{id}", 30, random -> get("/items/" + dataset.popularItem(random), dataset.randomUser(random)));
+        add("GET /items", 10, random -> get("/items?from=0&size=10", dataset.activeUser(random)));
+        add("GET /items/search", 15, random -> get("/items/search?text=" + word(random) + "&from=0&size=10",
+                dataset.randomUser(random)));
+        add("GET /items/{id}/comments", 10, random -> get("/items/" + dataset.popularItem(random)
+                + "/comments?size=10", dataset.randomUser(random)));
+        add("GET /bookings", 10, random -> get("/bookings?state=ALL&from=0&size=10", dataset.randomUser(random)));
+        add("GET /bookings/owner", 10, random -> get("/bookings/owner?state=ALL&from=0&size=10",
+                dataset.activeUser(random)));
+        add("GET /requests/all", 5, random -> get("/requests/all?from=0&size=10", dataset.randomUser(random)));
+        add("POST /bookings", 10, this::newBooking);
+    }
+
+    List<Operation> getOperations() {
+        return operations;
+    }
+
+    Operation next(Random random) {
+        int roll = random.nextInt(totalWeight);
+        for (Operation operation : operations) {
+            roll -= operation.weight;
+            if (roll < 0) {
+                return operation;
+            }
+        }
+        return operations.get(operations.size() - 1);
+    }
+
+    private void add(String name, int weight, Function<Random, HttpRequest> requestFactory) {
+        operations.add(new Operation(name, weight, requestFactory));
+        totalWeight += weight;
+    }
+
+    private HttpRequest get(String path, long userId) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header(USER_HEADER, String.valueOf(userId))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest newBooking(Random random) {
+        long itemId = dataset.popularItem(random);
+        for (int attempt = 0; attempt < 10 && !dataset.isItemAvailable(itemId); attempt++) {
+            itemId = dataset.popularItem(random);
+        }
+        long bookerId = dataset.randomUser(random);
+        if (bookerId == dataset.itemOwner(itemId)) {
+            bookerId = bookerId % dataset.getUsers() + 1;
+        }
+        LocalDateTime start = LocalDateTime.now().withNano(0).plusDays(random.nextInt(60) + 1);
+        String body = "{\"itemId\":" + itemId + ",\"start\":\"" + start + "\",\"end\":\""
+                + start.plusDays(random.nextInt(7) + 1) + "\"}";
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/bookings"))
+                .header(USER_HEADER, String.valueOf(bookerId))
+                .header("Content-Type", "application/json")
+                .timeout(REQUEST_TIMEOUT)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static String word(Random random) {
+        return Dataset.WORDS[random.nextInt(Dataset.WORDS.length)];
+    }
+
+    static class Operation {
+
+        private final String name;
+        private final int weight;
+        private final Function<Random, HttpRequest> requestFactory;
+
+        Operation(String name, int weight, Function<Random, HttpRequest> requestFactory) {
+            this.name = name;
+            this.weight = weight;
+            this.requestFactory = requestFactory;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        HttpRequest request(Random random) {
+            return requestFactory.apply(random);
+        }
+
+    }
+
+}
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+class AdaptiveConcurrencyLimit {
+
+    private final AdmissionProperties properties;
+    private final long latencyThresholdNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+
+    AdaptiveConcurrencyLimit(AdmissionProperties properties) {
+        this.properties = properties;
+        this.latencyThresholdNanos = properties.getLatencyThreshold().toNanos();
+        this.limit = properties.getInitialLimit();
+    }
+
+    boolean tryAcquire(RequestPriority priority) {
+        int allowed = Math.max(1, (int) (limit * shareOf(priority)));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void release(long latencyNanos) {
+        int current = inFlight.getAndDecrement();
+        onSample(latencyNanos, current);
+    }
+
+    int getLimit() {
+        return (int) limit;
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void onSample(long latencyNanos, int inFlightAtCompletion) {
+        if (latencyNanos > latencyThresholdNanos) {
+            limit = Math.max(properties.getMinLimit(), limit * properties.getBackoffRatio());
+        } else if (inFlightAtCompletion * 2 >= limit) {
+            limit = Math.min(properties.getMaxLimit(), limit + 1 / limit);
+        }
+    }
+
+    private double shareOf(RequestPriority priority) {
+        switch (priority) {
+            case HIGH:
+                return 1;
+            case LOW:
+                return properties.getLowPriorityShare();
+            default:
+                return properties.getNormalPriorityShare();
+        }
+    }
+
+}
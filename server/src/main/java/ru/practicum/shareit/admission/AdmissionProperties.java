@@ -0,0 +1,28 @@
+package ru.practicum.shareit.admission;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-server.admission")
+public class AdmissionProperties {
+
+    private boolean enabled = true;
+
+    private int initialLimit = 50;
+
+    private int minLimit = 10;
+
+    private int maxLimit = 400;
+
+    private Duration latencyThreshold = Duration.ofMillis(500);
+
+    private double backoffRatio = 0.9;
+
+    private double normalPriorityShare = 0.9;
+
+    private double lowPriorityShare = 0.5;
+
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.admission;
+
+public enum RequestPriority {
+    HIGH,
+    NORMAL,
+    LOW
+}
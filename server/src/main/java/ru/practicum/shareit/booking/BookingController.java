@@ -1,10 +1,15 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 import ru.practicum.shareit.booking.dto.NewBookingDto;
+import ru.practicum.shareit.booking.query.BookingFilter;
+import ru.practicum.shareit.pagination.KeysetCursor;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -36,17 +41,47 @@ public class BookingController {
     @GetMapping
     public List<BookingDto> getAllBookingsByCurrentUser(@RequestHeader("X-Sharer-User-Id") long userId,
                                                         @RequestParam(defaultValue = "ALL") String state,
+                                                        @RequestParam(required = false) KeysetCursor before,
+                                                        @RequestParam(required = false) Long itemId,
+                                                        @RequestParam(required = false)
+                                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                        LocalDateTime rangeStart,
+                                                        @RequestParam(required = false)
+                                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                        LocalDateTime rangeEnd,
                                                         @RequestParam(defaultValue = "0") long from,
                                                         @RequestParam(defaultValue = "10") long size) {
-        return bookingService.getAllBookingsByUser(userId, state, from, size);
+        BookingFilter filter = BookingFilter.builder()
+                .before(before).itemId(itemId).rangeStart(rangeStart).rangeEnd(rangeEnd).build();
+        return bookingService.getAllBookingsByUser(userId, state, filter, from, size);
     }
 
     @GetMapping("/owner")
     public List<BookingDto> getAllBookingsAllItemsByOwner(@RequestHeader("X-Sharer-User-Id") long userId,
                                                           @RequestParam(defaultValue = "ALL") String state,
+                                                          @RequestParam(required = false) KeysetCursor before,
+                                                          @RequestParam(required = false) Long itemId,
+                                                          @RequestParam(required = false)
+                                                          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                          LocalDateTime rangeStart,
+                                                          @RequestParam(required = false)
+                                                          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                          LocalDateTime rangeEnd,
                                                           @RequestParam(defaultValue = "0") long from,
                                                           @RequestParam(defaultValue = "10") long size) {
-        return bookingService.getAllBookingsAllItemsByOwner(userId, state, from, size);
+        BookingFilter filter = BookingFilter.builder()
+                .before(before).itemId(itemId).rangeStart(rangeStart).rangeEnd(rangeEnd).build();
+        return bookingService.getAllBookingsAllItemsByOwner(userId, state, filter, from, size);
+    }
+
+    @GetMapping("/summary")
+    public BookingSummaryDto getBookingSummaryByCurrentUser(@RequestHeader("X-Sharer-User-Id") long userId) {
+        return bookingService.getBookingSummaryByUser(userId);
+    }
+
+    @GetMapping("/owner/summary")
+    public BookingSummaryDto getBookingSummaryByOwner(@RequestHeader("X-Sharer-User-Id") long userId) {
+        return bookingService.getBookingSummaryByOwner(userId);
     }
 
 }
@@ -2,43 +2,61 @@ package ru.practicum.shareit.booking;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.model.Booking;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
-    List<Booking> findAllByBookerId(long userId, Pageable pageable);
-
-    List<Booking> findAllByBookerIdAndEndIsBefore(long userId, LocalDateTime end, Pageable pageable);
-
-    List<Booking> findAllByBookerIdAndStartIsAfter(long userId, LocalDateTime start, Pageable pageable);
-
-    List<Booking> findAllByBookerIdAndStartIsBeforeAndEndIsAfter(
-            long userId, LocalDateTime start, LocalDateTime end, Pageable pageable);
-
-    List<Booking> findAllByBookerIdAndStatus(long userId, Booking.Status status, Pageable pageable);
-
-    List<Booking> findAllByItemOwnerId(long userId, Pageable pageable);
-
-    List<Booking> findAllByItemOwnerIdAndStartIsAfter(long userId, LocalDateTime start, Pageable pageable);
-
-    List<Booking> findAllByItemOwnerIdAndEndIsBefore(long userId, LocalDateTime end, Pageable pageable);
-
-    List<Booking> findAllByItemOwnerIdAndStartIsBeforeAndEndIsAfter(
-            long userId, LocalDateTime start, LocalDateTime end, Pageable pageable);
-
-    List<Booking> findAllByItemOwnerIdAndStatus(long userId, Booking.Status status, Pageable pageable);
-
     Optional<Booking> findFirstByItemIdAndStartIsBeforeAndStatusOrderByStartDesc(
             long itemId, LocalDateTime end, Booking.Status status);
 
     Optional<Booking> findFirstByItemIdAndStartIsAfterAndStatusOrderByStartAsc(
             long itemId, LocalDateTime start, Booking.Status status);
 
-    Optional<Booking> findFirstByBookerIdAndItemIdAndStatusIsAndEndIsBeforeOrderByEndDesc(
-            long userId, long itemId, Booking.Status status, LocalDateTime end);
+    @Query(value = "select ranked.id, ranked.start_date, ranked.end_date, ranked.item_id, ranked.booker_id, " +
+            "ranked.status from (" +
+            "select b.*, row_number() over (partition by b.item_id order by b.start_date desc, b.id desc) as position " +
+            "from bookings b where b.item_id in (:itemIds) and b.status = 'APPROVED' and b.start_date < :now) ranked " +
+            "where ranked.position = 1", nativeQuery = true)
+    List<Booking> findLastApprovedByItemIds(@Param("itemIds") Collection<Long> itemIds,
+                                            @Param("now") LocalDateTime now);
+
+    @Query(value = "select ranked.id, ranked.start_date, ranked.end_date, ranked.item_id, ranked.booker_id, " +
+            "ranked.status from (" +
+            "select b.*, row_number() over (partition by b.item_id order by b.start_date, b.id) as position " +
+            "from bookings b where b.item_id in (:itemIds) and b.status = 'APPROVED' and b.start_date > :now) ranked " +
+            "where ranked.position = 1", nativeQuery = true)
+    List<Booking> findNextApprovedByItemIds(@Param("itemIds") Collection<Long> itemIds,
+                                            @Param("now") LocalDateTime now);
+
+    @Query(value = "select b.id, b.start_date, b.end_date, b.item_id, b.booker_id, b.status from bookings_archive b " +
+            "where b.id = :id", nativeQuery = true)
+    Optional<Booking> findArchivedById(@Param("id") long id);
+
+    @Query(value = "select b.id, b.start_date, b.end_date, b.item_id, b.booker_id, b.status from bookings_history b " +
+            "where b.booker_id = :userId and b.item_id = :itemId and b.status = 'APPROVED' and b.end_date < :end " +
+            "order by b.end_date desc limit 1", nativeQuery = true)
+    Optional<Booking> findLastApprovedEndedBefore(@Param("userId") long userId,
+                                                  @Param("itemId") long itemId,
+                                                  @Param("end") LocalDateTime end);
+
+    @Query("select booking.id from Booking booking where booking.booker.id = :userId")
+    List<Long> findIdsByBookerId(@Param("userId") long userId, Pageable pageable);
+
+    @Query("select booking.id from Booking booking where booking.item.owner.id = :userId")
+    List<Long> findIdsByItemOwnerId(@Param("userId") long userId, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("delete from Booking booking where booking.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
 
 }
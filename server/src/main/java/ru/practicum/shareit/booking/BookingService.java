@@ -1,7 +1,9 @@
 package ru.practicum.shareit.booking;
 
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 import ru.practicum.shareit.booking.dto.NewBookingDto;
+import ru.practicum.shareit.booking.query.BookingFilter;
 
 import java.util.List;
 
@@ -13,7 +15,8 @@ public interface BookingService {
         PAST,
         FUTURE,
         WAITING,
-        REJECTED
+        REJECTED,
+        CANCELED
     }
 
     BookingDto addBooking(NewBookingDto newBookingDto, long userId);
@@ -22,8 +25,13 @@ public interface BookingService {
 
     BookingDto getBookingById(long bookingId, long userId);
 
-    List<BookingDto> getAllBookingsByUser(long userId, String state, long from, long size);
+    List<BookingDto> getAllBookingsByUser(long userId, String state, BookingFilter filter, long from, long size);
 
-    List<BookingDto> getAllBookingsAllItemsByOwner(long userId, String state, long from, long size);
+    List<BookingDto> getAllBookingsAllItemsByOwner(long userId, String state, BookingFilter filter, long from,
+                                                   long size);
+
+    BookingSummaryDto getBookingSummaryByUser(long userId);
+
+    BookingSummaryDto getBookingSummaryByOwner(long userId);
 
 }
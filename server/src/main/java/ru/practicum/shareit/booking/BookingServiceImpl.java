@@ -2,17 +2,23 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 import ru.practicum.shareit.booking.dto.NewBookingDto;
 import ru.practicum.shareit.booking.exception.*;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.query.BookingFilter;
+import ru.practicum.shareit.booking.query.BookingQuery;
+import ru.practicum.shareit.booking.query.BookingQueryEngine;
+import ru.practicum.shareit.booking.summary.BookingCounters;
+import ru.practicum.shareit.booking.summary.BookingRole;
 import ru.practicum.shareit.exception.HasNotSavedException;
 import ru.practicum.shareit.exception.NoSuchEntityException;
+import ru.practicum.shareit.exception.NoSuchUserException;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.exception.ItemIsNotAvailableException;
 import ru.practicum.shareit.item.model.Item;
@@ -30,6 +36,8 @@ public class BookingServiceImpl implements BookingService {
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final BookingCounters bookingCounters;
+    private final BookingQueryEngine bookingQueryEngine;
 
     @Transactional
     @Override
@@ -38,7 +46,7 @@ public class BookingServiceImpl implements BookingService {
             throw new InvalidStartEndDatesException("End date is equal or less than start date.");
         }
         User user = userRepository.findById(userId).orElseThrow(() ->
-                new NoSuchEntityException("There is no user with id = " + userId));
+                new NoSuchUserException(userId, "There is no user with id = " + userId));
         Item item = itemRepository.findById(newBookingDto.getItemId()).orElseThrow(() ->
                 new NoSuchEntityException("There is no item with id = " + newBookingDto.getItemId()));
         if (item.getOwner().getId() == userId) {
@@ -49,11 +57,14 @@ public class BookingServiceImpl implements BookingService {
             throw new ItemIsNotAvailableException("Item with id = " + newBookingDto.getItemId() + " is not available.");
         }
         Booking booking = BookingMapper.mapToBooking(newBookingDto, user, item);
+        Booking savedBooking;
         try {
-            return BookingMapper.mapToBookingDto(bookingRepository.save(booking));
+            savedBooking = bookingRepository.save(booking);
         } catch (DataIntegrityViolationException e) {
             throw new HasNotSavedException("Booking hasn't been created: " + newBookingDto);
         }
+        bookingCounters.onCreated(savedBooking);
+        return BookingMapper.mapToBookingDto(savedBooking);
     }
 
     @Transactional
@@ -67,17 +78,22 @@ public class BookingServiceImpl implements BookingService {
         if (!booking.getStatus().equals(Booking.Status.WAITING)) {
             throw new NoWaitingStatusException("Can't approve/reject not waiting booking.");
         }
+        Booking.Status previousStatus = booking.getStatus();
         booking.setStatus(approved ? Booking.Status.APPROVED : Booking.Status.REJECTED);
+        Booking savedBooking;
         try {
-            return BookingMapper.mapToBookingDto(bookingRepository.save(booking));
+            savedBooking = bookingRepository.save(booking);
         } catch (DataIntegrityViolationException e) {
             throw new HasNotSavedException("Booking (id = " + bookingId + ") hasn't been approve/rejected");
         }
+        bookingCounters.onStatusChanged(savedBooking, previousStatus);
+        return BookingMapper.mapToBookingDto(savedBooking);
     }
 
     public BookingDto getBookingById(long bookingId, long userId) {
-        Booking booking = bookingRepository.findById(bookingId).orElseThrow(() ->
-                new NoSuchEntityException("There is no booking with id = " + bookingId));
+        Booking booking = bookingRepository.findById(bookingId)
+                .or(() -> bookingRepository.findArchivedById(bookingId))
+                .orElseThrow(() -> new NoSuchEntityException("There is no booking with id = " + bookingId));
         if (booking.getBooker().getId() != userId && booking.getItem().getOwner().getId() != userId) {
             throw new NotBookingRelationException("User (id = " + userId
                     + ") has no relation booker to booking (id = " + bookingId + ")");
@@ -86,81 +102,62 @@ public class BookingServiceImpl implements BookingService {
     }
 
     public List<BookingDto> getAllBookingsByUser(
-            long userId, String state, long from, long size) {
-        State bookingState;
-        try {
-            bookingState = State.valueOf(state);
-        } catch (IllegalArgumentException e) {
-            throw new InvalidStateException("Unknown state: " + state);
-        }
+            long userId, String state, BookingFilter filter, long from, long size) {
+        State bookingState = parseState(state);
         User booker = userRepository.findById(userId).orElseThrow(() ->
-                new NoSuchEntityException("There is no user with id = " + userId));
-        List<Booking> bookings;
-        Sort sortByStartDesc = Sort.by(Sort.Direction.DESC, "start");
-        PageRequest pageRequest = PageRequest.of((int) (from / size), (int) size, sortByStartDesc);
-        switch (bookingState) {
-            case ALL:
-                bookings = bookingRepository.findAllByBookerId(userId, pageRequest);
-                break;
-            case PAST:
-                bookings = bookingRepository.findAllByBookerIdAndEndIsBefore(userId, LocalDateTime.now(), pageRequest);
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findAllByBookerIdAndStartIsAfter(userId, LocalDateTime.now(), pageRequest);
-                break;
-            case CURRENT:
-                bookings = bookingRepository.findAllByBookerIdAndStartIsBeforeAndEndIsAfter(
-                        userId, LocalDateTime.now(), LocalDateTime.now(), pageRequest);
-                break;
-            case WAITING:
-                bookings = bookingRepository.findAllByBookerIdAndStatus(userId, Booking.Status.WAITING, pageRequest);
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findAllByBookerIdAndStatus(userId, Booking.Status.REJECTED, pageRequest);
-                break;
-            default:
-                bookings = List.of();
-        }
-        return BookingMapper.mapToBookingDto(bookings);
+                new NoSuchUserException(userId, "There is no user with id = " + userId));
+        return BookingMapper.mapToBookingDto(
+                bookingQueryEngine.find(buildQuery(userId, BookingRole.BOOKER, bookingState, filter, from, size)));
     }
 
     public List<BookingDto> getAllBookingsAllItemsByOwner(
-            long userId, String state, long from, long size) {
-        State bookingState;
+            long userId, String state, BookingFilter filter, long from, long size) {
+        State bookingState = parseState(state);
+        User owner = userRepository.findById(userId).orElseThrow(() ->
+                new NoSuchUserException(userId, "There is no user with id = " + userId));
+        return BookingMapper.mapToBookingDto(
+                bookingQueryEngine.find(buildQuery(userId, BookingRole.OWNER, bookingState, filter, from, size)));
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BookingSummaryDto getBookingSummaryByUser(long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new NoSuchUserException(userId, "There is no user with id = " + userId);
+        }
+        return bookingCounters.getSummary(userId, BookingRole.BOOKER);
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BookingSummaryDto getBookingSummaryByOwner(long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new NoSuchUserException(userId, "There is no user with id = " + userId);
+        }
+        return bookingCounters.getSummary(userId, BookingRole.OWNER);
+    }
+
+    private static State parseState(String state) {
         try {
-            bookingState = State.valueOf(state);
+            return State.valueOf(state);
         } catch (IllegalArgumentException e) {
             throw new InvalidStateException("Unknown state: " + state);
         }
-        User owner = userRepository.findById(userId).orElseThrow(() ->
-                new NoSuchEntityException("There is no user with id = " + userId));
-        List<Booking> bookings;
-        Sort sortByStartDesc = Sort.by(Sort.Direction.DESC, "start");
-        PageRequest pageRequest = PageRequest.of((int) (from / size), (int) size, sortByStartDesc);
-        switch (bookingState) {
-            case ALL:
-                bookings = bookingRepository.findAllByItemOwnerId(userId, pageRequest);
-                break;
-            case PAST:
-                bookings = bookingRepository.findAllByItemOwnerIdAndEndIsBefore(userId, LocalDateTime.now(), pageRequest);
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findAllByItemOwnerIdAndStartIsAfter(userId, LocalDateTime.now(), pageRequest);
-                break;
-            case CURRENT:
-                bookings = bookingRepository.findAllByItemOwnerIdAndStartIsBeforeAndEndIsAfter(
-                        userId, LocalDateTime.now(), LocalDateTime.now(), pageRequest);
-                break;
-            case WAITING:
-                bookings = bookingRepository.findAllByItemOwnerIdAndStatus(userId, Booking.Status.WAITING, pageRequest);
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findAllByItemOwnerIdAndStatus(userId, Booking.Status.REJECTED, pageRequest);
-                break;
-            default:
-                bookings = List.of();
+    }
+
+    private static BookingQuery buildQuery(
+            long userId, BookingRole role, State state, BookingFilter filter, long from, long size) {
+        if (filter.getRangeStart() != null && filter.getRangeEnd() != null
+                && !filter.getRangeStart().isBefore(filter.getRangeEnd())) {
+            throw new InvalidStartEndDatesException("Range end is equal or less than range start.");
         }
-        return BookingMapper.mapToBookingDto(bookings);
+        return BookingQuery.builder()
+                .userId(userId)
+                .role(role)
+                .state(state)
+                .at(LocalDateTime.now())
+                .filter(filter)
+                .offset(from / size * size)
+                .limit((int) size)
+                .build();
     }
 
     private boolean isNewBookingDtoDatesValid(NewBookingDto newBookingDto) {
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.booking.archive;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(BookingArchiveProperties.class)
+public class BookingArchiveConfig {
+}
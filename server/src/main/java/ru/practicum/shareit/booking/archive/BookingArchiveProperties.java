@@ -0,0 +1,23 @@
+package ru.practicum.shareit.booking.archive;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.time.Period;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-server.booking-archive")
+public class BookingArchiveProperties {
+
+    private boolean enabled = true;
+
+    private Period retention = Period.ofYears(2);
+
+    private Duration interval = Duration.ofHours(1);
+
+    private int batchSize = 1000;
+
+    private int partitionsAhead = 2;
+
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.booking.archive;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "shareit-server.booking-archive", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class BookingArchiveScheduler implements DisposableBean {
+
+    private final BookingArchiveProperties properties;
+    private final BookingArchiver archiver;
+    private final BookingPartitionMaintainer partitionMaintainer;
+    private final ScheduledExecutorService scheduler;
+
+    public BookingArchiveScheduler(BookingArchiveProperties properties, BookingArchiver archiver,
+                                   BookingPartitionMaintainer partitionMaintainer) {
+        this.properties = properties;
+        this.archiver = archiver;
+        this.partitionMaintainer = partitionMaintainer;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "booking-archive");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = properties.getInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::run, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    private void run() {
+        try {
+            partitionMaintainer.ensurePartitions(Year.now());
+            archiver.archiveEndedBefore(LocalDateTime.now().minus(properties.getRetention()));
+        } catch (RuntimeException e) {
+            log.warn("Booking archive run failed", e);
+        }
+    }
+
+}
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.booking.archive;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.summary.BookingCounters;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Slf4j
+@Component
+public class BookingArchiver {
+
+    private static final String COLUMNS = "id, start_date, end_date, item_id, booker_id, status";
+
+    private final BookingArchiveProperties properties;
+    private final BookingCounters bookingCounters;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public BookingArchiver(BookingArchiveProperties properties, BookingCounters bookingCounters,
+                           JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.bookingCounters = bookingCounters;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public long archiveEndedBefore(LocalDateTime cutoff) {
+        long archived = 0;
+        int moved;
+        do {
+            moved = transactionTemplate.execute(status -> moveBatch(cutoff));
+            archived += moved;
+        } while (moved == properties.getBatchSize());
+        if (archived > 0) {
+            log.info("Archived {} bookings that ended before {}", archived, cutoff);
+        }
+        return archived;
+    }
+
+    public void deleteByUserId(long userId) {
+        jdbcTemplate.update("delete from bookings_archive where booker_id = ? "
+                + "or item_id in (select id from items where owner_id = ?)", userId, userId);
+    }
+
+    private int moveBatch(LocalDateTime cutoff) {
+        List<Long> ids = jdbcTemplate.queryForList("select id from bookings where end_date < ? order by end_date "
+                + "limit ?", Long.class, cutoff, properties.getBatchSize());
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        bookingCounters.onArchived(ids);
+        MapSqlParameterSource parameters = new MapSqlParameterSource("ids", ids);
+        namedJdbcTemplate.update("insert into bookings_archive (" + COLUMNS + ") select " + COLUMNS
+                + " from bookings where id in (:ids)", parameters);
+        namedJdbcTemplate.update("delete from bookings where id in (:ids)", parameters);
+        return ids.size();
+    }
+
+}
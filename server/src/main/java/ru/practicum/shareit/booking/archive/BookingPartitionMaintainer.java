@@ -0,0 +1,74 @@
+package ru.practicum.shareit.booking.archive;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.Year;
+
+@Slf4j
+@Component
+public class BookingPartitionMaintainer {
+
+    private static final String POSTGRESQL = "PostgreSQL";
+
+    private final BookingArchiveProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public BookingPartitionMaintainer(BookingArchiveProperties properties, JdbcTemplate jdbcTemplate,
+                                      PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public void ensurePartitions(Year currentYear) {
+        if (!isPartitionedPostgresTable()) {
+            return;
+        }
+        Year first = currentYear.minusYears((properties.getRetention().toTotalMonths() + 11) / 12);
+        Year last = currentYear.plusYears(properties.getPartitionsAhead());
+        for (Year year = first; !year.isAfter(last); year = year.plusYears(1)) {
+            String partition = "bookings_y" + year.getValue();
+            Boolean exists = jdbcTemplate.queryForObject("select to_regclass(?) is not null", Boolean.class, partition);
+            if (!Boolean.TRUE.equals(exists)) {
+                createPartition(partition, year.atDay(1), year.plusYears(1).atDay(1));
+            }
+        }
+    }
+
+    private void createPartition(String partition, LocalDate from, LocalDate to) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("create table " + partition + " (like bookings including defaults)");
+            int moved = jdbcTemplate.update("insert into " + partition + " select * from bookings_default "
+                    + "where end_date >= ? and end_date < ?", from.atStartOfDay(), to.atStartOfDay());
+            jdbcTemplate.update("delete from bookings_default where end_date >= ? and end_date < ?",
+                    from.atStartOfDay(), to.atStartOfDay());
+            jdbcTemplate.execute("alter table bookings attach partition " + partition
+                    + " for values from ('" + from + "') to ('" + to + "')");
+            log.info("Created booking partition {} for [{}, {}), moved {} rows from the default partition",
+                    partition, from, to, moved);
+        });
+    }
+
+    private boolean isPartitionedPostgresTable() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (!POSTGRESQL.equals(product)) {
+            return false;
+        }
+        Boolean partitioned = jdbcTemplate.queryForObject("select exists (select 1 from pg_partitioned_table pt "
+                + "join pg_class c on c.oid = pt.partrelid where c.relname = 'bookings')", Boolean.class);
+        if (!Boolean.TRUE.equals(partitioned)) {
+            log.warn("Table bookings is not partitioned, partition maintenance is skipped");
+            return false;
+        }
+        return true;
+    }
+
+}
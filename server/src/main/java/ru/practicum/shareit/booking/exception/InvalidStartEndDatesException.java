@@ -1,6 +1,8 @@
 package ru.practicum.shareit.booking.exception;
 
-public class InvalidStartEndDatesException extends RuntimeException {
+import ru.practicum.shareit.exception.ShareItException;
+
+public class InvalidStartEndDatesException extends ShareItException {
 
     public InvalidStartEndDatesException(String message) {
         super(message);
@@ -1,6 +1,8 @@
 package ru.practicum.shareit.booking.exception;
 
-public class InvalidStateException extends RuntimeException {
+import ru.practicum.shareit.exception.ShareItException;
+
+public class InvalidStateException extends ShareItException {
 
     public InvalidStateException(String message) {
         super(message);
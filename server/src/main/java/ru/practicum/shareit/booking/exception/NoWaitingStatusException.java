@@ -1,6 +1,8 @@
 package ru.practicum.shareit.booking.exception;
 
-public class NoWaitingStatusException extends RuntimeException {
+import ru.practicum.shareit.exception.ShareItException;
+
+public class NoWaitingStatusException extends ShareItException {
 
     public NoWaitingStatusException(String message) {
         super(message);
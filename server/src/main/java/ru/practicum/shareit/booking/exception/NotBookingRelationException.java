@@ -1,6 +1,8 @@
 package ru.practicum.shareit.booking.exception;
 
-public class NotBookingRelationException extends RuntimeException {
+import ru.practicum.shareit.exception.ShareItException;
+
+public class NotBookingRelationException extends ShareItException {
 
     public NotBookingRelationException(String message) {
         super(message);
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.booking.query;
+
+import lombok.Builder;
+import lombok.Value;
+import ru.practicum.shareit.pagination.KeysetCursor;
+
+import java.time.LocalDateTime;
+
+@Value
+@Builder
+public class BookingFilter {
+
+    public static final BookingFilter NONE = BookingFilter.builder().build();
+
+    KeysetCursor before;
+
+    Long itemId;
+
+    LocalDateTime rangeStart;
+
+    LocalDateTime rangeEnd;
+
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.booking.query;
+
+import lombok.Builder;
+import lombok.Value;
+import ru.practicum.shareit.booking.BookingService.State;
+import ru.practicum.shareit.booking.summary.BookingRole;
+
+import java.time.LocalDateTime;
+
+@Value
+@Builder
+public class BookingQuery {
+
+    long userId;
+
+    BookingRole role;
+
+    State state;
+
+    LocalDateTime at;
+
+    @Builder.Default
+    BookingFilter filter = BookingFilter.NONE;
+
+    long offset;
+
+    int limit;
+
+    BookingQueryShape shape() {
+        return new BookingQueryShape(role, state, filter.getBefore() != null, filter.getItemId() != null,
+                filter.getRangeStart() != null, filter.getRangeEnd() != null);
+    }
+
+}
@@ -0,0 +1,93 @@
+package ru.practicum.shareit.booking.query;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingService.State;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.summary.BookingRole;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@RequiredArgsConstructor
+public class BookingQueryEngine {
+
+    private final EntityManager entityManager;
+    private final Map<BookingQueryShape, CompiledBookingQuery> compiledQueries = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    public List<Booking> find(BookingQuery query) {
+        CompiledBookingQuery compiled = compiledQueries.computeIfAbsent(query.shape(), BookingQueryEngine::compile);
+        Query nativeQuery = entityManager.createNativeQuery(compiled.getSql(), Booking.class);
+        for (BookingQueryParameter parameter : compiled.getParameters()) {
+            nativeQuery.setParameter(parameter.getName(), parameter.valueOf(query));
+        }
+        if (query.getFilter().getBefore() == null) {
+            nativeQuery.setFirstResult((int) query.getOffset());
+        }
+        return nativeQuery.setMaxResults(query.getLimit()).getResultList();
+    }
+
+    int compiledShapes() {
+        return compiledQueries.size();
+    }
+
+    static CompiledBookingQuery compile(BookingQueryShape shape) {
+        Set<BookingQueryParameter> parameters = EnumSet.of(BookingQueryParameter.USER_ID);
+        boolean includesArchive = shape.getState() == State.ALL || shape.getState() == State.PAST;
+        StringBuilder sql = new StringBuilder("select b.* from ")
+                .append(includesArchive ? "bookings_history b" : "bookings b");
+        if (shape.getRole() == BookingRole.OWNER) {
+            sql.append(" join items i on i.id = b.item_id where i.owner_id = :userId");
+        } else {
+            sql.append(" where b.booker_id = :userId");
+        }
+        switch (shape.getState()) {
+            case CURRENT:
+                sql.append(" and b.start_date < :at and b.end_date > :at");
+                parameters.add(BookingQueryParameter.AT);
+                break;
+            case PAST:
+                sql.append(" and b.end_date < :at");
+                parameters.add(BookingQueryParameter.AT);
+                break;
+            case FUTURE:
+                sql.append(" and b.start_date > :at and b.end_date > :at");
+                parameters.add(BookingQueryParameter.AT);
+                break;
+            case WAITING:
+            case REJECTED:
+            case CANCELED:
+                sql.append(" and b.status = '").append(Booking.Status.valueOf(shape.getState().name())).append("'");
+                break;
+            default:
+                break;
+        }
+        if (shape.isByItem()) {
+            sql.append(" and b.item_id = :itemId");
+            parameters.add(BookingQueryParameter.ITEM_ID);
+        }
+        if (shape.isFromRangeStart()) {
+            sql.append(" and b.end_date > :rangeStart");
+            parameters.add(BookingQueryParameter.RANGE_START);
+        }
+        if (shape.isToRangeEnd()) {
+            sql.append(" and b.start_date < :rangeEnd");
+            parameters.add(BookingQueryParameter.RANGE_END);
+        }
+        if (shape.isKeyset()) {
+            sql.append(" and (b.start_date < :beforeStart or (b.start_date = :beforeStart and b.id < :beforeId))");
+            parameters.add(BookingQueryParameter.BEFORE_START);
+            parameters.add(BookingQueryParameter.BEFORE_ID);
+        }
+        sql.append(" order by b.start_date desc, b.id desc");
+        return new CompiledBookingQuery(sql.toString(), parameters);
+    }
+
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.booking.query;
+
+import java.util.function.Function;
+
+enum BookingQueryParameter {
+
+    USER_ID("userId", BookingQuery::getUserId),
+    AT("at", BookingQuery::getAt),
+    ITEM_ID("itemId", query -> query.getFilter().getItemId()),
+    RANGE_START("rangeStart", query -> query.getFilter().getRangeStart()),
+    RANGE_END("rangeEnd", query -> query.getFilter().getRangeEnd()),
+    BEFORE_START("beforeStart", query -> query.getFilter().getBefore().getCreated()),
+    BEFORE_ID("beforeId", query -> query.getFilter().getBefore().getId());
+
+    private final String name;
+    private final Function<BookingQuery, Object> value;
+
+    BookingQueryParameter(String name, Function<BookingQuery, Object> value) {
+        this.name = name;
+        this.value = value;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    Object valueOf(BookingQuery query) {
+        return value.apply(query);
+    }
+
+}
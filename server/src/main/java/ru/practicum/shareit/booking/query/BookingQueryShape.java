@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking.query;
+
+import lombok.Value;
+import ru.practicum.shareit.booking.BookingService.State;
+import ru.practicum.shareit.booking.summary.BookingRole;
+
+@Value
+class BookingQueryShape {
+
+    BookingRole role;
+
+    State state;
+
+    boolean keyset;
+
+    boolean byItem;
+
+    boolean fromRangeStart;
+
+    boolean toRangeEnd;
+
+}
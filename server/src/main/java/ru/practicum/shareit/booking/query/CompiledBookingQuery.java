@@ -0,0 +1,14 @@
+package ru.practicum.shareit.booking.query;
+
+import lombok.Value;
+
+import java.util.Set;
+
+@Value
+class CompiledBookingQuery {
+
+    String sql;
+
+    Set<BookingQueryParameter> parameters;
+
+}
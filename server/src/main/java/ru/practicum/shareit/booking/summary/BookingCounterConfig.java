@@ -0,0 +1,9 @@
+package ru.practicum.shareit.booking.summary;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(BookingCounterProperties.class)
+public class BookingCounterConfig {
+}
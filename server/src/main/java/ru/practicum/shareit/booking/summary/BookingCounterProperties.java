@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking.summary;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-server.booking-counters")
+public class BookingCounterProperties {
+
+    private boolean enabled = true;
+
+    private Duration interval = Duration.ofMinutes(1);
+
+    private Duration lag = Duration.ofSeconds(5);
+
+    private Duration reconcileInterval = Duration.ofHours(1);
+
+    private int reconcileBatchSize = 500;
+
+}
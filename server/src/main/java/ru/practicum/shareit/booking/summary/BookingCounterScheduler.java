@@ -0,0 +1,62 @@
+package ru.practicum.shareit.booking.summary;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "shareit-server.booking-counters", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class BookingCounterScheduler implements DisposableBean {
+
+    private final BookingCounterProperties properties;
+    private final BookingCounters counters;
+    private final ScheduledExecutorService scheduler;
+
+    public BookingCounterScheduler(BookingCounterProperties properties, BookingCounters counters) {
+        this.properties = properties;
+        this.counters = counters;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "booking-counters");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = properties.getInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::rollover, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        long reconcileIntervalMillis = properties.getReconcileInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::reconcile, reconcileIntervalMillis, reconcileIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    private void rollover() {
+        try {
+            counters.rollover(LocalDateTime.now().minus(properties.getLag()));
+        } catch (RuntimeException e) {
+            log.warn("Booking counter rollover failed", e);
+        }
+    }
+
+    private void reconcile() {
+        try {
+            int drifted = counters.reconcile(properties.getReconcileBatchSize());
+            if (drifted > 0) {
+                log.info("Reconciled booking counters, {} of them had drifted", drifted);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Booking counter reconciliation failed", e);
+        }
+    }
+
+}
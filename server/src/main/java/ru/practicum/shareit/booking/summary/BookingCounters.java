@@ -0,0 +1,389 @@
+package ru.practicum.shareit.booking.summary;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.BookingService.State;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Locks are taken in one order: the rollover row first, then counter rows sorted by key. Every delta that can race
+// with a recount (new bookings, status changes, archiving) makes sure the counter row exists before updating it, so
+// a recount either waits for the delta's transaction or the delta lands on top of the recounted values.
+@Slf4j
+@Component
+public class BookingCounters {
+
+    static final List<State> COUNTED_STATES = List.of(
+            State.ALL, State.CURRENT, State.PAST, State.FUTURE, State.WAITING, State.REJECTED);
+
+    private static final String POSTGRESQL = "PostgreSQL";
+
+    private static final Comparator<CounterKey> KEY_ORDER = Comparator.comparingLong(CounterKey::getUserId)
+            .thenComparing(CounterKey::getRole);
+
+    private static final String COLUMNS = COUNTED_STATES.stream()
+            .map(BookingCounters::column)
+            .collect(Collectors.joining(", "));
+
+    private static final String SELECT_COUNTERS = "select " + COLUMNS
+            + " from booking_counters where user_id = ? and role = ? and complete = true";
+
+    private static final String LOCK_COUNTERS = "select complete, " + COLUMNS
+            + " from booking_counters where user_id = ? and role = ? for update";
+
+    // Placeholders and the rollover row are created in the caller's transaction, a concurrent insert of the same row
+    // makes these wait for it instead of failing.
+    private static final String INSERT_PLACEHOLDER_POSTGRESQL =
+            "insert into booking_counters (user_id, role) values (?, ?) on conflict do nothing";
+
+    private static final String INSERT_PLACEHOLDER_H2 = "merge into booking_counters c "
+            + "using (values (cast(? as bigint), cast(? as varchar(10)))) p (user_id, role) "
+            + "on c.user_id = p.user_id and c.role = p.role "
+            + "when not matched then insert (user_id, role) values (p.user_id, p.role)";
+
+    private static final String INSERT_ROLLED_OVER_TO_POSTGRESQL =
+            "insert into booking_counters_rollover (id, rolled_over_to) values (1, ?) on conflict do nothing";
+
+    private static final String INSERT_ROLLED_OVER_TO_H2 = "merge into booking_counters_rollover r "
+            + "using (values (1)) n (id) on r.id = n.id "
+            + "when not matched then insert (id, rolled_over_to) values (1, ?)";
+
+    private static final String STORE_COUNTERS = "update booking_counters set " + COUNTED_STATES.stream()
+            .map(state -> column(state) + " = ?")
+            .collect(Collectors.joining(", ")) + ", complete = true where user_id = ? and role = ?";
+
+    private static final String UPDATE_COUNTERS = "update booking_counters set " + COUNTED_STATES.stream()
+            .map(state -> column(state) + " = " + column(state) + " + ?")
+            .collect(Collectors.joining(", ")) + " where user_id = ? and role = ?";
+
+    private static final String SELECT_COMPLETE_KEYS = "select user_id, role from booking_counters "
+            + "where complete = true and (user_id > ? or (user_id = ? and role > ?)) order by user_id, role limit ?";
+
+    private static final String COUNT_FOR_BOOKER = countBookings("where b.booker_id = :userId",
+            "where a.booker_id = :userId");
+
+    private static final String COUNT_FOR_OWNER = countBookings(
+            "join items i on i.id = b.item_id where i.owner_id = :userId",
+            "join items ai on ai.id = a.item_id where ai.owner_id = :userId");
+
+    private static final String SELECT_ROLLED_OVER_TO =
+            "select rolled_over_to from booking_counters_rollover where id = 1";
+
+    private static final RowMapper<BookingSummaryDto> SUMMARY_MAPPER = (rs, rowNum) -> BookingSummaryDto.builder()
+            .all(rs.getLong("all_count"))
+            .current(rs.getLong("current_count"))
+            .past(rs.getLong("past_count"))
+            .future(rs.getLong("future_count"))
+            .waiting(rs.getLong("waiting_count"))
+            .rejected(rs.getLong("rejected_count"))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transaction;
+    private volatile Boolean postgresql;
+
+    public BookingCounters(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    public BookingSummaryDto getSummary(long userId, BookingRole role) {
+        Optional<BookingSummaryDto> summary = jdbcTemplate.query(SELECT_COUNTERS, SUMMARY_MAPPER, userId, role.name())
+                .stream()
+                .findFirst();
+        if (summary.isPresent()) {
+            return summary.get();
+        }
+        // Callers read summaries without a transaction, so the recount gets its own instead of holding a second
+        // connection next to theirs.
+        return transaction.execute(status -> recount(new CounterKey(userId, role))).getCurrent();
+    }
+
+    public void onCreated(Booking booking) {
+        LocalDateTime rolledOverTo = lockRolledOverTo(false);
+        CounterDelta delta = new CounterDelta().add(State.ALL, 1);
+        bucket(booking.getStart(), booking.getEnd(), rolledOverTo).ifPresent(state -> delta.add(state, 1));
+        statusState(booking.getStatus()).ifPresent(state -> delta.add(state, 1));
+        apply(Map.of(
+                new CounterKey(booking.getBooker().getId(), BookingRole.BOOKER), delta,
+                new CounterKey(booking.getItem().getOwner().getId(), BookingRole.OWNER), delta), true);
+    }
+
+    public void onStatusChanged(Booking booking, Booking.Status previousStatus) {
+        CounterDelta delta = new CounterDelta();
+        statusState(previousStatus).ifPresent(state -> delta.add(state, -1));
+        statusState(booking.getStatus()).ifPresent(state -> delta.add(state, 1));
+        apply(Map.of(
+                new CounterKey(booking.getBooker().getId(), BookingRole.BOOKER), delta,
+                new CounterKey(booking.getItem().getOwner().getId(), BookingRole.OWNER), delta), true);
+    }
+
+    public void onArchived(Collection<Long> bookingIds) {
+        Map<CounterKey, CounterDelta> deltas = new HashMap<>();
+        namedJdbcTemplate.query("select b.booker_id, i.owner_id, b.status from bookings b "
+                        + "join items i on i.id = b.item_id where b.id in (:ids)",
+                new MapSqlParameterSource("ids", bookingIds), rs -> {
+                    Optional<State> state = statusState(Booking.Status.valueOf(rs.getString("status")));
+                    if (state.isPresent()) {
+                        for (CounterKey key : keys(rs.getLong("booker_id"), rs.getLong("owner_id"))) {
+                            deltas.computeIfAbsent(key, k -> new CounterDelta()).add(state.get(), -1);
+                        }
+                    }
+                });
+        apply(deltas, true);
+    }
+
+    public Set<CounterKey> findRelatedTo(long userId) {
+        Set<CounterKey> keys = new HashSet<>(keys(userId, userId));
+        jdbcTemplate.query("select c.user_id from booking_counters c where c.role = 'BOOKER' "
+                        + "and c.user_id in (select b.booker_id from bookings_history b "
+                        + "join items i on i.id = b.item_id where i.owner_id = ?)",
+                rs -> {
+                    keys.add(new CounterKey(rs.getLong("user_id"), BookingRole.BOOKER));
+                }, userId);
+        jdbcTemplate.query("select c.user_id from booking_counters c where c.role = 'OWNER' "
+                        + "and c.user_id in (select i.owner_id from bookings_history b "
+                        + "join items i on i.id = b.item_id where b.booker_id = ?)",
+                rs -> {
+                    keys.add(new CounterKey(rs.getLong("user_id"), BookingRole.OWNER));
+                }, userId);
+        return keys;
+    }
+
+    public void invalidate(Collection<CounterKey> keys) {
+        jdbcTemplate.batchUpdate("delete from booking_counters where user_id = ? and role = ?",
+                keys.stream()
+                        .map(key -> new Object[]{key.getUserId(), key.getRole().name()})
+                        .collect(Collectors.toList()));
+    }
+
+    public void rollover(LocalDateTime to) {
+        transaction.executeWithoutResult(status -> {
+            LocalDateTime from = lockRolledOverTo(true);
+            if (!to.isAfter(from)) {
+                return;
+            }
+            Map<CounterKey, CounterDelta> deltas = new HashMap<>();
+            MapSqlParameterSource parameters = new MapSqlParameterSource()
+                    .addValue("from", from)
+                    .addValue("to", to);
+            namedJdbcTemplate.query("select b.booker_id, i.owner_id, b.start_date, b.end_date from bookings b "
+                    + "join items i on i.id = b.item_id "
+                    + "where (b.start_date >= :from and b.start_date <= :to) "
+                    + "or (b.end_date >= :from and b.end_date <= :to)", parameters, rs -> {
+                        LocalDateTime start = rs.getObject("start_date", LocalDateTime.class);
+                        LocalDateTime end = rs.getObject("end_date", LocalDateTime.class);
+                        Optional<State> before = bucket(start, end, from);
+                        Optional<State> after = bucket(start, end, to);
+                        if (!before.equals(after)) {
+                            for (CounterKey key : keys(rs.getLong("booker_id"), rs.getLong("owner_id"))) {
+                                CounterDelta delta = deltas.computeIfAbsent(key, k -> new CounterDelta());
+                                before.ifPresent(state -> delta.add(state, -1));
+                                after.ifPresent(state -> delta.add(state, 1));
+                            }
+                        }
+                    });
+            apply(deltas, false);
+            jdbcTemplate.update("update booking_counters_rollover set rolled_over_to = ? where id = 1", to);
+            if (!deltas.isEmpty()) {
+                log.debug("Rolled booking counters of {} users over to {}", deltas.size(), to);
+            }
+        });
+    }
+
+    public int reconcile(int batchSize) {
+        int drifted = 0;
+        long afterUserId = Long.MIN_VALUE;
+        String afterRole = "";
+        List<CounterKey> batch;
+        do {
+            batch = jdbcTemplate.query(SELECT_COMPLETE_KEYS, (rs, rowNum) -> new CounterKey(
+                    rs.getLong("user_id"), BookingRole.valueOf(rs.getString("role"))),
+                    afterUserId, afterUserId, afterRole, batchSize);
+            for (CounterKey key : batch) {
+                Recount recount = transaction.execute(status -> recount(key));
+                if (recount.isDrifted()) {
+                    drifted++;
+                    log.warn("Booking counters of user {} as {} drifted: stored {}, recounted {}",
+                            key.getUserId(), key.getRole(), recount.getPrevious(), recount.getCurrent());
+                }
+            }
+            if (!batch.isEmpty()) {
+                CounterKey last = batch.get(batch.size() - 1);
+                afterUserId = last.getUserId();
+                afterRole = last.getRole().name();
+            }
+        } while (batch.size() == batchSize);
+        return drifted;
+    }
+
+    // Same boundaries as the list queries: a booking that starts or ends exactly at the given moment is in none
+    // of the time buckets.
+    static Optional<State> bucket(LocalDateTime start, LocalDateTime end, LocalDateTime at) {
+        if (start.isAfter(at) && end.isAfter(at)) {
+            return Optional.of(State.FUTURE);
+        }
+        if (start.isBefore(at) && end.isAfter(at)) {
+            return Optional.of(State.CURRENT);
+        }
+        if (end.isBefore(at)) {
+            return Optional.of(State.PAST);
+        }
+        return Optional.empty();
+    }
+
+    private Recount recount(CounterKey key) {
+        LocalDateTime at = lockRolledOverTo(false);
+        insertPlaceholders(List.of(key));
+        BookingSummaryDto previous = jdbcTemplate.queryForObject(LOCK_COUNTERS, (rs, rowNum) ->
+                rs.getBoolean("complete") ? SUMMARY_MAPPER.mapRow(rs, rowNum) : null,
+                key.getUserId(), key.getRole().name());
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("userId", key.getUserId())
+                .addValue("at", at);
+        BookingSummaryDto current = namedJdbcTemplate.queryForObject(
+                key.getRole() == BookingRole.BOOKER ? COUNT_FOR_BOOKER : COUNT_FOR_OWNER, parameters, SUMMARY_MAPPER);
+        jdbcTemplate.update(STORE_COUNTERS, current.getAll(), current.getCurrent(), current.getPast(),
+                current.getFuture(), current.getWaiting(), current.getRejected(), key.getUserId(),
+                key.getRole().name());
+        return new Recount(previous, current);
+    }
+
+    private void apply(Map<CounterKey, CounterDelta> deltas, boolean createMissing) {
+        List<CounterKey> keys = deltas.keySet().stream()
+                .filter(key -> !deltas.get(key).isEmpty())
+                .sorted(KEY_ORDER)
+                .collect(Collectors.toList());
+        if (keys.isEmpty()) {
+            return;
+        }
+        if (createMissing) {
+            insertPlaceholders(keys);
+        }
+        jdbcTemplate.batchUpdate(UPDATE_COUNTERS, arguments(keys, deltas));
+    }
+
+    private void insertPlaceholders(List<CounterKey> keys) {
+        try {
+            jdbcTemplate.batchUpdate(isPostgresql() ? INSERT_PLACEHOLDER_POSTGRESQL : INSERT_PLACEHOLDER_H2,
+                    keys.stream()
+                            .map(key -> new Object[]{key.getUserId(), key.getRole().name()})
+                            .collect(Collectors.toList()));
+        } catch (DuplicateKeyException e) {
+            // H2 only: its merge doesn't wait for a concurrent insert of the same key, the row exists either way.
+            log.trace("Booking counters of {} already exist", keys);
+        }
+    }
+
+    private LocalDateTime lockRolledOverTo(boolean exclusive) {
+        String lockingSelect = SELECT_ROLLED_OVER_TO + (exclusive || !isPostgresql() ? " for update" : " for share");
+        List<LocalDateTime> rolledOverTo = jdbcTemplate.queryForList(lockingSelect, LocalDateTime.class);
+        if (!rolledOverTo.isEmpty()) {
+            return rolledOverTo.get(0);
+        }
+        try {
+            jdbcTemplate.update(isPostgresql() ? INSERT_ROLLED_OVER_TO_POSTGRESQL : INSERT_ROLLED_OVER_TO_H2,
+                    LocalDateTime.now());
+        } catch (DuplicateKeyException e) {
+            log.trace("Booking counter rollover row already exists");
+        }
+        return jdbcTemplate.queryForObject(lockingSelect, LocalDateTime.class);
+    }
+
+    private boolean isPostgresql() {
+        Boolean result = postgresql;
+        if (result == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            result = POSTGRESQL.equals(product);
+            postgresql = result;
+        }
+        return result;
+    }
+
+    private static List<Object[]> arguments(List<CounterKey> keys, Map<CounterKey, CounterDelta> deltas) {
+        List<Object[]> batch = new ArrayList<>();
+        for (CounterKey key : keys) {
+            CounterDelta delta = deltas.get(key);
+            Object[] arguments = new Object[COUNTED_STATES.size() + 2];
+            for (int i = 0; i < COUNTED_STATES.size(); i++) {
+                arguments[i] = delta.get(COUNTED_STATES.get(i));
+            }
+            arguments[COUNTED_STATES.size()] = key.getUserId();
+            arguments[COUNTED_STATES.size() + 1] = key.getRole().name();
+            batch.add(arguments);
+        }
+        return batch;
+    }
+
+    private static String countBookings(String bookingsFilter, String archiveFilter) {
+        String archived = "(select count(*) from bookings_archive a " + archiveFilter + ")";
+        return "select count(*) + " + archived + " as all_count, "
+                + "coalesce(sum(case when b.start_date < :at and b.end_date > :at then 1 else 0 end), 0) "
+                + "as current_count, "
+                + "coalesce(sum(case when b.end_date < :at then 1 else 0 end), 0) "
+                + "+ " + archived + " as past_count, "
+                + "coalesce(sum(case when b.start_date > :at and b.end_date > :at then 1 else 0 end), 0) "
+                + "as future_count, "
+                + "coalesce(sum(case when b.status = 'WAITING' then 1 else 0 end), 0) as waiting_count, "
+                + "coalesce(sum(case when b.status = 'REJECTED' then 1 else 0 end), 0) as rejected_count "
+                + "from bookings b " + bookingsFilter;
+    }
+
+    private static List<CounterKey> keys(long bookerId, long ownerId) {
+        return List.of(new CounterKey(bookerId, BookingRole.BOOKER), new CounterKey(ownerId, BookingRole.OWNER));
+    }
+
+    private static Optional<State> statusState(Booking.Status status) {
+        switch (status) {
+            case WAITING:
+                return Optional.of(State.WAITING);
+            case REJECTED:
+                return Optional.of(State.REJECTED);
+            default:
+                return Optional.empty();
+        }
+    }
+
+    private static String column(State state) {
+        return state.name().toLowerCase(Locale.ROOT) + "_count";
+    }
+
+    @Value
+    private static class Recount {
+
+        BookingSummaryDto previous;
+
+        BookingSummaryDto current;
+
+        boolean isDrifted() {
+            return previous != null && !previous.equals(current);
+        }
+
+    }
+
+}
@@ -0,0 +1,6 @@
+package ru.practicum.shareit.booking.summary;
+
+public enum BookingRole {
+    BOOKER,
+    OWNER
+}
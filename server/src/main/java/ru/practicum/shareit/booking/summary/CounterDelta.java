@@ -0,0 +1,27 @@
+package ru.practicum.shareit.booking.summary;
+
+import ru.practicum.shareit.booking.BookingService.State;
+
+class CounterDelta {
+
+    private final long[] values = new long[State.values().length];
+
+    CounterDelta add(State state, long value) {
+        values[state.ordinal()] += value;
+        return this;
+    }
+
+    long get(State state) {
+        return values[state.ordinal()];
+    }
+
+    boolean isEmpty() {
+        for (long value : values) {
+            if (value != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
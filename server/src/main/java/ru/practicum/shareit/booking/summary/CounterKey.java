@@ -0,0 +1,12 @@
+package ru.practicum.shareit.booking.summary;
+
+import lombok.Value;
+
+@Value
+public class CounterKey {
+
+    long userId;
+
+    BookingRole role;
+
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final RecentWriters recentWriters;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, RecentWriters recentWriters) {
+        this.recentWriters = recentWriters;
+        setTargetDataSources(Map.of(DataSourceRole.PRIMARY, primary, DataSourceRole.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentRole();
+    }
+
+    DataSourceRole currentRole() {
+        Long userId = RoutingContext.userId();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (userId != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                recentWriters.recordWrite(userId);
+            }
+            return DataSourceRole.PRIMARY;
+        }
+        if (RoutingContext.isPrimaryRequested() || userId != null && recentWriters.wroteRecently(userId)) {
+            return DataSourceRole.PRIMARY;
+        }
+        return DataSourceRole.REPLICA;
+    }
+
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.datasource;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+public class RecentWriters {
+
+    private final long windowNanos;
+    private final int maxUsers;
+    private final LongSupplier nanoClock;
+    private final Map<Long, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public RecentWriters(Duration window, int maxUsers) {
+        this(window, maxUsers, System::nanoTime);
+    }
+
+    RecentWriters(Duration window, int maxUsers, LongSupplier nanoClock) {
+        this.windowNanos = window.toNanos();
+        this.maxUsers = maxUsers;
+        this.nanoClock = nanoClock;
+    }
+
+    public void recordWrite(long userId) {
+        long now = nanoClock.getAsLong();
+        if (lastWrites.size() >= maxUsers) {
+            lastWrites.values().removeIf(writtenAt -> now - writtenAt >= windowNanos);
+            if (lastWrites.size() >= maxUsers) {
+                return;
+            }
+        }
+        lastWrites.put(userId, now);
+    }
+
+    public boolean wroteRecently(long userId) {
+        Long writtenAt = lastWrites.get(userId);
+        return writtenAt != null && nanoClock.getAsLong() - writtenAt < windowNanos;
+    }
+
+}
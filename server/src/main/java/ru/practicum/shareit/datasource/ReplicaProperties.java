@@ -0,0 +1,24 @@
+package ru.practicum.shareit.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-server.datasource.replica")
+public class ReplicaProperties {
+
+    private boolean enabled;
+
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    private int maxTrackedUsers = 100_000;
+
+}
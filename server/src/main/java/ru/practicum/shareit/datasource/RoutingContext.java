@@ -0,0 +1,30 @@
+package ru.practicum.shareit.datasource;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class RoutingContext {
+
+    private static final ThreadLocal<Long> USER_ID = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> PRIMARY_REQUESTED = new ThreadLocal<>();
+
+    public static void set(Long userId, boolean primaryRequested) {
+        USER_ID.set(userId);
+        PRIMARY_REQUESTED.set(primaryRequested);
+    }
+
+    public static Long userId() {
+        return USER_ID.get();
+    }
+
+    public static boolean isPrimaryRequested() {
+        return Boolean.TRUE.equals(PRIMARY_REQUESTED.get());
+    }
+
+    public static void clear() {
+        USER_ID.remove();
+        PRIMARY_REQUESTED.remove();
+    }
+
+}
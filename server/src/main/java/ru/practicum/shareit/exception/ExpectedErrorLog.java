@@ -0,0 +1,61 @@
+package ru.practicum.shareit.exception;
+
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+class ExpectedErrorLog {
+
+    private final Logger log;
+    private final int maxPerWindow;
+    private final long windowNanos;
+    private final LongSupplier nanoClock;
+    private final Map<Class<?>, Window> windows = new ConcurrentHashMap<>();
+
+    ExpectedErrorLog(Logger log, int maxPerWindow, Duration window, LongSupplier nanoClock) {
+        this.log = log;
+        this.maxPerWindow = maxPerWindow;
+        this.windowNanos = window.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    void warn(Exception e) {
+        if (!log.isWarnEnabled()) {
+            return;
+        }
+        long suppressed = windows.computeIfAbsent(e.getClass(), type -> new Window()).tryAcquire(nanoClock.getAsLong());
+        if (suppressed > 0) {
+            log.warn("{} ({} similar errors suppressed)", e.getMessage(), suppressed);
+        } else if (suppressed == 0) {
+            log.warn(e.getMessage());
+        }
+    }
+
+    private class Window {
+
+        private long start = Long.MIN_VALUE;
+        private int logged;
+        private long suppressed;
+
+        synchronized long tryAcquire(long now) {
+            if (start == Long.MIN_VALUE || now - start >= windowNanos) {
+                long previouslySuppressed = suppressed;
+                start = now;
+                logged = 1;
+                suppressed = 0;
+                return previouslySuppressed;
+            }
+            if (logged < maxPerWindow) {
+                logged++;
+                return 0;
+            }
+            suppressed++;
+            return -1;
+        }
+
+    }
+
+}
@@ -1,6 +1,6 @@
 package ru.practicum.shareit.exception;
 
-public class HasNotSavedException extends RuntimeException {
+public class HasNotSavedException extends ShareItException {
 
     public HasNotSavedException(String message) {
         super(message);
@@ -1,6 +1,6 @@
 package ru.practicum.shareit.exception;
 
-public class NoSuchEntityException extends RuntimeException {
+public class NoSuchEntityException extends ShareItException {
 
     public NoSuchEntityException(String message) {
         super(message);
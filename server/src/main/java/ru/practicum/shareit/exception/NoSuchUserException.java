@@ -0,0 +1,16 @@
+package ru.practicum.shareit.exception;
+
+public class NoSuchUserException extends NoSuchEntityException {
+
+    private final long userId;
+
+    public NoSuchUserException(long userId, String message) {
+        super(message);
+        this.userId = userId;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+}
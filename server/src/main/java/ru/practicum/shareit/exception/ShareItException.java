@@ -0,0 +1,9 @@
+package ru.practicum.shareit.exception;
+
+public abstract class ShareItException extends RuntimeException {
+
+    protected ShareItException(String message) {
+        super(message, null, false, false);
+    }
+
+}
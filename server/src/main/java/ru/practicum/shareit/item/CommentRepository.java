@@ -1,12 +1,59 @@
 package ru.practicum.shareit.item;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
-    List<Comment> findAllByItemId(long itemId);
+    @Query("select comment from Comment comment " +
+            "join fetch comment.author " +
+            "where comment.item.id = :itemId " +
+            "order by comment.created desc, comment.id desc")
+    List<Comment> findLatestByItemId(@Param("itemId") long itemId, Pageable pageable);
+
+    @Query("select comment from Comment comment " +
+            "join fetch comment.author " +
+            "where comment.item.id = :itemId " +
+            "and (comment.created < :created or (comment.created = :created and comment.id < :id)) " +
+            "order by comment.created desc, comment.id desc")
+    List<Comment> findLatestByItemIdBefore(@Param("itemId") long itemId,
+                                           @Param("created") LocalDateTime created,
+                                           @Param("id") long id,
+                                           Pageable pageable);
+
+    @Query(value = "select ranked.id from (" +
+            "select c.id, row_number() over (partition by c.item_id order by c.created desc, c.id desc) as position " +
+            "from comments c where c.item_id in (:itemIds)) ranked " +
+            "where ranked.position <= :limit", nativeQuery = true)
+    List<Long> findLatestIdsByItemIds(@Param("itemIds") Collection<Long> itemIds, @Param("limit") int limit);
+
+    @Query("select comment from Comment comment " +
+            "join fetch comment.author " +
+            "where comment.id in :ids " +
+            "order by comment.created desc, comment.id desc")
+    List<Comment> findAllWithAuthorByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select distinct comment.item.id from Comment comment where comment.id in :ids")
+    List<Long> findItemIdsByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select comment.id from Comment comment where comment.author.id = :userId")
+    List<Long> findIdsByAuthorId(@Param("userId") long userId, Pageable pageable);
+
+    @Query("select comment.id from Comment comment where comment.item.owner.id = :userId")
+    List<Long> findIdsByItemOwnerId(@Param("userId") long userId, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("delete from Comment comment where comment.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
 
 }
@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.KeysetCursor;
 
 import java.util.List;
 
@@ -40,9 +41,18 @@ public class ItemController {
 
     @GetMapping("/search")
     public List<ItemDto> getAllAvailableItemsWithText(@RequestParam String text,
+                                                      @RequestParam(defaultValue = "DEFAULT") ItemService.SearchSort sort,
                                                       @RequestParam(defaultValue = "0") long from,
                                                       @RequestParam(defaultValue = "10") long size) {
-        return itemService.getAllItemsWithText(text, from, size);
+        return itemService.getAllItemsWithText(text, sort, from, size);
+    }
+
+    @GetMapping("/{itemId}/comments")
+    public List<CommentDto> getItemComments(@RequestHeader("X-Sharer-User-Id") long userId,
+                                            @PathVariable long itemId,
+                                            @RequestParam(required = false) KeysetCursor before,
+                                            @RequestParam(defaultValue = "10") long size) {
+        return itemService.getItemComments(userId, itemId, before, size);
     }
 
     @PostMapping("/{itemId}/comment")
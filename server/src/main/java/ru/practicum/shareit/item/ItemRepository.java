@@ -2,10 +2,15 @@ package ru.practicum.shareit.item;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.dto.ItemShort;
 import ru.practicum.shareit.item.model.Item;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
@@ -18,8 +23,43 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
             "or upper(item.description) like upper(concat('%', :text, '%')))")
     List<Item> findAllContainingText(@Param("text") String text, Pageable pageable);
 
-    List<Item> findAllByRequestIdIn(List<Long> itemRequestIds);
+    @Query("select item.id as id, item.name as name, item.description as description, " +
+            "item.available as available, item.request.id as requestId, " +
+            "item.commentCount as commentCount, item.lastCommentCreated as lastCommentCreated " +
+            "from Item item " +
+            "where item.request.id in :itemRequestIds")
+    List<ItemShort> findAllShortByRequestIdIn(@Param("itemRequestIds") Collection<Long> itemRequestIds);
 
     List<Item> findAllByRequestId(long requestId);
 
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Item item " +
+            "set item.commentCount = item.commentCount + 1, item.lastCommentCreated = :created " +
+            "where item.id = :itemId")
+    int incrementCommentStatistics(@Param("itemId") long itemId, @Param("created") LocalDateTime created);
+
+    @Transactional
+    @Modifying
+    @Query("update Item item set " +
+            "item.commentCount = (select count(comment) from Comment comment where comment.item = item), " +
+            "item.lastCommentCreated = (select max(comment.created) from Comment comment where comment.item = item) " +
+            "where item.id in :itemIds")
+    int refreshCommentStatistics(@Param("itemIds") Collection<Long> itemIds);
+
+    @Query("select item.id from Item item where item.owner.id = :userId")
+    List<Long> findIdsByOwnerId(@Param("userId") long userId, Pageable pageable);
+
+    @Query("select item.id from Item item where item.request.requester.id = :userId")
+    List<Long> findIdsByRequestRequesterId(@Param("userId") long userId, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("update Item item set item.request = null where item.id in :ids")
+    int detachFromRequestByIds(@Param("ids") Collection<Long> ids);
+
+    @Transactional
+    @Modifying
+    @Query("delete from Item item where item.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
 }
@@ -2,11 +2,17 @@ package ru.practicum.shareit.item;
 
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.KeysetCursor;
 
 import java.util.List;
 
 public interface ItemService {
 
+    enum SearchSort {
+        DEFAULT,
+        POPULARITY
+    }
+
     ItemDto addItem(ItemDto itemDto, long userId);
 
     ItemDto updateItemData(ItemDto itemDto, long itemId, long userId);
@@ -15,7 +21,9 @@ public interface ItemService {
 
     List<ItemDto> getAllItemsByUserId(long userId, long from, long size);
 
-    List<ItemDto> getAllItemsWithText(String text, long from, long size);
+    List<ItemDto> getAllItemsWithText(String text, SearchSort sort, long from, long size);
+
+    List<CommentDto> getItemComments(long userId, long itemId, KeysetCursor before, long size);
 
     CommentDto addComment(long userId, long itemId, CommentDto commentDto);
 
@@ -3,6 +3,7 @@ package ru.practicum.shareit.item;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.BookingRepository;
@@ -10,12 +11,14 @@ import ru.practicum.shareit.booking.dto.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.exception.HasNotSavedException;
 import ru.practicum.shareit.exception.NoSuchEntityException;
+import ru.practicum.shareit.exception.NoSuchUserException;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentMapper;
 import ru.practicum.shareit.item.exception.*;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.UserRepository;
@@ -24,13 +27,20 @@ import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
 
+    static final int MAX_COMMENTS_PAGE_SIZE = 100;
+
+    private static final int INLINE_COMMENTS_LIMIT = 10;
+
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
@@ -41,7 +51,7 @@ public class ItemServiceImpl implements ItemService {
     @Transactional
     public ItemDto addItem(ItemDto itemDto, long userId) {
         User owner = userRepository.findById(userId).orElseThrow(() ->
-                new NoSuchEntityException("Can't add item, no user found with id=" + userId));
+                new NoSuchUserException(userId, "Can't add item, no user found with id=" + userId));
         Item item = ItemMapper.toItem(itemDto, owner);
         if (itemDto.getRequestId() != null) {
             ItemRequest itemRequest = itemRequestRepository.findById(itemDto.getRequestId()).orElseThrow(() ->
@@ -83,11 +93,12 @@ public class ItemServiceImpl implements ItemService {
     @Override
     public ItemDto getItemById(long userId, long itemId) {
         User owner = userRepository.findById(userId).orElseThrow(() ->
-                new NoSuchEntityException("There is no user with id = " + userId));
+                new NoSuchUserException(userId, "There is no user with id = " + userId));
         Item item = itemRepository.findById(itemId).orElseThrow(() ->
                 new NoSuchEntityException("There is no item with id = " + itemId));
         ItemDto itemDto = ItemMapper.toItemDto(item);
-        itemDto.setComments(CommentMapper.mapToCommentDto(commentRepository.findAllByItemId(itemId)));
+        itemDto.setComments(CommentMapper.mapToCommentDto(
+                commentRepository.findLatestByItemId(itemId, PageRequest.of(0, INLINE_COMMENTS_LIMIT))));
         if (userId != item.getOwner().getId()) {
             return itemDto;
         }
@@ -109,23 +120,32 @@ public class ItemServiceImpl implements ItemService {
     @Override
     public List<ItemDto> getAllItemsByUserId(long userId, long from, long size) {
         User owner = userRepository.findById(userId).orElseThrow(() ->
-                new NoSuchEntityException("There is no user with id = " + userId));
+                new NoSuchUserException(userId, "There is no user with id = " + userId));
         PageRequest pageRequest = PageRequest.of((int) (from / size), (int) size);
         List<Item> items = itemRepository.findAllByOwnerId(userId, pageRequest);
         List<ItemDto> dtos = ItemMapper.toItemDto(items);
+        if (items.isEmpty()) {
+            return dtos;
+        }
+        List<Long> itemIds = items.stream().map(Item::getId).collect(Collectors.toList());
+        List<Long> commentIds = commentRepository.findLatestIdsByItemIds(itemIds, INLINE_COMMENTS_LIMIT);
+        Map<Long, List<Comment>> comments = commentIds.isEmpty() ? Map.of()
+                : commentRepository.findAllWithAuthorByIdIn(commentIds).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Booking> lastBookings = bookingRepository.findLastApprovedByItemIds(itemIds, now).stream()
+                .collect(Collectors.toMap(booking -> booking.getItem().getId(), Function.identity()));
+        Map<Long, Booking> nextBookings = bookingRepository.findNextApprovedByItemIds(itemIds, now).stream()
+                .collect(Collectors.toMap(booking -> booking.getItem().getId(), Function.identity()));
         for (ItemDto dto : dtos) {
-            dto.setComments(CommentMapper.mapToCommentDto(commentRepository.findAllByItemId(dto.getId())));
-            Optional<Booking> lastBooking =
-                    bookingRepository.findFirstByItemIdAndStartIsBeforeAndStatusOrderByStartDesc(
-                            dto.getId(), LocalDateTime.now(), Booking.Status.APPROVED);
-            if (lastBooking.isPresent()) {
-                dto.setLastBooking(BookingMapper.mapToBookingDtoItem(lastBooking.get()));
+            dto.setComments(CommentMapper.mapToCommentDto(comments.getOrDefault(dto.getId(), List.of())));
+            Booking lastBooking = lastBookings.get(dto.getId());
+            if (lastBooking != null) {
+                dto.setLastBooking(BookingMapper.mapToBookingDtoItem(lastBooking));
             }
-            Optional<Booking> nextBooking =
-                    bookingRepository.findFirstByItemIdAndStartIsAfterAndStatusOrderByStartAsc(
-                            dto.getId(), LocalDateTime.now(), Booking.Status.APPROVED);
-            if (nextBooking.isPresent()) {
-                dto.setNextBooking(BookingMapper.mapToBookingDtoItem(nextBooking.get()));
+            Booking nextBooking = nextBookings.get(dto.getId());
+            if (nextBooking != null) {
+                dto.setNextBooking(BookingMapper.mapToBookingDtoItem(nextBooking));
             }
         }
         dtos.sort((left, right) -> {
@@ -136,27 +156,45 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
-    public List<ItemDto> getAllItemsWithText(String text, long from, long size) {
+    public List<ItemDto> getAllItemsWithText(String text, SearchSort sort, long from, long size) {
         if (text.isBlank()) {
             return List.of();
         }
-        PageRequest pageRequest = PageRequest.of((int) (from / size), (int) size);
+        PageRequest pageRequest = sort == SearchSort.POPULARITY
+                ? PageRequest.of((int) (from / size), (int) size, Sort.by(Sort.Direction.DESC, "commentCount", "id"))
+                : PageRequest.of((int) (from / size), (int) size);
         return ItemMapper.toItemDto(itemRepository.findAllContainingText(text, pageRequest));
     }
 
+    @Override
+    public List<CommentDto> getItemComments(long userId, long itemId, KeysetCursor before, long size) {
+        if (!userRepository.existsById(userId)) {
+            throw new NoSuchUserException(userId, "There is no user with id = " + userId);
+        }
+        if (!itemRepository.existsById(itemId)) {
+            throw new NoSuchEntityException("There is no item with id = " + itemId);
+        }
+        PageRequest pageRequest = PageRequest.of(0, (int) Math.min(size, MAX_COMMENTS_PAGE_SIZE));
+        List<Comment> comments = before == null
+                ? commentRepository.findLatestByItemId(itemId, pageRequest)
+                : commentRepository.findLatestByItemIdBefore(itemId, before.getCreated(), before.getId(), pageRequest);
+        return CommentMapper.mapToCommentDto(comments);
+    }
+
     @Transactional
     @Override
     public CommentDto addComment(long userId, long itemId, CommentDto commentDto) {
         User author = userRepository.findById(userId).orElseThrow(() ->
-                new NoSuchEntityException("There is no user with id = " + userId));
+                new NoSuchUserException(userId, "There is no user with id = " + userId));
         Item item = itemRepository.findById(itemId).orElseThrow(() ->
                 new NoSuchEntityException("There is no item with id = " + itemId));
-        Booking booking = bookingRepository.findFirstByBookerIdAndItemIdAndStatusIsAndEndIsBeforeOrderByEndDesc(
-                userId, itemId, Booking.Status.APPROVED, LocalDateTime.now()).orElseThrow(() ->
-                new NoFinishBookingForCommentException("No booking for comment."));
+        Booking booking = bookingRepository.findLastApprovedEndedBefore(userId, itemId, LocalDateTime.now())
+                .orElseThrow(() -> new NoFinishBookingForCommentException("No booking for comment."));
         Comment comment = CommentMapper.mapToComment(commentDto, author, item, LocalDateTime.now());
         try {
-            return CommentMapper.mapToCommentDto(commentRepository.save(comment));
+            CommentDto savedCommentDto = CommentMapper.mapToCommentDto(commentRepository.save(comment));
+            itemRepository.incrementCommentStatistics(itemId, comment.getCreated());
+            return savedCommentDto;
         } catch (DataIntegrityViolationException e) {
             throw new HasNotSavedException("Comment hasn't been saved: " + comment);
         }
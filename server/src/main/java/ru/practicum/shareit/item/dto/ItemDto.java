@@ -8,6 +8,7 @@ import ru.practicum.shareit.booking.dto.BookingDtoItem;
 
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
@@ -35,4 +36,8 @@ public class ItemDto {
 
     private List<CommentDto> comments;
 
+    private long commentCount;
+
+    private LocalDateTime lastCommentCreated;
+
 }
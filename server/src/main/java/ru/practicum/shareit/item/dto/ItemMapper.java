@@ -20,6 +20,20 @@ public class ItemMapper {
         itemDto.setDescription(item.getDescription());
         itemDto.setAvailable(item.getAvailable());
         itemDto.setRequestId(Optional.ofNullable(item.getRequest()).map(ItemRequest::getId).orElse(null));
+        itemDto.setCommentCount(item.getCommentCount());
+        itemDto.setLastCommentCreated(item.getLastCommentCreated());
+        return itemDto;
+    }
+
+    public static ItemDto toItemDto(ItemShort item) {
+        ItemDto itemDto = new ItemDto();
+        itemDto.setId(item.getId());
+        itemDto.setName(item.getName());
+        itemDto.setDescription(item.getDescription());
+        itemDto.setAvailable(item.getAvailable());
+        itemDto.setRequestId(item.getRequestId());
+        itemDto.setCommentCount(item.getCommentCount());
+        itemDto.setLastCommentCreated(item.getLastCommentCreated());
         return itemDto;
     }
 
@@ -1,6 +1,8 @@
 package ru.practicum.shareit.item.exception;
 
-public class ItemIsNotAvailableException extends RuntimeException {
+import ru.practicum.shareit.exception.ShareItException;
+
+public class ItemIsNotAvailableException extends ShareItException {
 
     public ItemIsNotAvailableException(String message) {
         super(message);
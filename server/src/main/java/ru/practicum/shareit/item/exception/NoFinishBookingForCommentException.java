@@ -1,6 +1,8 @@
 package ru.practicum.shareit.item.exception;
 
-public class NoFinishBookingForCommentException extends RuntimeException {
+import ru.practicum.shareit.exception.ShareItException;
+
+public class NoFinishBookingForCommentException extends ShareItException {
 
     public NoFinishBookingForCommentException(String message) {
         super(message);
@@ -1,6 +1,8 @@
 package ru.practicum.shareit.item.exception;
 
-public class UserNotOwnItemException extends RuntimeException {
+import ru.practicum.shareit.exception.ShareItException;
+
+public class UserNotOwnItemException extends ShareItException {
 
     public UserNotOwnItemException(String msg) {
         super(msg);
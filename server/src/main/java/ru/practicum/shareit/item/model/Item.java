@@ -5,6 +5,7 @@ import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
 import javax.persistence.*;
+import java.time.LocalDateTime;
 
 @Getter
 @Setter
@@ -36,4 +37,10 @@ public class Item {
     @JoinColumn(name = "request_id")
     private ItemRequest request;
 
+    @Column(name = "comment_count", insertable = false, updatable = false)
+    private long commentCount;
+
+    @Column(name = "last_comment_created", insertable = false, updatable = false)
+    private LocalDateTime lastCommentCreated;
+
 }
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+@Value
+public class KeysetCursor {
+
+    LocalDateTime created;
+
+    long id;
+
+    public static KeysetCursor valueOf(String value) {
+        int separator = value.lastIndexOf(',');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Cursor must have format <created,id>: " + value);
+        }
+        try {
+            return new KeysetCursor(LocalDateTime.parse(value.substring(0, separator).trim()),
+                    Long.parseLong(value.substring(separator + 1).trim()));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor must have format <created,id>: " + value);
+        }
+    }
+
+}
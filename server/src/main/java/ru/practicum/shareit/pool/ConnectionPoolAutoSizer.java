@@ -0,0 +1,99 @@
+package ru.practicum.shareit.pool;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "shareit-server.connection-pool", name = "sizing", havingValue = "auto")
+public class ConnectionPoolAutoSizer implements DisposableBean {
+
+    private static final String USAGE_TIMER = "hikaricp.connections.usage";
+
+    private final ConnectionPoolMonitor monitor;
+    private final MeterRegistry meterRegistry;
+    private final int minSize;
+    private final int maxSize;
+    private final double headroom;
+    private final long intervalNanos;
+    private final ScheduledExecutorService scheduler;
+    private final Map<String, Double> lastUsageNanos = new HashMap<>();
+
+    public ConnectionPoolAutoSizer(ConnectionPoolMonitor monitor, ConnectionPoolProperties properties,
+                                   MeterRegistry meterRegistry) {
+        this(monitor, properties, meterRegistry, Runtime.getRuntime().availableProcessors(), true);
+    }
+
+    ConnectionPoolAutoSizer(ConnectionPoolMonitor monitor, ConnectionPoolProperties properties,
+                            MeterRegistry meterRegistry, int processors, boolean schedule) {
+        ConnectionPoolProperties.Auto auto = properties.getAuto();
+        this.monitor = monitor;
+        this.meterRegistry = meterRegistry;
+        this.minSize = auto.getMinSize() > 0 ? auto.getMinSize() : processors;
+        this.maxSize = Math.max(minSize, auto.getMaxSize() > 0 ? auto.getMaxSize() : processors * 4);
+        this.headroom = auto.getHeadroom();
+        this.intervalNanos = auto.getInterval().toNanos();
+        for (ConnectionPoolMonitor.Pool pool : monitor.getPools()) {
+            pool.resize(clamp(processors * 2 + 1));
+            log.info("Connection pool {} auto sizing between {} and {} connections, starting at {}",
+                    pool.getPoolName(), minSize, maxSize, pool.getMaximumPoolSize());
+        }
+        if (schedule) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "connection-pool-sizer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::resize, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+        } else {
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    void resize() {
+        monitor.getPools().forEach(this::resize);
+    }
+
+    private void resize(ConnectionPoolMonitor.Pool pool) {
+        String poolName = String.valueOf(pool.getPoolName());
+        Timer usage = meterRegistry.find(USAGE_TIMER).tag("pool", poolName).timer();
+        if (usage == null) {
+            return;
+        }
+        double usageNanos = usage.totalTime(TimeUnit.NANOSECONDS);
+        Double previous = lastUsageNanos.put(poolName, usageNanos);
+        if (previous == null) {
+            return;
+        }
+        double busyConnections = (usageNanos - previous) / intervalNanos;
+        int pending = pool.snapshot().map(ConnectionPoolMonitor.Snapshot::getPending).orElse(0);
+        int target = clamp((int) Math.ceil(busyConnections * headroom) + pending);
+        if (target != pool.getMaximumPoolSize()) {
+            log.info("Resizing connection pool {} from {} to {} connections ({} busy on average, {} waiting)",
+                    poolName, pool.getMaximumPoolSize(), target, String.format("%.2f", busyConnections), pending);
+            pool.resize(target);
+        }
+    }
+
+    private int clamp(int size) {
+        return Math.max(minSize, Math.min(maxSize, size));
+    }
+
+}
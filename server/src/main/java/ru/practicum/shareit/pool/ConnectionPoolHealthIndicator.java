@@ -0,0 +1,55 @@
+package ru.practicum.shareit.pool;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+@Component("connectionPool")
+@RequiredArgsConstructor
+public class ConnectionPoolHealthIndicator implements HealthIndicator {
+
+    public static final Status SATURATED = new Status("SATURATED", "Connection pool is saturated");
+
+    private final ConnectionPoolMonitor monitor;
+    private final ConnectionPoolProperties properties;
+
+    @Override
+    public Health health() {
+        if (!monitor.isAvailable()) {
+            return Health.unknown().withDetail("reason", "Data source is not a Hikari pool").build();
+        }
+        Health.Builder health = Health.unknown();
+        boolean started = false;
+        boolean saturated = false;
+        for (ConnectionPoolMonitor.Pool pool : monitor.getPools()) {
+            Optional<ConnectionPoolMonitor.Snapshot> snapshot = pool.snapshot();
+            if (snapshot.isEmpty()) {
+                health.withDetail(pool.getPoolName(), Map.of("reason", "Pool has not been started"));
+                continue;
+            }
+            ConnectionPoolMonitor.Snapshot stats = snapshot.get();
+            started = true;
+            saturated |= stats.getPending() >= properties.getPendingThreshold()
+                    || stats.getSaturation() >= properties.getSaturationThreshold();
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("active", stats.getActive());
+            details.put("idle", stats.getIdle());
+            details.put("total", stats.getTotal());
+            details.put("pending", stats.getPending());
+            details.put("maximumPoolSize", stats.getMaximumPoolSize());
+            details.put("saturation", stats.getSaturation());
+            health.withDetail(pool.getPoolName(), details);
+        }
+        if (started) {
+            health.status(saturated ? SATURATED : Status.UP);
+        }
+        return health.withDetail("sizing", properties.getSizing()).build();
+    }
+
+}
@@ -0,0 +1,104 @@
+package ru.practicum.shareit.pool;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+@Component
+public class ConnectionPoolMonitor {
+
+    private final List<Pool> pools = new ArrayList<>();
+
+    // With read/write routing the primary data source is a proxy over both pools, so every Hikari pool behind any
+    // data source bean is picked up once.
+    public ConnectionPoolMonitor(List<DataSource> dataSources, MeterRegistry meterRegistry) throws SQLException {
+        Set<HikariDataSource> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (DataSource dataSource : dataSources) {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+                if (seen.add(hikari)) {
+                    pools.add(new Pool(hikari));
+                }
+            }
+        }
+        for (Pool pool : pools) {
+            Gauge.builder("shareit.db.pool.saturation", pool,
+                            monitored -> monitored.snapshot().map(Snapshot::getSaturation).orElse(0.0))
+                    .description("Share of the maximum pool size currently in use")
+                    .tag("pool", String.valueOf(pool.getPoolName()))
+                    .register(meterRegistry);
+        }
+    }
+
+    public boolean isAvailable() {
+        return !pools.isEmpty();
+    }
+
+    public List<Pool> getPools() {
+        return Collections.unmodifiableList(pools);
+    }
+
+    public static class Pool {
+
+        private final HikariDataSource hikari;
+
+        Pool(HikariDataSource hikari) {
+            this.hikari = hikari;
+        }
+
+        public String getPoolName() {
+            return hikari.getPoolName();
+        }
+
+        public Optional<Snapshot> snapshot() {
+            HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+            if (pool == null) {
+                return Optional.empty();
+            }
+            return Optional.of(new Snapshot(pool.getActiveConnections(), pool.getIdleConnections(),
+                    pool.getTotalConnections(), pool.getThreadsAwaitingConnection(), hikari.getMaximumPoolSize()));
+        }
+
+        public int getMaximumPoolSize() {
+            return hikari.getMaximumPoolSize();
+        }
+
+        public void resize(int maximumPoolSize) {
+            if (hikari.getMinimumIdle() > maximumPoolSize) {
+                hikari.setMinimumIdle(maximumPoolSize);
+            }
+            hikari.setMaximumPoolSize(maximumPoolSize);
+        }
+
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Snapshot {
+
+        private final int active;
+        private final int idle;
+        private final int total;
+        private final int pending;
+        private final int maximumPoolSize;
+
+        public double getSaturation() {
+            return maximumPoolSize == 0 ? 0 : (double) active / maximumPoolSize;
+        }
+
+    }
+
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.pool;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-server.connection-pool")
+public class ConnectionPoolProperties {
+
+    public enum Sizing {
+        FIXED,
+        AUTO
+    }
+
+    private Sizing sizing = Sizing.FIXED;
+
+    private double saturationThreshold = 0.9;
+
+    private int pendingThreshold = 1;
+
+    private Auto auto = new Auto();
+
+    @Data
+    public static class Auto {
+
+        private int minSize;
+
+        private int maxSize;
+
+        private Duration interval = Duration.ofSeconds(30);
+
+        private double headroom = 1.5;
+
+    }
+
+}
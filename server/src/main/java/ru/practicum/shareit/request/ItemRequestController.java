@@ -2,6 +2,7 @@ package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.List;
@@ -27,8 +28,12 @@ public class ItemRequestController {
 
     @GetMapping("/all")
     public List<ItemRequestDto> getItemRequestsAllButOwner(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                    @RequestParam(required = false) KeysetCursor before,
                                                     @RequestParam(defaultValue = "0") long from,
                                                     @RequestParam(defaultValue = "10") long size) {
+        if (before != null) {
+            return itemRequestService.getItemRequestsAllButOwner(userId, before, size);
+        }
         return itemRequestService.getItemRequestsAllButOwner(userId, from, size);
     }
 
@@ -2,8 +2,14 @@ package ru.practicum.shareit.request;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
@@ -12,4 +18,21 @@ public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long>
 
     List<ItemRequest> findAllByRequesterIdIsNot(long userId, Pageable pageable);
 
+    @Query("select itemRequest from ItemRequest itemRequest " +
+            "where itemRequest.requester.id <> :userId " +
+            "and (itemRequest.created < :created or (itemRequest.created = :created and itemRequest.id < :id)) " +
+            "order by itemRequest.created desc, itemRequest.id desc")
+    List<ItemRequest> findLatestByRequesterIdIsNotBefore(@Param("userId") long userId,
+                                                         @Param("created") LocalDateTime created,
+                                                         @Param("id") long id,
+                                                         Pageable pageable);
+
+    @Query("select itemRequest.id from ItemRequest itemRequest where itemRequest.requester.id = :userId")
+    List<Long> findIdsByRequesterId(@Param("userId") long userId, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("delete from ItemRequest itemRequest where itemRequest.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
 }
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request;
 
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.List;
@@ -12,6 +13,8 @@ public interface ItemRequestService {
 
     List<ItemRequestDto> getItemRequestsAllButOwner(long userId, long from, long size);
 
+    List<ItemRequestDto> getItemRequestsAllButOwner(long userId, KeysetCursor before, long size);
+
     ItemRequestDto getItemRequestById(long userId, long requestId);
 
 }
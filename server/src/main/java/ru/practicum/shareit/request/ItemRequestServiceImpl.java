@@ -8,10 +8,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.HasNotSavedException;
 import ru.practicum.shareit.exception.NoSuchEntityException;
+import ru.practicum.shareit.exception.NoSuchUserException;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemMapper;
-import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.dto.ItemShort;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -19,7 +21,9 @@ import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -35,7 +39,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Transactional
     public ItemRequestDto addItemRequest(long userId, ItemRequestDto itemRequestDto) {
         User user = userRepository.findById(userId).orElseThrow(() ->
-                new NoSuchEntityException("There is no user with id = " + userId));
+                new NoSuchUserException(userId, "There is no user with id = " + userId));
         itemRequestDto.setCreated(LocalDateTime.now());
         ItemRequest itemRequest = ItemRequestMapper.mapToItemRequest(itemRequestDto, user);
         try {
@@ -48,48 +52,53 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     public List<ItemRequestDto> getItemRequestsByOwner(long userId) {
         User user = userRepository.findById(userId).orElseThrow(() ->
-                new NoSuchEntityException("There is no user with id = " + userId));
+                new NoSuchUserException(userId, "There is no user with id = " + userId));
         List<ItemRequest> itemRequests = itemRequestRepository.findAllByRequesterIdOrderByCreatedDesc(userId);
-        List<Long> itemRequestIds = itemRequests.stream().map(ItemRequest::getId).collect(Collectors.toList());
-        List<ItemRequestDto> itemRequestDtos = itemRequests.stream().map(ItemRequestMapper::mapToItemRequestDto)
-                .collect(Collectors.toList());
-        List<Item> items = itemRepository.findAllByRequestIdIn(itemRequestIds);
-        for (ItemRequestDto itemRequestDto : itemRequestDtos) {
-            List<Item> requestItems = items.stream()
-                    .filter(item -> item.getRequest().getId() == itemRequestDto.getId())
-                    .collect(Collectors.toList());
-            itemRequestDto.setItems(ItemMapper.toItemDto(requestItems));
-        }
-        return itemRequestDtos;
+        return mapToItemRequestDtoWithItems(itemRequests);
     }
 
     @Override
     public List<ItemRequestDto> getItemRequestsAllButOwner(long userId, long from, long size) {
         User user = userRepository.findById(userId).orElseThrow(() ->
-                new NoSuchEntityException("There is no user with id = " + userId));
+                new NoSuchUserException(userId, "There is no user with id = " + userId));
         List<ItemRequest> itemRequests = itemRequestRepository.findAllByRequesterIdIsNot(userId,
-                PageRequest.of((int) (from / size), (int) size, Sort.by(Sort.Direction.DESC, "created")));
-        List<Long> itemRequestIds = itemRequests.stream().map(ItemRequest::getId).collect(Collectors.toList());
-        List<ItemRequestDto> itemRequestDtos = itemRequests.stream().map(ItemRequestMapper::mapToItemRequestDto)
-                .collect(Collectors.toList());
-        List<Item> items = itemRepository.findAllByRequestIdIn(itemRequestIds);
-        for (ItemRequestDto itemRequestDto : itemRequestDtos) {
-            List<Item> requestItems = items.stream()
-                    .filter(item -> item.getRequest().getId() == itemRequestDto.getId())
-                    .collect(Collectors.toList());
-            itemRequestDto.setItems(ItemMapper.toItemDto(requestItems));
+                PageRequest.of((int) (from / size), (int) size, Sort.by(Sort.Direction.DESC, "created", "id")));
+        return mapToItemRequestDtoWithItems(itemRequests);
+    }
+
+    @Override
+    public List<ItemRequestDto> getItemRequestsAllButOwner(long userId, KeysetCursor before, long size) {
+        if (!userRepository.existsById(userId)) {
+            throw new NoSuchUserException(userId, "There is no user with id = " + userId);
         }
-        return itemRequestDtos;
+        List<ItemRequest> itemRequests = itemRequestRepository.findLatestByRequesterIdIsNotBefore(userId,
+                before.getCreated(), before.getId(), PageRequest.of(0, (int) size));
+        return mapToItemRequestDtoWithItems(itemRequests);
     }
 
     @Override
     public ItemRequestDto getItemRequestById(long userId, long requestId) {
         User user = userRepository.findById(userId).orElseThrow(() ->
-                new NoSuchEntityException("There is no user with id = " + userId));
+                new NoSuchUserException(userId, "There is no user with id = " + userId));
         ItemRequest itemRequest = itemRequestRepository.findById(requestId).orElseThrow(() ->
                 new NoSuchEntityException("There is no item request with id = " + requestId));
         List<ItemDto> itemDtos = ItemMapper.toItemDto(itemRepository.findAllByRequestId(requestId));
         ItemRequestDto itemRequestDto = ItemRequestMapper.mapToItemRequestDto(itemRequest, itemDtos);
         return itemRequestDto;
     }
+
+    private List<ItemRequestDto> mapToItemRequestDtoWithItems(List<ItemRequest> itemRequests) {
+        if (itemRequests.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> itemRequestIds = itemRequests.stream().map(ItemRequest::getId).collect(Collectors.toList());
+        Map<Long, List<ItemDto>> itemsByRequestId = itemRepository.findAllShortByRequestIdIn(itemRequestIds).stream()
+                .collect(Collectors.groupingBy(ItemShort::getRequestId,
+                        Collectors.mapping(ItemMapper::toItemDto, Collectors.toList())));
+        return itemRequests.stream()
+                .map(itemRequest -> ItemRequestMapper.mapToItemRequestDto(itemRequest,
+                        itemsByRequestId.getOrDefault(itemRequest.getId(), new ArrayList<>())))
+                .collect(Collectors.toList());
+    }
+
 }
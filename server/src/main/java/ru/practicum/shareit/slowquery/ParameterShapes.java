@@ -0,0 +1,33 @@
+package ru.practicum.shareit.slowquery;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class ParameterShapes {
+
+    static List<String> of(List<Object> values) {
+        return values.stream().map(ParameterShapes::shapeOf).collect(Collectors.toList());
+    }
+
+    static String shapeOf(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof CharSequence) {
+            return "String(" + ((CharSequence) value).length() + ")";
+        }
+        if (value instanceof byte[]) {
+            return "byte[" + ((byte[]) value).length + "]";
+        }
+        if (value instanceof Collection) {
+            return value.getClass().getSimpleName() + "(" + ((Collection<?>) value).size() + ")";
+        }
+        return value.getClass().getSimpleName();
+    }
+
+}
@@ -0,0 +1,134 @@
+package ru.practicum.shareit.slowquery;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+@Slf4j
+@Component
+public class QueryExplainer implements DisposableBean {
+
+    private static final String POSTGRESQL = "PostgreSQL";
+    private static final int MAX_TRACKED_STATEMENTS = 1000;
+    private static final String ANALYZING_EXPLAIN = "EXPLAIN (ANALYZE, BUFFERS) ";
+    private static final String PLAIN_EXPLAIN = "EXPLAIN ";
+    private static final Pattern LOCKING_CLAUSE =
+            Pattern.compile("\\bfor\\s+(update|share|no\\s+key\\s+update|key\\s+share)\\b");
+    private static final Pattern DATA_MODIFYING = Pattern.compile("\\b(insert|update|delete|merge)\\b");
+
+    private final SlowQueryProperties.Explain properties;
+    private final DataSource dataSource;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, Long> lastExplainedAt = new ConcurrentHashMap<>();
+    private volatile Boolean postgres;
+
+    public QueryExplainer(SlowQueryProperties properties, DataSource dataSource) {
+        this.properties = properties.getExplain();
+        this.dataSource = dataSource;
+        this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(this.properties.getQueueSize()), runnable -> {
+                    Thread thread = new Thread(runnable, "slow-query-explain");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public void requestPlan(SlowStatement statement) {
+        if (!properties.isEnabled() || explainCommand(statement.getSql()) == null) {
+            statement.plan(SlowStatement.PlanStatus.SKIPPED, null);
+            return;
+        }
+        long now = System.nanoTime();
+        Long previous = lastExplainedAt.get(statement.getSql());
+        if (previous != null && now - previous < properties.getInterval().toNanos()) {
+            statement.plan(SlowStatement.PlanStatus.SKIPPED, "Explained recently");
+            return;
+        }
+        if (lastExplainedAt.size() >= MAX_TRACKED_STATEMENTS) {
+            lastExplainedAt.clear();
+        }
+        lastExplainedAt.put(statement.getSql(), now);
+        statement.plan(SlowStatement.PlanStatus.PENDING, null);
+        try {
+            executor.execute(() -> explain(statement));
+        } catch (RejectedExecutionException e) {
+            statement.plan(SlowStatement.PlanStatus.SKIPPED, "Explain queue is full");
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private void explain(SlowStatement statement) {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!isPostgres(connection)) {
+                statement.plan(SlowStatement.PlanStatus.SKIPPED, "EXPLAIN is captured on PostgreSQL only");
+                return;
+            }
+            connection.setAutoCommit(false);
+            try (PreparedStatement explain = connection.prepareStatement(
+                    explainCommand(statement.getSql()) + statement.getSql())) {
+                explain.setQueryTimeout((int) Math.max(1, properties.getTimeout().toSeconds()));
+                List<Object> bindValues = statement.bindValues();
+                for (int i = 0; i < bindValues.size(); i++) {
+                    explain.setObject(i + 1, bindValues.get(i));
+                }
+                StringJoiner plan = new StringJoiner("\n");
+                try (ResultSet resultSet = explain.executeQuery()) {
+                    while (resultSet.next()) {
+                        plan.add(resultSet.getString(1));
+                    }
+                }
+                statement.plan(SlowStatement.PlanStatus.CAPTURED, plan.toString());
+            } finally {
+                connection.rollback();
+            }
+        } catch (SQLException e) {
+            log.debug("EXPLAIN failed for {}", statement.getSql(), e);
+            statement.plan(SlowStatement.PlanStatus.FAILED, e.getMessage());
+        }
+    }
+
+    private boolean isPostgres(Connection connection) throws SQLException {
+        Boolean result = postgres;
+        if (result == null) {
+            result = POSTGRESQL.equals(connection.getMetaData().getDatabaseProductName());
+            postgres = result;
+        }
+        return result;
+    }
+
+    // ANALYZE really runs the statement. It is rolled back afterwards, but a locking read still blocks writers
+    // while it runs and a data-modifying CTE still consumes sequence values and fires triggers, so both only get
+    // a plain EXPLAIN.
+    static String explainCommand(String sql) {
+        String normalized = sql.strip().toLowerCase(Locale.ROOT);
+        if (normalized.startsWith("select")) {
+            return LOCKING_CLAUSE.matcher(normalized).find() ? PLAIN_EXPLAIN : ANALYZING_EXPLAIN;
+        }
+        if (normalized.startsWith("with")) {
+            return LOCKING_CLAUSE.matcher(normalized).find() || DATA_MODIFYING.matcher(normalized).find()
+                    ? PLAIN_EXPLAIN : ANALYZING_EXPLAIN;
+        }
+        return null;
+    }
+
+}
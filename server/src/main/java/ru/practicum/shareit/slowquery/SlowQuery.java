@@ -0,0 +1,19 @@
+package ru.practicum.shareit.slowquery;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Getter
+@RequiredArgsConstructor
+public class SlowQuery {
+
+    private final Instant timestamp;
+    private final String repository;
+    private final String method;
+    private final long durationMillis;
+    private final List<SlowStatement> statements;
+
+}
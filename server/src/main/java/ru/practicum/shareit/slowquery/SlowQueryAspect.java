@@ -0,0 +1,47 @@
+package ru.practicum.shareit.slowquery;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Aspect
+@Component
+@ConditionalOnProperty(prefix = "shareit-server.slow-query", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+@RequiredArgsConstructor
+public class SlowQueryAspect {
+
+    private final SlowQueryLog slowQueryLog;
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object capture(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!StatementCapture.start()) {
+            return joinPoint.proceed();
+        }
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            long elapsedNanos = System.nanoTime() - start;
+            List<SlowStatement> statements = StatementCapture.finish();
+            slowQueryLog.record(repositoryName(joinPoint), joinPoint.getSignature().getName(), elapsedNanos,
+                    statements);
+        }
+    }
+
+    private static String repositoryName(ProceedingJoinPoint joinPoint) {
+        Class<?>[] interfaces = joinPoint.getTarget().getClass().getInterfaces();
+        for (Class<?> candidate : interfaces) {
+            if (candidate.getName().startsWith("ru.practicum.shareit.")) {
+                return candidate.getSimpleName();
+            }
+        }
+        return joinPoint.getSignature().getDeclaringType().getSimpleName();
+    }
+
+}
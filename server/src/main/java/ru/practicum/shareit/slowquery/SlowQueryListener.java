@@ -0,0 +1,52 @@
+package ru.practicum.shareit.slowquery;
+
+import lombok.RequiredArgsConstructor;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class SlowQueryListener implements QueryExecutionListener {
+
+    private final int maxStatements;
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (!StatementCapture.isActive()) {
+            return;
+        }
+        for (QueryInfo queryInfo : queryInfoList) {
+            StatementCapture.add(new SlowStatement(queryInfo.getQuery(), firstBindValues(queryInfo),
+                    execInfo.getElapsedTime()), maxStatements);
+        }
+    }
+
+    private static List<Object> firstBindValues(QueryInfo queryInfo) {
+        if (queryInfo.getParametersList().isEmpty()) {
+            return List.of();
+        }
+        List<ParameterSetOperation> operations = new ArrayList<>(queryInfo.getParametersList().get(0));
+        operations.sort(Comparator.comparingInt(SlowQueryListener::indexOf));
+        List<Object> values = new ArrayList<>(operations.size());
+        for (ParameterSetOperation operation : operations) {
+            Object[] args = operation.getArgs();
+            values.add(args.length > 1 && !"setNull".equals(operation.getMethod().getName()) ? args[1] : null);
+        }
+        return values;
+    }
+
+    private static int indexOf(ParameterSetOperation operation) {
+        Object index = operation.getArgs()[0];
+        return index instanceof Number ? ((Number) index).intValue() : Integer.MAX_VALUE;
+    }
+
+}
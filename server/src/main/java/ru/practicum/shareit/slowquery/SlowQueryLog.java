@@ -0,0 +1,58 @@
+package ru.practicum.shareit.slowquery;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SlowQueryLog {
+
+    private final SlowQueryProperties properties;
+    private final QueryExplainer queryExplainer;
+    private final MeterRegistry meterRegistry;
+    private final Deque<SlowQuery> entries = new ArrayDeque<>();
+
+    public void record(String repository, String method, long elapsedNanos, List<SlowStatement> statements) {
+        if (elapsedNanos < properties.getThreshold().toNanos()) {
+            return;
+        }
+        statements.forEach(SlowStatement::describeParameters);
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        SlowQuery slowQuery = new SlowQuery(Instant.now(), repository, method, durationMillis, statements);
+        synchronized (entries) {
+            if (entries.size() >= properties.getMaxEntries()) {
+                entries.removeFirst();
+            }
+            entries.addLast(slowQuery);
+        }
+        meterRegistry.counter("shareit.sql.slow", "repository", repository, "method", method).increment();
+        log.warn("Slow repository call {}.{} took {} ms, statements: {}", repository, method, durationMillis,
+                statements.size());
+        statements.forEach(queryExplainer::requestPlan);
+    }
+
+    public List<SlowQuery> recent() {
+        List<SlowQuery> recent = new ArrayList<>();
+        synchronized (entries) {
+            entries.descendingIterator().forEachRemaining(recent::add);
+        }
+        return recent;
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.slowquery;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-server.slow-query")
+public class SlowQueryProperties {
+
+    private boolean enabled = true;
+
+    private Duration threshold = Duration.ofMillis(200);
+
+    private int maxEntries = 100;
+
+    private int maxStatementsPerEntry = 20;
+
+    private Explain explain = new Explain();
+
+    @Data
+    public static class Explain {
+
+        private boolean enabled = true;
+
+        private Duration interval = Duration.ofMinutes(5);
+
+        private Duration timeout = Duration.ofSeconds(5);
+
+        private int queueSize = 16;
+
+    }
+
+}
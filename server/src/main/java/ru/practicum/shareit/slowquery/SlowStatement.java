@@ -0,0 +1,50 @@
+package ru.practicum.shareit.slowquery;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class SlowStatement {
+
+    public enum PlanStatus {
+        NOT_REQUESTED,
+        PENDING,
+        CAPTURED,
+        SKIPPED,
+        FAILED
+    }
+
+    private final String sql;
+    private List<String> parameterShapes = List.of();
+    private final long durationMillis;
+    private volatile PlanStatus planStatus = PlanStatus.NOT_REQUESTED;
+    private volatile String plan;
+
+    @Getter(AccessLevel.NONE)
+    private volatile List<Object> bindValues;
+
+    SlowStatement(String sql, List<Object> bindValues, long durationMillis) {
+        this.sql = sql;
+        this.bindValues = bindValues;
+        this.durationMillis = durationMillis;
+    }
+
+    void describeParameters() {
+        parameterShapes = ParameterShapes.of(bindValues);
+    }
+
+    List<Object> bindValues() {
+        return bindValues;
+    }
+
+    void plan(PlanStatus planStatus, String plan) {
+        this.plan = plan;
+        this.planStatus = planStatus;
+        if (planStatus != PlanStatus.PENDING) {
+            bindValues = List.of();
+        }
+    }
+
+}
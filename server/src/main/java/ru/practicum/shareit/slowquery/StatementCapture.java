@@ -0,0 +1,39 @@
+package ru.practicum.shareit.slowquery;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class StatementCapture {
+
+    private static final ThreadLocal<List<SlowStatement>> STATEMENTS = new ThreadLocal<>();
+
+    static boolean start() {
+        if (STATEMENTS.get() != null) {
+            return false;
+        }
+        STATEMENTS.set(new ArrayList<>());
+        return true;
+    }
+
+    static boolean isActive() {
+        return STATEMENTS.get() != null;
+    }
+
+    static void add(SlowStatement statement, int maxStatements) {
+        List<SlowStatement> statements = STATEMENTS.get();
+        if (statements != null && statements.size() < maxStatements) {
+            statements.add(statement);
+        }
+    }
+
+    static List<SlowStatement> finish() {
+        List<SlowStatement> statements = STATEMENTS.get();
+        STATEMENTS.remove();
+        return statements == null ? List.of() : statements;
+    }
+
+}
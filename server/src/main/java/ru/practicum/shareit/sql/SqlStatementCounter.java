@@ -0,0 +1,56 @@
+package ru.practicum.shareit.sql;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class SqlStatementCounter {
+
+    private static final ThreadLocal<Counts> COUNTS = ThreadLocal.withInitial(Counts::new);
+
+    public static Snapshot snapshot() {
+        Counts counts = COUNTS.get();
+        return new Snapshot(counts, counts.statements, counts.elapsedNanos);
+    }
+
+    static void beforeStatement() {
+        COUNTS.get().startedAt = System.nanoTime();
+    }
+
+    static void afterStatement() {
+        Counts counts = COUNTS.get();
+        counts.statements++;
+        counts.elapsedNanos += System.nanoTime() - counts.startedAt;
+    }
+
+    private static class Counts {
+
+        private long statements;
+        private long elapsedNanos;
+        private long startedAt;
+
+    }
+
+    public static class Snapshot {
+
+        private final Counts counts;
+        private final long statements;
+        private final long elapsedNanos;
+
+        private Snapshot(Counts counts, long statements, long elapsedNanos) {
+            this.counts = counts;
+            this.statements = statements;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public long statementsSince() {
+            return counts.statements - statements;
+        }
+
+        public long elapsedNanosSince() {
+            return counts.elapsedNanos - elapsedNanos;
+        }
+
+    }
+
+}
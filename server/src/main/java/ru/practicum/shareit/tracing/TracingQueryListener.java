@@ -0,0 +1,52 @@
+package ru.practicum.shareit.tracing;
+
+import lombok.RequiredArgsConstructor;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class TracingQueryListener implements QueryExecutionListener {
+
+    private static final String SPAN_KEY = TracingQueryListener.class.getName();
+    private static final int MAX_STATEMENT_LENGTH = 2000;
+
+    private final ObjectProvider<Tracer> tracerProvider;
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (Tracer.currentSpan() == null || queryInfoList.isEmpty()) {
+            return;
+        }
+        Tracer tracer = tracerProvider.getIfAvailable();
+        if (tracer == null) {
+            return;
+        }
+        String sql = queryInfoList.get(0).getQuery().strip();
+        int firstSpace = sql.indexOf(' ');
+        Span span = tracer.startSpan(firstSpace < 0 ? sql : sql.substring(0, firstSpace).toUpperCase(),
+                SpanKind.CLIENT);
+        span.setAttribute("db.statement", sql.length() > MAX_STATEMENT_LENGTH
+                ? sql.substring(0, MAX_STATEMENT_LENGTH) : sql);
+        if (execInfo.isBatch()) {
+            span.setAttribute("db.batch_size", execInfo.getBatchSize());
+        }
+        execInfo.addCustomValue(SPAN_KEY, span);
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Span span = execInfo.getCustomValue(SPAN_KEY, Span.class);
+        if (span == null) {
+            return;
+        }
+        if (!execInfo.isSuccess() && execInfo.getThrowable() != null) {
+            span.recordError(execInfo.getThrowable());
+        }
+        tracerProvider.getObject().end(span);
+    }
+
+}
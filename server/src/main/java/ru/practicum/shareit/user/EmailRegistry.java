@@ -0,0 +1,88 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmailRegistry {
+
+    static final int WARM_UP_BATCH_SIZE = 1000;
+
+    private final UserRepository userRepository;
+    private final Map<String, Long> userIdsByEmail = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long afterId = 0;
+        List<UserDto> batch;
+        do {
+            batch = userRepository.findAllDtoByIdGreaterThan(afterId, PageRequest.of(0, WARM_UP_BATCH_SIZE));
+            for (UserDto userDto : batch) {
+                userIdsByEmail.put(User.normalizeEmail(userDto.getEmail()), userDto.getId());
+                afterId = userDto.getId();
+            }
+        } while (batch.size() == WARM_UP_BATCH_SIZE);
+        log.info("E-mail registry warmed up with {} entries.", userIdsByEmail.size());
+    }
+
+    public boolean isTaken(String email) {
+        return isTakenByOther(email, 0);
+    }
+
+    public boolean isTakenByOther(String email, long userId) {
+        String normalizedEmail = User.normalizeEmail(email);
+        if (normalizedEmail == null) {
+            return false;
+        }
+        Long knownUserId = userIdsByEmail.get(normalizedEmail);
+        if (knownUserId == null || knownUserId == userId) {
+            return false;
+        }
+        Optional<Long> actualUserId = userRepository.findIdByNormalizedEmail(normalizedEmail);
+        if (actualUserId.isEmpty()) {
+            userIdsByEmail.remove(normalizedEmail, knownUserId);
+            return false;
+        }
+        userIdsByEmail.put(normalizedEmail, actualUserId.get());
+        return actualUserId.get() != userId;
+    }
+
+    public void registerAfterCommit(long userId, String email, String previousEmail) {
+        Runnable registration = () -> {
+            if (previousEmail != null) {
+                userIdsByEmail.remove(User.normalizeEmail(previousEmail), userId);
+            }
+            userIdsByEmail.put(User.normalizeEmail(email), userId);
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    registration.run();
+                }
+            });
+        } else {
+            registration.run();
+        }
+    }
+
+    int size() {
+        return userIdsByEmail.size();
+    }
+
+}
@@ -1,9 +1,18 @@
 package ru.practicum.shareit.user;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserLookupDto;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -12,6 +21,7 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public UserDto addUser(@RequestBody UserDto userDto) {
@@ -24,8 +34,31 @@ public class UserController {
     }
 
     @GetMapping
-    public List<UserDto> getAllUsers() {
-        return userService.getAllUsers();
+    public List<UserDto> getAllUsers(@RequestParam(defaultValue = "0") long afterId,
+                                     @RequestParam(defaultValue = "1000") int size) {
+        return userService.getAllUsers(afterId, size);
+    }
+
+    @GetMapping(params = "ids")
+    public List<UserLookupDto> getUsersByIds(@RequestParam List<Long> ids) {
+        return userService.lookupUsers(ids);
+    }
+
+    @PostMapping("/lookup")
+    public List<UserLookupDto> lookupUsers(@RequestBody List<Long> ids) {
+        return userService.lookupUsers(ids);
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllUsers() {
+        StreamingResponseBody body = outputStream -> {
+            OutputStream bufferedOutputStream = new BufferedOutputStream(outputStream);
+            userService.streamAllUsers(userDto -> writeJsonLine(bufferedOutputStream, userDto));
+            bufferedOutputStream.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @GetMapping("/{userId}")
@@ -38,4 +71,13 @@ public class UserController {
         userService.deleteUserById(userId);
     }
 
+    private void writeJsonLine(OutputStream outputStream, UserDto userDto) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(userDto));
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
 }
@@ -1,7 +1,31 @@
 package ru.practicum.shareit.user;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.List;
+import java.util.Optional;
+
 public interface UserRepository extends JpaRepository<User, Long> {
+
+    @Query("select new ru.practicum.shareit.user.dto.UserDto(user.id, user.name, user.email) " +
+            "from User user " +
+            "where user.id > :afterId " +
+            "order by user.id")
+    List<UserDto> findAllDtoByIdGreaterThan(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query("select user.id from User user where user.normalizedEmail = :normalizedEmail")
+    Optional<Long> findIdByNormalizedEmail(@Param("normalizedEmail") String normalizedEmail);
+
+    @Transactional
+    @Modifying
+    @Query("delete from User user where user.id = :userId")
+    int deleteRowById(@Param("userId") long userId);
+
 }
@@ -1,8 +1,10 @@
 package ru.practicum.shareit.user;
 
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserLookupDto;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserService {
 
@@ -10,7 +12,11 @@ public interface UserService {
 
     UserDto updateUserData(UserDto userDto, long userId);
 
-    List<UserDto> getAllUsers();
+    List<UserDto> getAllUsers(long afterId, int size);
+
+    void streamAllUsers(Consumer<UserDto> consumer);
+
+    List<UserLookupDto> lookupUsers(List<Long> ids);
 
     UserDto getUserById(long userId);
 
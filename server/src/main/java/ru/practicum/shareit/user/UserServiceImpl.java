@@ -1,68 +1,184 @@
 package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.archive.BookingArchiver;
+import ru.practicum.shareit.booking.summary.BookingCounters;
+import ru.practicum.shareit.booking.summary.CounterKey;
 import ru.practicum.shareit.exception.HasNotSavedException;
-import ru.practicum.shareit.exception.NoSuchEntityException;
+import ru.practicum.shareit.exception.NoSuchUserException;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserLookupDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
+    static final int MAX_USERS_PAGE_SIZE = 1000;
+    private static final int STREAM_BATCH_SIZE = 500;
+    static final int LOOKUP_CHUNK_SIZE = 500;
+    static final int DELETE_BATCH_SIZE = 1000;
+
     private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingArchiver bookingArchiver;
+    private final BookingCounters bookingCounters;
+    private final CommentRepository commentRepository;
+    private final EmailRegistry emailRegistry;
+    private final TransactionOperations transactionOperations;
 
     @Override
     @Transactional
     public UserDto addUser(UserDto userDto) {
+        if (emailRegistry.isTaken(userDto.getEmail())) {
+            throw new HasNotSavedException("User hasn't been created, e-mail is already taken: " + userDto);
+        }
+        User user;
         try {
-            User user = userRepository.save(UserMapper.mapToUser(userDto));
-            return UserMapper.mapToUserDto(user);
+            user = userRepository.save(UserMapper.mapToUser(userDto));
         } catch (DataIntegrityViolationException e) {
             throw new HasNotSavedException("User hasn't been created: " + userDto);
         }
+        emailRegistry.registerAfterCommit(user.getId(), user.getEmail(), null);
+        return UserMapper.mapToUserDto(user);
     }
 
     @Override
     @Transactional
     public UserDto updateUserData(UserDto userDto, long userId) {
         User user = userRepository.findById(userId).orElseThrow(() ->
-                new NoSuchEntityException("No user found with id = " + userId));
+                new NoSuchUserException(userId, "No user found with id = " + userId));
+        String previousEmail = user.getEmail();
         if (userDto.getName() != null) {
             user.setName(userDto.getName());
         }
         if (userDto.getEmail() != null) {
+            if (emailRegistry.isTakenByOther(userDto.getEmail(), userId)) {
+                throw new HasNotSavedException("User with id = " + userId
+                        + " hasn't been updated, e-mail is already taken: " + userDto);
+            }
             user.setEmail(userDto.getEmail());
         }
         try {
-            return UserMapper.mapToUserDto(userRepository.save(user));
+            user = userRepository.save(user);
         } catch (DataIntegrityViolationException e) {
             throw new HasNotSavedException("User with id = " + userId + " hasn't been updated: " + userDto);
         }
+        if (!user.getEmail().equals(previousEmail)) {
+            emailRegistry.registerAfterCommit(userId, user.getEmail(), previousEmail);
+        }
+        return UserMapper.mapToUserDto(user);
+    }
+
+    @Override
+    public List<UserDto> getAllUsers(long afterId, int size) {
+        return userRepository.findAllDtoByIdGreaterThan(afterId,
+                PageRequest.of(0, Math.min(size, MAX_USERS_PAGE_SIZE)));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamAllUsers(Consumer<UserDto> consumer) {
+        long afterId = 0;
+        List<UserDto> batch;
+        do {
+            batch = userRepository.findAllDtoByIdGreaterThan(afterId, PageRequest.of(0, STREAM_BATCH_SIZE));
+            batch.forEach(consumer);
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == STREAM_BATCH_SIZE);
     }
 
     @Override
-    public List<UserDto> getAllUsers() {
-        return UserMapper.mapToUserDto(userRepository.findAll());
+    public List<UserLookupDto> lookupUsers(List<Long> ids) {
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        Map<Long, UserDto> usersById = new HashMap<>();
+        for (int from = 0; from < distinctIds.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, distinctIds.size()));
+            userRepository.findAllById(chunk)
+                    .forEach(user -> usersById.put(user.getId(), UserMapper.mapToUserDto(user)));
+        }
+        return ids.stream()
+                .map(id -> new UserLookupDto(id, usersById.containsKey(id), usersById.get(id)))
+                .collect(Collectors.toList());
     }
 
     @Override
     public UserDto getUserById(long userId) {
         return UserMapper.mapToUserDto(userRepository.findById(userId).orElseThrow(() ->
-                new NoSuchEntityException("User with id=" + userId + " doesn't exist.")));
+                new NoSuchUserException(userId, "User with id=" + userId + " doesn't exist.")));
     }
 
+    // Every step deletes whatever the user still owns in bounded batches, each committed on its own, and the user
+    // row goes last. A failure part way leaves the user in place with fewer dependent rows, and deleting again
+    // picks up where the previous attempt stopped.
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void deleteUserById(long userId) {
-        userRepository.deleteById(userId);
+        if (!userRepository.existsById(userId)) {
+            throw new NoSuchUserException(userId, "User with id=" + userId + " doesn't exist.");
+        }
+        deleteInBatches(batch -> commentRepository.findIdsByAuthorId(userId, batch), this::deleteAuthoredComments);
+        deleteInBatches(batch -> commentRepository.findIdsByItemOwnerId(userId, batch), commentRepository::deleteByIds);
+        Set<CounterKey> relatedCounters = bookingCounters.findRelatedTo(userId);
+        deleteInBatches(batch -> bookingRepository.findIdsByBookerId(userId, batch), bookingRepository::deleteByIds);
+        deleteInBatches(batch -> bookingRepository.findIdsByItemOwnerId(userId, batch), bookingRepository::deleteByIds);
+        bookingArchiver.deleteByUserId(userId);
+        bookingCounters.invalidate(relatedCounters);
+        deleteInBatches(batch -> itemRepository.findIdsByRequestRequesterId(userId, batch),
+                itemRepository::detachFromRequestByIds);
+        deleteInBatches(batch -> itemRequestRepository.findIdsByRequesterId(userId, batch),
+                itemRequestRepository::deleteByIds);
+        deleteInBatches(batch -> itemRepository.findIdsByOwnerId(userId, batch), itemRepository::deleteByIds);
+        userRepository.deleteRowById(userId);
+        log.info("User with id={} has been deleted along with dependent rows.", userId);
+    }
+
+    private void deleteAuthoredComments(List<Long> commentIds) {
+        transactionOperations.executeWithoutResult(status -> {
+            List<Long> itemIds = commentRepository.findItemIdsByIds(commentIds);
+            commentRepository.deleteByIds(commentIds);
+            itemRepository.refreshCommentStatistics(itemIds);
+        });
+    }
+
+    private static void deleteInBatches(Function<Pageable, List<Long>> idsLoader, Consumer<List<Long>> batchAction) {
+        Pageable batch = PageRequest.of(0, DELETE_BATCH_SIZE);
+        List<Long> ids;
+        do {
+            ids = idsLoader.apply(batch);
+            if (!ids.isEmpty()) {
+                batchAction.accept(ids);
+            }
+        } while (ids.size() == DELETE_BATCH_SIZE);
     }
 
 }
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserLookupDto {
+
+    private long id;
+
+    private boolean found;
+
+    private UserDto user;
+
+}
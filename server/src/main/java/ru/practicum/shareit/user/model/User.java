@@ -3,6 +3,7 @@ package ru.practicum.shareit.user.model;
 import lombok.*;
 
 import javax.persistence.*;
+import java.util.Locale;
 
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,4 +24,18 @@ public class User {
     @Column(name = "email", nullable = false)
     private String email;
 
+    public static String normalizeEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @Access(AccessType.PROPERTY)
+    @Column(name = "normalized_email", nullable = false)
+    public String getNormalizedEmail() {
+        return normalizeEmail(email);
+    }
+
+    protected void setNormalizedEmail(String normalizedEmail) {
+        // Derived from email on every flush, the stored value is only used for lookups.
+    }
+
 }
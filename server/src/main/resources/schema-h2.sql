@@ -0,0 +1,106 @@
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    email VARCHAR(512) NOT NULL UNIQUE,
+    normalized_email VARCHAR(512) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS requests (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY NOT NULL,
+    description VARCHAR(512) NOT NULL,
+    requester_id BIGINT NOT NULL,
+    created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    CONSTRAINT fk_requests_to_users FOREIGN KEY(requester_id) REFERENCES users(id)
+);
+
+CREATE TABLE IF NOT EXISTS items (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    description VARCHAR(512) NOT NULL,
+    is_available BOOLEAN DEFAULT TRUE,
+    owner_id BIGINT,
+    request_id BIGINT,
+    comment_count BIGINT NOT NULL DEFAULT 0,
+    last_comment_created TIMESTAMP WITHOUT TIME ZONE,
+    CONSTRAINT fk_items_to_users FOREIGN KEY(owner_id) REFERENCES users(id),
+    CONSTRAINT fk_items_to_requests FOREIGN KEY(request_id) REFERENCES requests(id)
+);
+
+CREATE TABLE IF NOT EXISTS bookings (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY NOT NULL,
+    start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    end_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    item_id BIGINT NOT NULL,
+    booker_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    CONSTRAINT fk_bookings_to_items FOREIGN KEY(item_id) REFERENCES items(id),
+    CONSTRAINT fk_bookings_to_users FOREIGN KEY(booker_id) REFERENCES users(id)
+);
+
+CREATE TABLE IF NOT EXISTS bookings_archive (
+    id BIGINT PRIMARY KEY NOT NULL,
+    start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    end_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    item_id BIGINT NOT NULL,
+    booker_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL
+);
+
+CREATE OR REPLACE VIEW bookings_history AS
+    SELECT id, start_date, end_date, item_id, booker_id, status FROM bookings
+    UNION ALL
+    SELECT id, start_date, end_date, item_id, booker_id, status FROM bookings_archive;
+
+CREATE TABLE IF NOT EXISTS booking_counters (
+    user_id BIGINT NOT NULL,
+    role VARCHAR(10) NOT NULL,
+    all_count BIGINT NOT NULL DEFAULT 0,
+    current_count BIGINT NOT NULL DEFAULT 0,
+    past_count BIGINT NOT NULL DEFAULT 0,
+    future_count BIGINT NOT NULL DEFAULT 0,
+    waiting_count BIGINT NOT NULL DEFAULT 0,
+    rejected_count BIGINT NOT NULL DEFAULT 0,
+    complete BOOLEAN NOT NULL DEFAULT FALSE,
+    CONSTRAINT pk_booking_counters PRIMARY KEY (user_id, role)
+);
+
+CREATE TABLE IF NOT EXISTS booking_counters_rollover (
+    id INT PRIMARY KEY NOT NULL,
+    rolled_over_to TIMESTAMP WITHOUT TIME ZONE NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS comments (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY NOT NULL,
+    text VARCHAR(512) NOT NULL,
+    item_id BIGINT NOT NULL,
+    author_id BIGINT NOT NULL,
+    created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    CONSTRAINT fk_comments_to_items FOREIGN KEY(item_id) REFERENCES items(id),
+    CONSTRAINT fk_comments_to_users FOREIGN KEY(author_id) REFERENCES users(id)
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_users_normalized_email ON users (normalized_email);
+
+CREATE INDEX IF NOT EXISTS idx_items_owner ON items (owner_id);
+
+CREATE INDEX IF NOT EXISTS idx_comments_item_created ON comments (item_id, created DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_items_comment_count ON items (comment_count DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_requests_created ON requests (created DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_date DESC);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start ON bookings (item_id, start_date DESC);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_end ON bookings (end_date);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_status_start ON bookings (booker_id, status, start_date DESC);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_start ON bookings (item_id, status, start_date DESC);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_start ON bookings (start_date);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_archive_booker_start ON bookings_archive (booker_id, start_date DESC);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_archive_item_start ON bookings_archive (item_id, start_date DESC);
@@ -0,0 +1,173 @@
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    email VARCHAR(512) NOT NULL UNIQUE,
+    normalized_email VARCHAR(512) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS requests (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY NOT NULL,
+    description VARCHAR(512) NOT NULL,
+    requester_id BIGINT NOT NULL,
+    created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    CONSTRAINT fk_requests_to_users FOREIGN KEY(requester_id) REFERENCES users(id)
+);
+
+CREATE TABLE IF NOT EXISTS items (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    description VARCHAR(512) NOT NULL,
+    is_available BOOLEAN DEFAULT TRUE,
+    owner_id BIGINT,
+    request_id BIGINT,
+    comment_count BIGINT NOT NULL DEFAULT 0,
+    last_comment_created TIMESTAMP WITHOUT TIME ZONE,
+    CONSTRAINT fk_items_to_users FOREIGN KEY(owner_id) REFERENCES users(id),
+    CONSTRAINT fk_items_to_requests FOREIGN KEY(request_id) REFERENCES requests(id)
+);
+
+-- Databases created before bookings was partitioned keep their rows: the old table is renamed here
+-- and copied into the partitioned one below.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_class c WHERE c.oid = to_regclass('bookings') AND c.relkind = 'r') THEN
+        RAISE WARNING 'Table bookings is not partitioned, migrating it to a partitioned table';
+        DROP VIEW IF EXISTS bookings_history;
+        ALTER TABLE bookings RENAME TO bookings_unpartitioned;
+    END IF;
+END
+$$;
+
+CREATE TABLE IF NOT EXISTS bookings (
+    id BIGSERIAL NOT NULL,
+    start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    end_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    item_id BIGINT NOT NULL,
+    booker_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    CONSTRAINT pk_bookings PRIMARY KEY (id, end_date),
+    CONSTRAINT fk_bookings_to_items FOREIGN KEY(item_id) REFERENCES items(id),
+    CONSTRAINT fk_bookings_to_users FOREIGN KEY(booker_id) REFERENCES users(id)
+) PARTITION BY RANGE (end_date);
+
+CREATE TABLE IF NOT EXISTS bookings_default PARTITION OF bookings DEFAULT;
+
+DO $$
+BEGIN
+    IF to_regclass('bookings_unpartitioned') IS NOT NULL THEN
+        INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status)
+            SELECT id, start_date, end_date, item_id, booker_id, status FROM bookings_unpartitioned;
+        PERFORM setval(pg_get_serial_sequence('bookings', 'id'),
+            (SELECT coalesce(max(id), 0) + 1 FROM bookings), false);
+        DROP TABLE bookings_unpartitioned;
+        RAISE WARNING 'Moved existing bookings into the default partition of bookings';
+    END IF;
+END
+$$;
+
+CREATE TABLE IF NOT EXISTS bookings_archive (
+    id BIGINT PRIMARY KEY NOT NULL,
+    start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    end_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    item_id BIGINT NOT NULL,
+    booker_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL
+);
+
+CREATE OR REPLACE VIEW bookings_history AS
+    SELECT id, start_date, end_date, item_id, booker_id, status FROM bookings
+    UNION ALL
+    SELECT id, start_date, end_date, item_id, booker_id, status FROM bookings_archive;
+
+CREATE TABLE IF NOT EXISTS booking_counters (
+    user_id BIGINT NOT NULL,
+    role VARCHAR(10) NOT NULL,
+    all_count BIGINT NOT NULL DEFAULT 0,
+    current_count BIGINT NOT NULL DEFAULT 0,
+    past_count BIGINT NOT NULL DEFAULT 0,
+    future_count BIGINT NOT NULL DEFAULT 0,
+    waiting_count BIGINT NOT NULL DEFAULT 0,
+    rejected_count BIGINT NOT NULL DEFAULT 0,
+    complete BOOLEAN NOT NULL DEFAULT FALSE,
+    CONSTRAINT pk_booking_counters PRIMARY KEY (user_id, role)
+);
+
+CREATE TABLE IF NOT EXISTS booking_counters_rollover (
+    id INT PRIMARY KEY NOT NULL,
+    rolled_over_to TIMESTAMP WITHOUT TIME ZONE NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS comments (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY NOT NULL,
+    text VARCHAR(512) NOT NULL,
+    item_id BIGINT NOT NULL,
+    author_id BIGINT NOT NULL,
+    created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    CONSTRAINT fk_comments_to_items FOREIGN KEY(item_id) REFERENCES items(id),
+    CONSTRAINT fk_comments_to_users FOREIGN KEY(author_id) REFERENCES users(id)
+);
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM information_schema.columns
+                   WHERE table_schema = current_schema() AND table_name = 'items'
+                   AND column_name = 'comment_count') THEN
+        ALTER TABLE items ADD COLUMN IF NOT EXISTS comment_count BIGINT NOT NULL DEFAULT 0;
+        ALTER TABLE items ADD COLUMN IF NOT EXISTS last_comment_created TIMESTAMP WITHOUT TIME ZONE;
+        UPDATE items i SET comment_count = c.comment_count, last_comment_created = c.last_comment_created
+            FROM (SELECT item_id, count(*) AS comment_count, max(created) AS last_comment_created
+                  FROM comments GROUP BY item_id) c
+            WHERE c.item_id = i.id;
+    END IF;
+END
+$$;
+
+DO $$
+DECLARE
+    duplicates TEXT;
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM information_schema.columns
+                   WHERE table_schema = current_schema() AND table_name = 'users'
+                   AND column_name = 'normalized_email') THEN
+        -- Emails differing only in case or surrounding spaces can't share the unique index, refuse to guess a winner.
+        SELECT string_agg(format('%s (user ids %s)', normalized, ids), '; ' ORDER BY normalized) INTO duplicates
+            FROM (SELECT lower(trim(email)) AS normalized, string_agg(id::TEXT, ', ' ORDER BY id) AS ids
+                  FROM users GROUP BY lower(trim(email)) HAVING count(*) > 1) d;
+        IF duplicates IS NOT NULL THEN
+            RAISE EXCEPTION 'Users with duplicate normalized emails must be merged or renamed before upgrading: %',
+                duplicates;
+        END IF;
+        ALTER TABLE users ADD COLUMN IF NOT EXISTS normalized_email VARCHAR(512);
+        UPDATE users SET normalized_email = lower(trim(email));
+        ALTER TABLE users ALTER COLUMN normalized_email SET NOT NULL;
+    END IF;
+END
+$$;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_users_normalized_email ON users (normalized_email);
+
+CREATE INDEX IF NOT EXISTS idx_items_owner ON items (owner_id);
+
+CREATE INDEX IF NOT EXISTS idx_comments_item_created ON comments (item_id, created DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_items_comment_count ON items (comment_count DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_requests_created ON requests (created DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_date DESC);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start ON bookings (item_id, start_date DESC);
+
+DROP INDEX IF EXISTS idx_bookings_waiting_booker;
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_status_start ON bookings (booker_id, status, start_date DESC);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_start ON bookings (item_id, status, start_date DESC);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_start ON bookings (start_date);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_end ON bookings (end_date);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_archive_booker_start ON bookings_archive (booker_id, start_date DESC);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_archive_item_start ON bookings_archive (item_id, start_date DESC);
@@ -1,45 +0,0 @@
-CREATE TABLE IF NOT EXISTS users (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY NOT NULL,
-    name VARCHAR(255) NOT NULL,
-    email VARCHAR(512) NOT NULL UNIQUE
-);
-
-CREATE TABLE IF NOT EXISTS requests (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY NOT NULL,
-    description VARCHAR(512) NOT NULL,
-    requester_id BIGINT NOT NULL,
-    created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
-    CONSTRAINT fk_requests_to_users FOREIGN KEY(requester_id) REFERENCES users(id)
-);
-
-CREATE TABLE IF NOT EXISTS items (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY NOT NULL,
-    name VARCHAR(255) NOT NULL,
-    description VARCHAR(512) NOT NULL,
-    is_available BOOLEAN DEFAULT TRUE,
-    owner_id BIGINT,
-    request_id BIGINT,
-    CONSTRAINT fk_items_to_users FOREIGN KEY(owner_id) REFERENCES users(id),
-    CONSTRAINT fk_items_to_requests FOREIGN KEY(request_id) REFERENCES requests(id)
-);
-
-CREATE TABLE IF NOT EXISTS bookings (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY NOT NULL,
-    start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
-    end_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
-    item_id BIGINT NOT NULL,
-    booker_id BIGINT NOT NULL,
-    status VARCHAR(20) NOT NULL,
-    CONSTRAINT fk_bookings_to_items FOREIGN KEY(item_id) REFERENCES items(id),
-    CONSTRAINT fk_bookings_to_users FOREIGN KEY(booker_id) REFERENCES users(id)
-);
-
-CREATE TABLE IF NOT EXISTS comments (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY NOT NULL,
-    text VARCHAR(512) NOT NULL,
-    item_id BIGINT NOT NULL,
-    author_id BIGINT NOT NULL,
-    created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
-    CONSTRAINT fk_comments_to_items FOREIGN KEY(item_id) REFERENCES items(id),
-    CONSTRAINT fk_comments_to_users FOREIGN KEY(author_id) REFERENCES users(id)
-);
\ No newline at end of file
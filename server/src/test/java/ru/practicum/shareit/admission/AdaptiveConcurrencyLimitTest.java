@@ -0,0 +1,93 @@
+package ru.practicum.shareit.admission;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+public class AdaptiveConcurrencyLimitTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofSeconds(1).toNanos();
+
+    private AdmissionProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AdmissionProperties();
+        properties.setInitialLimit(10);
+        properties.setMinLimit(2);
+        properties.setMaxLimit(12);
+        properties.setLatencyThreshold(Duration.ofMillis(500));
+        properties.setBackoffRatio(0.5);
+        properties.setNormalPriorityShare(0.8);
+        properties.setLowPriorityShare(0.5);
+    }
+
+    @Test
+    void tryAcquire_whenLimitReached_thenLowerPrioritiesShedFirst() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(properties);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limit.tryAcquire(RequestPriority.LOW), equalTo(true));
+        }
+
+        assertThat(limit.tryAcquire(RequestPriority.LOW), equalTo(false));
+        assertThat(limit.tryAcquire(RequestPriority.NORMAL), equalTo(true));
+        assertThat(limit.tryAcquire(RequestPriority.NORMAL), equalTo(true));
+        assertThat(limit.tryAcquire(RequestPriority.NORMAL), equalTo(true));
+        assertThat(limit.tryAcquire(RequestPriority.NORMAL), equalTo(false));
+        assertThat(limit.tryAcquire(RequestPriority.HIGH), equalTo(true));
+        assertThat(limit.tryAcquire(RequestPriority.HIGH), equalTo(true));
+        assertThat(limit.tryAcquire(RequestPriority.HIGH), equalTo(false));
+        assertThat(limit.getInFlight(), equalTo(10));
+    }
+
+    @Test
+    void release_whenLatencyAboveThreshold_thenLimitDecreasedDownToMinimum() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(properties);
+
+        limit.tryAcquire(RequestPriority.HIGH);
+        limit.release(SLOW);
+        assertThat(limit.getLimit(), equalTo(5));
+
+        for (int i = 0; i < 5; i++) {
+            limit.tryAcquire(RequestPriority.HIGH);
+            limit.release(SLOW);
+        }
+        assertThat(limit.getLimit(), equalTo(2));
+        assertThat(limit.getInFlight(), equalTo(0));
+    }
+
+    @Test
+    void release_whenFastAndBusy_thenLimitGrowsUpToMaximum() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(properties);
+
+        for (int i = 0; i < 1000; i++) {
+            for (int j = 0; j < 6; j++) {
+                limit.tryAcquire(RequestPriority.HIGH);
+            }
+            for (int j = 0; j < 6; j++) {
+                limit.release(FAST);
+            }
+        }
+
+        assertThat(limit.getLimit(), equalTo(12));
+    }
+
+    @Test
+    void release_whenFastButIdle_thenLimitUnchanged() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(properties);
+
+        for (int i = 0; i < 100; i++) {
+            limit.tryAcquire(RequestPriority.NORMAL);
+            limit.release(FAST);
+        }
+
+        assertThat(limit.getLimit(), equalTo(10));
+    }
+
+}
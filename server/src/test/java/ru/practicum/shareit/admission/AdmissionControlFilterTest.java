@@ -0,0 +1,78 @@
+package ru.practicum.shareit.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+
+public class AdmissionControlFilterTest {
+
+    @Test
+    void classify_whenBookingWrite_thenHighPriority() {
+        assertThat(AdmissionControlFilter.classify(new MockHttpServletRequest("POST", "/bookings")),
+                equalTo(RequestPriority.HIGH));
+        assertThat(AdmissionControlFilter.classify(new MockHttpServletRequest("PATCH", "/bookings/1")),
+                equalTo(RequestPriority.HIGH));
+        assertThat(AdmissionControlFilter.classify(new MockHttpServletRequest("GET", "/bookings/1")),
+                equalTo(RequestPriority.NORMAL));
+        assertThat(AdmissionControlFilter.classify(new MockHttpServletRequest("GET", "/items/search")),
+                equalTo(RequestPriority.LOW));
+    }
+
+    @Test
+    void doFilter_whenLimitExhausted_thenServiceUnavailableReturned() throws Exception {
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.setInitialLimit(1);
+        properties.setLowPriorityShare(0.5);
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(properties);
+        AdmissionControlFilter filter = new AdmissionControlFilter(limit, new ObjectMapper());
+        limit.tryAcquire(RequestPriority.HIGH);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/items/search"), response, chain);
+
+        assertThat(response.getStatus(), equalTo(503));
+        assertThat(response.getHeader("Retry-After"), equalTo("1"));
+        assertThat(response.getHeader(AdmissionControlFilter.LOAD_SHED_HEADER), equalTo("true"));
+        assertThat(response.getContentAsString(), containsString("Server is overloaded."));
+        assertThat(chain.getRequest() == null, equalTo(true));
+    }
+
+    @Test
+    void doFilter_whenAdmitted_thenChainInvokedAndSlotReleased() throws Exception {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(new AdmissionProperties());
+        AdmissionControlFilter filter = new AdmissionControlFilter(limit, new ObjectMapper());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/bookings"), response, chain);
+
+        assertThat(response.getStatus(), equalTo(200));
+        assertThat(chain.getRequest() != null, equalTo(true));
+        assertThat(limit.getInFlight(), equalTo(0));
+    }
+
+    @Test
+    void doFilter_whenActuatorRequested_thenNeverShed() throws Exception {
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.setInitialLimit(1);
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(properties);
+        AdmissionControlFilter filter = new AdmissionControlFilter(limit, new ObjectMapper());
+        limit.tryAcquire(RequestPriority.HIGH);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), response, chain);
+
+        assertThat(response.getStatus(), equalTo(200));
+        assertThat(chain.getRequest() != null, equalTo(true));
+        assertThat(limit.getInFlight(), equalTo(1));
+    }
+
+}
@@ -8,13 +8,16 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 import ru.practicum.shareit.booking.dto.NewBookingDto;
 import ru.practicum.shareit.booking.exception.*;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.query.BookingFilter;
 import ru.practicum.shareit.exception.HasNotSavedException;
 import ru.practicum.shareit.exception.NoSuchEntityException;
 import ru.practicum.shareit.item.dto.ItemDtoIdName;
 import ru.practicum.shareit.item.exception.ItemIsNotAvailableException;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.user.dto.UserDtoId;
 
 import java.nio.charset.StandardCharsets;
@@ -337,7 +340,8 @@ public class BookingControllerTest {
                 .booker(UserDtoId.builder().id(bookerId).build())
                 .build();
 
-        when(bookingService.getAllBookingsByUser(bookerId, state, from, size)).thenReturn(List.of(expectedBookingDto));
+        when(bookingService.getAllBookingsByUser(
+                bookerId, state, BookingFilter.NONE, from, size)).thenReturn(List.of(expectedBookingDto));
 
         mvc.perform(get("/bookings?state={state}&from={from}&size={size}", state, from, size)
                     .header("X-Sharer-User-Id", bookerId)
@@ -353,7 +357,35 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$[0].item.name", is(expectedBookingDto.getItem().getName())))
                 .andExpect(jsonPath("$[0].booker.id", is(expectedBookingDto.getBooker().getId()), Long.class));
 
-        verify(bookingService, times(1)).getAllBookingsByUser(bookerId, state, from, size);
+        verify(bookingService, times(1)).getAllBookingsByUser(bookerId, state, BookingFilter.NONE, from, size);
+    }
+
+    @Test
+    void getAllBookingsByCurrentUser_whenFilterGivenTest() throws Exception {
+        long bookerId = 2L;
+        LocalDateTime rangeStart = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime rangeEnd = LocalDateTime.of(2030, 2, 1, 0, 0);
+        BookingFilter expectedFilter = BookingFilter.builder()
+                .before(new KeysetCursor(LocalDateTime.of(2030, 1, 15, 12, 0), 7L))
+                .itemId(3L)
+                .rangeStart(rangeStart)
+                .rangeEnd(rangeEnd)
+                .build();
+
+        when(bookingService.getAllBookingsByUser(bookerId, "CANCELED", expectedFilter, 0, 10))
+                .thenReturn(List.of());
+
+        mvc.perform(get("/bookings")
+                        .param("state", "CANCELED")
+                        .param("before", "2030-01-15T12:00:00,7")
+                        .param("itemId", "3")
+                        .param("rangeStart", rangeStart.toString())
+                        .param("rangeEnd", rangeEnd.toString())
+                        .header("X-Sharer-User-Id", bookerId)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        verify(bookingService, times(1)).getAllBookingsByUser(bookerId, "CANCELED", expectedFilter, 0, 10);
     }
 
     @Test
@@ -363,7 +395,8 @@ public class BookingControllerTest {
         long from = 0;
         long size = 0;
 
-        when(bookingService.getAllBookingsByUser(anyLong(), anyString(), anyLong(), anyLong()))
+        when(bookingService.getAllBookingsByUser(
+                anyLong(), anyString(), any(BookingFilter.class), anyLong(), anyLong()))
                 .thenThrow(new InvalidStateException("Error"));
 
         mvc.perform(get("/bookings?state={state}&from={from}&size={size}", state, from, size)
@@ -379,7 +412,8 @@ public class BookingControllerTest {
         long from = 0;
         long size = 0;
 
-        when(bookingService.getAllBookingsByUser(anyLong(), anyString(), anyLong(), anyLong()))
+        when(bookingService.getAllBookingsByUser(
+                anyLong(), anyString(), any(BookingFilter.class), anyLong(), anyLong()))
                 .thenThrow(new NoSuchEntityException("Error"));
 
         mvc.perform(get("/bookings?state={state}&from={from}&size={size}", state, from, size)
@@ -403,7 +437,7 @@ public class BookingControllerTest {
                 .booker(UserDtoId.builder().id(2L).build())
                 .build();
 
-        when(bookingService.getAllBookingsAllItemsByOwner(ownerId, state, from, size))
+        when(bookingService.getAllBookingsAllItemsByOwner(ownerId, state, BookingFilter.NONE, from, size))
                 .thenReturn(List.of(expectedBookingDto));
 
         mvc.perform(get("/bookings/owner?state={state}&from={from}&size={size}", state, from, size)
@@ -420,7 +454,7 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$[0].item.name", is(expectedBookingDto.getItem().getName())))
                 .andExpect(jsonPath("$[0].booker.id", is(expectedBookingDto.getBooker().getId()), Long.class));
 
-        verify(bookingService, times(1)).getAllBookingsAllItemsByOwner(ownerId, state, from, size);
+        verify(bookingService, times(1)).getAllBookingsAllItemsByOwner(ownerId, state, BookingFilter.NONE, from, size);
     }
 
     @Test
@@ -430,7 +464,8 @@ public class BookingControllerTest {
         long from = 0;
         long size = 0;
 
-        when(bookingService.getAllBookingsAllItemsByOwner(anyLong(), anyString(), anyLong(), anyLong()))
+        when(bookingService.getAllBookingsAllItemsByOwner(
+                anyLong(), anyString(), any(BookingFilter.class), anyLong(), anyLong()))
                 .thenThrow(new InvalidStateException("Error"));
 
         mvc.perform(get("/bookings/owner?state={state}&from={from}&size={size}", state, from, size)
@@ -446,7 +481,8 @@ public class BookingControllerTest {
         long from = 0;
         long size = 0;
 
-        when(bookingService.getAllBookingsAllItemsByOwner(anyLong(), anyString(), anyLong(), anyLong()))
+        when(bookingService.getAllBookingsAllItemsByOwner(
+                anyLong(), anyString(), any(BookingFilter.class), anyLong(), anyLong()))
                 .thenThrow(new NoSuchEntityException("Error"));
 
         mvc.perform(get("/bookings/owner?state={state}&from={from}&size={size}", state, from, size)
@@ -455,4 +491,54 @@ public class BookingControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void getBookingSummaryByCurrentUserTest() throws Exception {
+        long bookerId = 2L;
+        BookingSummaryDto expectedSummary = BookingSummaryDto.builder()
+                .all(4).current(1).past(1).future(2).waiting(1).rejected(1).build();
+
+        when(bookingService.getBookingSummaryByUser(bookerId)).thenReturn(expectedSummary);
+
+        mvc.perform(get("/bookings/summary")
+                        .header("X-Sharer-User-Id", bookerId)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.all", is(4)))
+                .andExpect(jsonPath("$.current", is(1)))
+                .andExpect(jsonPath("$.past", is(1)))
+                .andExpect(jsonPath("$.future", is(2)))
+                .andExpect(jsonPath("$.waiting", is(1)))
+                .andExpect(jsonPath("$.rejected", is(1)));
+
+        verify(bookingService, times(1)).getBookingSummaryByUser(bookerId);
+    }
+
+    @Test
+    void getBookingSummaryByOwnerTest() throws Exception {
+        long ownerId = 1L;
+        BookingSummaryDto expectedSummary = BookingSummaryDto.builder().all(2).future(2).waiting(2).build();
+
+        when(bookingService.getBookingSummaryByOwner(ownerId)).thenReturn(expectedSummary);
+
+        mvc.perform(get("/bookings/owner/summary")
+                        .header("X-Sharer-User-Id", ownerId)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.all", is(2)))
+                .andExpect(jsonPath("$.future", is(2)))
+                .andExpect(jsonPath("$.waiting", is(2)));
+
+        verify(bookingService, times(1)).getBookingSummaryByOwner(ownerId);
+    }
+
+    @Test
+    void getBookingSummaryByCurrentUser_NoSuchUserExceptionTest() throws Exception {
+        when(bookingService.getBookingSummaryByUser(anyLong())).thenThrow(new NoSuchEntityException("Error"));
+
+        mvc.perform(get("/bookings/summary")
+                        .header("X-Sharer-User-Id", 1L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+    }
+
 }
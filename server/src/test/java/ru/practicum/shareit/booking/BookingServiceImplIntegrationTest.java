@@ -10,6 +10,7 @@ import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.NewBookingDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.query.BookingFilter;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.dto.ItemDtoIdName;
 import ru.practicum.shareit.item.model.Item;
@@ -200,7 +201,8 @@ public class BookingServiceImplIntegrationTest {
                 .booker(UserDtoId.builder().id(user2.getId()).build())
                 .build();
 
-        List<BookingDto> actualList = bookingService.getAllBookingsByUser(user2.getId(), state, from, size);
+        List<BookingDto> actualList = bookingService.getAllBookingsByUser(
+                user2.getId(), state, BookingFilter.NONE, from, size);
 
         assertThat(actualList, equalTo(List.of(expectedBookingDto)));
     }
@@ -219,7 +221,8 @@ public class BookingServiceImplIntegrationTest {
                 .booker(UserDtoId.builder().id(user2.getId()).build())
                 .build();
 
-        List<BookingDto> actualList = bookingService.getAllBookingsByUser(user2.getId(), state, from, size);
+        List<BookingDto> actualList = bookingService.getAllBookingsByUser(
+                user2.getId(), state, BookingFilter.NONE, from, size);
 
         assertThat(actualList, equalTo(List.of(expectedBookingDto)));
     }
@@ -242,7 +245,8 @@ public class BookingServiceImplIntegrationTest {
                 .booker(UserDtoId.builder().id(user2.getId()).build())
                 .build();
 
-        List<BookingDto> actualList = bookingService.getAllBookingsByUser(user2.getId(), state, from, size);
+        List<BookingDto> actualList = bookingService.getAllBookingsByUser(
+                user2.getId(), state, BookingFilter.NONE, from, size);
 
         assertThat(actualList, equalTo(List.of(expectedBookingDto)));
     }
@@ -265,7 +269,8 @@ public class BookingServiceImplIntegrationTest {
                 .booker(UserDtoId.builder().id(user2.getId()).build())
                 .build();
 
-        List<BookingDto> actualList = bookingService.getAllBookingsByUser(user2.getId(), state, from, size);
+        List<BookingDto> actualList = bookingService.getAllBookingsByUser(
+                user2.getId(), state, BookingFilter.NONE, from, size);
 
         assertThat(actualList, equalTo(List.of(expectedBookingDto)));
     }
@@ -288,7 +293,8 @@ public class BookingServiceImplIntegrationTest {
                 .booker(UserDtoId.builder().id(user2.getId()).build())
                 .build();
 
-        List<BookingDto> actualList = bookingService.getAllBookingsByUser(user2.getId(), state, from, size);
+        List<BookingDto> actualList = bookingService.getAllBookingsByUser(
+                user2.getId(), state, BookingFilter.NONE, from, size);
 
         assertThat(actualList, equalTo(List.of(expectedBookingDto)));
     }
@@ -311,7 +317,8 @@ public class BookingServiceImplIntegrationTest {
                 .booker(UserDtoId.builder().id(user2.getId()).build())
                 .build();
 
-        List<BookingDto> actualList = bookingService.getAllBookingsByUser(user2.getId(), state, from, size);
+        List<BookingDto> actualList = bookingService.getAllBookingsByUser(
+                user2.getId(), state, BookingFilter.NONE, from, size);
 
         assertThat(actualList, equalTo(List.of(expectedBookingDto)));
     }
@@ -323,7 +330,7 @@ public class BookingServiceImplIntegrationTest {
 //        long size = 10;
 //
 //        assertThrows(ConstraintViolationException.class,
-//                () -> bookingService.getAllBookingsByUser(user2.getId(), state, from, size));
+//                () -> bookingService.getAllBookingsByUser(user2.getId(), state, BookingFilter.NONE, from, size));
 //    }
 
 //    @Test
@@ -333,7 +340,7 @@ public class BookingServiceImplIntegrationTest {
 //        long size = -10;
 //
 //        assertThrows(ConstraintViolationException.class,
-//                () -> bookingService.getAllBookingsByUser(user2.getId(), state, from, size));
+//                () -> bookingService.getAllBookingsByUser(user2.getId(), state, BookingFilter.NONE, from, size));
 //    }
 
     @Test
@@ -358,7 +365,8 @@ public class BookingServiceImplIntegrationTest {
                 .booker(UserDtoId.builder().id(user3.getId()).build())
                 .build();
 
-        List<BookingDto> actualList = bookingService.getAllBookingsAllItemsByOwner(user1.getId(), state, from, size);
+        List<BookingDto> actualList = bookingService.getAllBookingsAllItemsByOwner(
+                user1.getId(), state, BookingFilter.NONE, from, size);
 
         assertThat(actualList, equalTo(List.of(expectedBookingDto2, expectedBookingDto1)));
     }
@@ -377,7 +385,8 @@ public class BookingServiceImplIntegrationTest {
                 .booker(UserDtoId.builder().id(user2.getId()).build())
                 .build();
 
-        List<BookingDto> actualList = bookingService.getAllBookingsAllItemsByOwner(user1.getId(), state, from, size);
+        List<BookingDto> actualList = bookingService.getAllBookingsAllItemsByOwner(
+                user1.getId(), state, BookingFilter.NONE, from, size);
 
         assertThat(actualList, equalTo(List.of(expectedBookingDto)));
     }
@@ -396,7 +405,8 @@ public class BookingServiceImplIntegrationTest {
                 .booker(UserDtoId.builder().id(user3.getId()).build())
                 .build();
 
-        List<BookingDto> actualList = bookingService.getAllBookingsAllItemsByOwner(user1.getId(), state, from, size);
+        List<BookingDto> actualList = bookingService.getAllBookingsAllItemsByOwner(
+                user1.getId(), state, BookingFilter.NONE, from, size);
 
         assertThat(actualList, equalTo(List.of(expectedBookingDto)));
     }
@@ -419,7 +429,8 @@ public class BookingServiceImplIntegrationTest {
                 .booker(UserDtoId.builder().id(user2.getId()).build())
                 .build();
 
-        List<BookingDto> actualList = bookingService.getAllBookingsAllItemsByOwner(user1.getId(), state, from, size);
+        List<BookingDto> actualList = bookingService.getAllBookingsAllItemsByOwner(
+                user1.getId(), state, BookingFilter.NONE, from, size);
 
         assertThat(actualList, equalTo(List.of(expectedBookingDto)));
     }
@@ -438,7 +449,8 @@ public class BookingServiceImplIntegrationTest {
                 .booker(UserDtoId.builder().id(user3.getId()).build())
                 .build();
 
-        List<BookingDto> actualList = bookingService.getAllBookingsAllItemsByOwner(user1.getId(), state, from, size);
+        List<BookingDto> actualList = bookingService.getAllBookingsAllItemsByOwner(
+                user1.getId(), state, BookingFilter.NONE, from, size);
 
         assertThat(actualList, equalTo(List.of(expectedBookingDto)));
     }
@@ -461,7 +473,8 @@ public class BookingServiceImplIntegrationTest {
                 .booker(UserDtoId.builder().id(user2.getId()).build())
                 .build();
 
-        List<BookingDto> actualList = bookingService.getAllBookingsAllItemsByOwner(user1.getId(), state, from, size);
+        List<BookingDto> actualList = bookingService.getAllBookingsAllItemsByOwner(
+                user1.getId(), state, BookingFilter.NONE, from, size);
 
         assertThat(actualList, equalTo(List.of(expectedBookingDto)));
     }
@@ -473,7 +486,8 @@ public class BookingServiceImplIntegrationTest {
 //        long size = 10;
 //
 //        assertThrows(ConstraintViolationException.class,
-//                () -> bookingService.getAllBookingsAllItemsByOwner(user1.getId(), state, from, size));
+//                () -> bookingService.getAllBookingsAllItemsByOwner(
+//                        user1.getId(), state, BookingFilter.NONE, from, size));
 //    }
 
 //    @Test
@@ -483,7 +497,8 @@ public class BookingServiceImplIntegrationTest {
 //        long size = -10;
 //
 //        assertThrows(ConstraintViolationException.class,
-//                () -> bookingService.getAllBookingsAllItemsByOwner(user1.getId(), state, from, size));
+//                () -> bookingService.getAllBookingsAllItemsByOwner(
+//                        user1.getId(), state, BookingFilter.NONE, from, size));
 //    }
 
 }
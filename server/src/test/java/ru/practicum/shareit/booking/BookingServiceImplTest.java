@@ -2,15 +2,21 @@ package ru.practicum.shareit.booking;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 import ru.practicum.shareit.booking.dto.NewBookingDto;
 import ru.practicum.shareit.booking.exception.*;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.query.BookingFilter;
+import ru.practicum.shareit.booking.query.BookingQuery;
+import ru.practicum.shareit.booking.query.BookingQueryEngine;
+import ru.practicum.shareit.booking.summary.BookingCounters;
+import ru.practicum.shareit.booking.summary.BookingRole;
 import ru.practicum.shareit.exception.HasNotSavedException;
 import ru.practicum.shareit.exception.NoSuchEntityException;
 import ru.practicum.shareit.item.ItemRepository;
@@ -39,6 +45,10 @@ public class BookingServiceImplTest {
     ItemRepository itemRepository;
     @Mock
     BookingRepository bookingRepository;
+    @Mock
+    BookingCounters bookingCounters;
+    @Mock
+    BookingQueryEngine bookingQueryEngine;
 
     @InjectMocks
     BookingServiceImpl bookingService;
@@ -86,6 +96,7 @@ public class BookingServiceImplTest {
 
         assertThat(actualBookingDto, equalTo(expectedBookingDto));
         verify(bookingRepository, times(1)).save(any(Booking.class));
+        verify(bookingCounters, times(1)).onCreated(booking);
     }
 
     @Test
@@ -271,6 +282,7 @@ public class BookingServiceImplTest {
 
         assertThat(actualBookingDto, equalTo(expectedBookingDto));
         verify(bookingRepository, times(1)).save(any(Booking.class));
+        verify(bookingCounters, times(1)).onStatusChanged(bookingUpdated, Booking.Status.WAITING);
     }
 
     @Test
@@ -494,12 +506,18 @@ public class BookingServiceImplTest {
                 .build();
 
         when(userRepository.findById(bookerId)).thenReturn(Optional.of(booker));
-        when(bookingRepository.findAllByBookerId(eq(bookerId), any(Pageable.class)))
-                .thenReturn(List.of(booking));
+        when(bookingQueryEngine.find(any(BookingQuery.class))).thenReturn(List.of(booking));
 
-        List<BookingDto> actualList = bookingService.getAllBookingsByUser(bookerId, state, from, size);
+        List<BookingDto> actualList = bookingService.getAllBookingsByUser(
+                bookerId, state, BookingFilter.NONE, from, size);
 
         assertThat(actualList, equalTo(List.of(expectedBookingDto)));
+        ArgumentCaptor<BookingQuery> queryCaptor = ArgumentCaptor.forClass(BookingQuery.class);
+        verify(bookingQueryEngine).find(queryCaptor.capture());
+        assertThat(queryCaptor.getValue().getUserId(), equalTo(bookerId));
+        assertThat(queryCaptor.getValue().getRole(), equalTo(BookingRole.BOOKER));
+        assertThat(queryCaptor.getValue().getState(), equalTo(BookingService.State.ALL));
+        assertThat(queryCaptor.getValue().getFilter(), equalTo(BookingFilter.NONE));
     }
 
     @Test
@@ -510,7 +528,7 @@ public class BookingServiceImplTest {
         long size = 10;
 
         assertThrows(InvalidStateException.class,
-                () -> bookingService.getAllBookingsByUser(bookerId, state, from, size));
+                () -> bookingService.getAllBookingsByUser(bookerId, state, BookingFilter.NONE, from, size));
     }
 
     @Test
@@ -523,7 +541,46 @@ public class BookingServiceImplTest {
         when(userRepository.findById(bookerId)).thenReturn(Optional.empty());
 
         assertThrows(NoSuchEntityException.class,
-                () -> bookingService.getAllBookingsByUser(bookerId, state, from, size));
+                () -> bookingService.getAllBookingsByUser(bookerId, state, BookingFilter.NONE, from, size));
+    }
+
+    @Test
+    void getAllBookingsByUser_whenFilterGiven_thenFilterAndPageOffsetPassedToEngine() {
+        long bookerId = 2L;
+        User booker = User.builder().id(bookerId).name("user2").email("user2@yandex.ru").build();
+        BookingFilter filter = BookingFilter.builder()
+                .itemId(1L)
+                .rangeStart(LocalDateTime.now())
+                .rangeEnd(LocalDateTime.now().plusDays(1))
+                .build();
+
+        when(userRepository.findById(bookerId)).thenReturn(Optional.of(booker));
+        when(bookingQueryEngine.find(any(BookingQuery.class))).thenReturn(List.of());
+
+        bookingService.getAllBookingsByUser(bookerId, "CANCELED", filter, 25, 10);
+
+        ArgumentCaptor<BookingQuery> queryCaptor = ArgumentCaptor.forClass(BookingQuery.class);
+        verify(bookingQueryEngine).find(queryCaptor.capture());
+        assertThat(queryCaptor.getValue().getState(), equalTo(BookingService.State.CANCELED));
+        assertThat(queryCaptor.getValue().getFilter(), equalTo(filter));
+        assertThat(queryCaptor.getValue().getOffset(), equalTo(20L));
+        assertThat(queryCaptor.getValue().getLimit(), equalTo(10));
+    }
+
+    @Test
+    void getAllBookingsByUser_whenRangeEndBeforeStart_thenExceptionThrown() {
+        long bookerId = 2L;
+        User booker = User.builder().id(bookerId).name("user2").email("user2@yandex.ru").build();
+        BookingFilter filter = BookingFilter.builder()
+                .rangeStart(LocalDateTime.now())
+                .rangeEnd(LocalDateTime.now().minusDays(1))
+                .build();
+
+        when(userRepository.findById(bookerId)).thenReturn(Optional.of(booker));
+
+        assertThrows(InvalidStartEndDatesException.class,
+                () -> bookingService.getAllBookingsByUser(bookerId, "ALL", filter, 0, 10));
+        verifyNoInteractions(bookingQueryEngine);
     }
 
     @Test
@@ -560,12 +617,16 @@ public class BookingServiceImplTest {
                 .build();
 
         when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
-        when(bookingRepository.findAllByItemOwnerId(eq(ownerId), any(Pageable.class)))
-                .thenReturn(List.of(booking));
+        when(bookingQueryEngine.find(any(BookingQuery.class))).thenReturn(List.of(booking));
 
-        List<BookingDto> actualList = bookingService.getAllBookingsAllItemsByOwner(ownerId, state, from, size);
+        List<BookingDto> actualList = bookingService.getAllBookingsAllItemsByOwner(
+                ownerId, state, BookingFilter.NONE, from, size);
 
         assertThat(actualList, equalTo(List.of(expectedBookingDto)));
+        ArgumentCaptor<BookingQuery> queryCaptor = ArgumentCaptor.forClass(BookingQuery.class);
+        verify(bookingQueryEngine).find(queryCaptor.capture());
+        assertThat(queryCaptor.getValue().getUserId(), equalTo(ownerId));
+        assertThat(queryCaptor.getValue().getRole(), equalTo(BookingRole.OWNER));
     }
 
     @Test
@@ -576,7 +637,7 @@ public class BookingServiceImplTest {
         long size = 10;
 
         assertThrows(InvalidStateException.class,
-                () -> bookingService.getAllBookingsAllItemsByOwner(ownerId, state, from, size));
+                () -> bookingService.getAllBookingsAllItemsByOwner(ownerId, state, BookingFilter.NONE, from, size));
     }
 
     @Test
@@ -589,7 +650,43 @@ public class BookingServiceImplTest {
         when(userRepository.findById(ownerId)).thenReturn(Optional.empty());
 
         assertThrows(NoSuchEntityException.class,
-                () -> bookingService.getAllBookingsAllItemsByOwner(ownerId, state, from, size));
+                () -> bookingService.getAllBookingsAllItemsByOwner(ownerId, state, BookingFilter.NONE, from, size));
+    }
+
+    @Test
+    void getBookingSummaryByUser_whenUserExists_thenBookerCountersReturned() {
+        long bookerId = 2L;
+        BookingSummaryDto expectedSummary = BookingSummaryDto.builder().all(3).future(2).past(1).waiting(1).build();
+
+        when(userRepository.existsById(bookerId)).thenReturn(true);
+        when(bookingCounters.getSummary(bookerId, BookingRole.BOOKER)).thenReturn(expectedSummary);
+
+        BookingSummaryDto actualSummary = bookingService.getBookingSummaryByUser(bookerId);
+
+        assertThat(actualSummary, equalTo(expectedSummary));
+    }
+
+    @Test
+    void getBookingSummaryByOwner_whenUserExists_thenOwnerCountersReturned() {
+        long ownerId = 1L;
+        BookingSummaryDto expectedSummary = BookingSummaryDto.builder().all(1).current(1).build();
+
+        when(userRepository.existsById(ownerId)).thenReturn(true);
+        when(bookingCounters.getSummary(ownerId, BookingRole.OWNER)).thenReturn(expectedSummary);
+
+        BookingSummaryDto actualSummary = bookingService.getBookingSummaryByOwner(ownerId);
+
+        assertThat(actualSummary, equalTo(expectedSummary));
+    }
+
+    @Test
+    void getBookingSummaryByUser_whenUserInvalid_thenExceptionThrown() {
+        long bookerId = 3L;
+
+        when(userRepository.existsById(bookerId)).thenReturn(false);
+
+        assertThrows(NoSuchEntityException.class, () -> bookingService.getBookingSummaryByUser(bookerId));
+        verifyNoInteractions(bookingCounters);
     }
 
 }
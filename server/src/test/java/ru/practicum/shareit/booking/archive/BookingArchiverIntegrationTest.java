@@ -0,0 +1,135 @@
+package ru.practicum.shareit.booking.archive;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingServiceImpl;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.query.BookingFilter;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemServiceImpl;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+
+@Transactional
+@SpringBootTest(properties = "db.name=test", webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class BookingArchiverIntegrationTest {
+
+    private final BookingArchiver bookingArchiver;
+    private final BookingServiceImpl bookingService;
+    private final ItemServiceImpl itemService;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    private User owner;
+    private User booker;
+    private Item item;
+    private Booking oldBooking;
+    private Booking recentBooking;
+
+    @BeforeEach
+    void fillDataBase() {
+        owner = userRepository.save(User.builder().name("owner").email("owner@yandex.ru").build());
+        booker = userRepository.save(User.builder().name("booker").email("booker@yandex.ru").build());
+        item = itemRepository.save(Item.builder()
+                .name("item")
+                .description("description")
+                .available(true)
+                .owner(owner)
+                .build());
+        oldBooking = bookingRepository.save(Booking.builder()
+                .start(LocalDateTime.now().minusYears(3).minusDays(1))
+                .end(LocalDateTime.now().minusYears(3))
+                .item(item).booker(booker).status(Booking.Status.APPROVED).build());
+        recentBooking = bookingRepository.saveAndFlush(Booking.builder()
+                .start(LocalDateTime.now().minusDays(2))
+                .end(LocalDateTime.now().minusDays(1))
+                .item(item).booker(booker).status(Booking.Status.APPROVED).build());
+    }
+
+    @Test
+    void archiveEndedBefore_whenBookingEndedBeforeCutoff_thenMovedToArchive() {
+        long archived = bookingArchiver.archiveEndedBefore(LocalDateTime.now().minusYears(2));
+
+        assertThat(archived, equalTo(1L));
+        assertThat(countRows("bookings", oldBooking.getId()), equalTo(0));
+        assertThat(countRows("bookings_archive", oldBooking.getId()), equalTo(1));
+        assertThat(countRows("bookings", recentBooking.getId()), equalTo(1));
+    }
+
+    @Test
+    void archiveEndedBefore_whenArchived_thenStillReturnedAsPast() {
+        bookingArchiver.archiveEndedBefore(LocalDateTime.now().minusYears(2));
+
+        List<BookingDto> bookerPast = bookingService.getAllBookingsByUser(
+                booker.getId(), "PAST", BookingFilter.NONE, 0, 10);
+        List<BookingDto> ownerPast = bookingService.getAllBookingsAllItemsByOwner(
+                owner.getId(), "PAST", BookingFilter.NONE, 0, 10);
+
+        assertThat(bookerPast.stream().map(BookingDto::getId).collect(Collectors.toList()),
+                contains(recentBooking.getId(), oldBooking.getId()));
+        assertThat(ownerPast.stream().map(BookingDto::getId).collect(Collectors.toList()),
+                contains(recentBooking.getId(), oldBooking.getId()));
+    }
+
+    @Test
+    void getBookingById_whenArchived_thenReturnedFromArchive() {
+        bookingArchiver.archiveEndedBefore(LocalDateTime.now().minusYears(2));
+        entityManager.clear();
+
+        BookingDto bookingDto = bookingService.getBookingById(oldBooking.getId(), booker.getId());
+
+        assertThat(bookingDto.getId(), equalTo(oldBooking.getId()));
+        assertThat(bookingDto.getStatus(), equalTo(Booking.Status.APPROVED));
+    }
+
+    @Test
+    void addComment_whenOnlyFinishedBookingArchived_thenCommentAdded() {
+        bookingRepository.delete(recentBooking);
+        bookingRepository.flush();
+        bookingArchiver.archiveEndedBefore(LocalDateTime.now().minusYears(2));
+        entityManager.clear();
+
+        CommentDto commentDto = itemService.addComment(booker.getId(), item.getId(),
+                CommentDto.builder().text("comment").build());
+
+        assertThat(commentDto.getId(), notNullValue());
+        assertThat(countRows("bookings", oldBooking.getId()), equalTo(0));
+    }
+
+    @Test
+    void deleteByUserId_whenOwnerDeleted_thenArchivedRowsDeleted() {
+        bookingArchiver.archiveEndedBefore(LocalDateTime.now().minusYears(2));
+
+        bookingArchiver.deleteByUserId(owner.getId());
+
+        assertThat(countRows("bookings_archive", oldBooking.getId()), equalTo(0));
+    }
+
+    private int countRows(String table, long id) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table + " where id = ?", Integer.class, id);
+    }
+
+}
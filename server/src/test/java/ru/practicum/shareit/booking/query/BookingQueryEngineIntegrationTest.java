@@ -0,0 +1,178 @@
+package ru.practicum.shareit.booking.query;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingService.State;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.summary.BookingRole;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsStringIgnoringCase;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+
+@Transactional
+@SpringBootTest(properties = "db.name=test", webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class BookingQueryEngineIntegrationTest {
+
+    private final BookingQueryEngine bookingQueryEngine;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    private User owner;
+    private User booker;
+    private Item drill;
+    private Item saw;
+    private Booking pastDrill;
+    private Booking currentSaw;
+    private Booking futureDrill;
+    private Booking canceledSaw;
+
+    @BeforeEach
+    void fillDataBase() {
+        owner = userRepository.save(User.builder().name("owner").email("owner@yandex.ru").build());
+        booker = userRepository.save(User.builder().name("booker").email("booker@yandex.ru").build());
+        drill = itemRepository.save(Item.builder().name("drill").description("drill").available(true)
+                .owner(owner).build());
+        saw = itemRepository.save(Item.builder().name("saw").description("saw").available(true)
+                .owner(owner).build());
+        pastDrill = save(drill, now.minusDays(3), now.minusDays(2), Booking.Status.APPROVED);
+        currentSaw = save(saw, now.minusDays(1), now.plusDays(1), Booking.Status.APPROVED);
+        futureDrill = save(drill, now.plusDays(2), now.plusDays(3), Booking.Status.WAITING);
+        canceledSaw = save(saw, now.plusDays(4), now.plusDays(5), Booking.Status.CANCELED);
+        bookingRepository.flush();
+    }
+
+    @Test
+    void find_whenStateGiven_thenOnlyMatchingBookingsReturnedNewestFirst() {
+        assertThat(ids(query(BookingRole.BOOKER, State.ALL, BookingFilter.NONE)),
+                contains(canceledSaw.getId(), futureDrill.getId(), currentSaw.getId(), pastDrill.getId()));
+        assertThat(ids(query(BookingRole.OWNER, State.CURRENT, BookingFilter.NONE)), contains(currentSaw.getId()));
+        assertThat(ids(query(BookingRole.OWNER, State.PAST, BookingFilter.NONE)), contains(pastDrill.getId()));
+        assertThat(ids(query(BookingRole.BOOKER, State.FUTURE, BookingFilter.NONE)),
+                contains(canceledSaw.getId(), futureDrill.getId()));
+        assertThat(ids(query(BookingRole.BOOKER, State.WAITING, BookingFilter.NONE)), contains(futureDrill.getId()));
+        assertThat(ids(query(BookingRole.OWNER, State.CANCELED, BookingFilter.NONE)), contains(canceledSaw.getId()));
+    }
+
+    @Test
+    void find_whenBookingArchived_thenStillListedUnderAllAndPast() {
+        jdbcTemplate.update("insert into bookings_archive (id, start_date, end_date, item_id, booker_id, status) "
+                + "select id, start_date, end_date, item_id, booker_id, status from bookings where id = ?",
+                pastDrill.getId());
+        jdbcTemplate.update("delete from bookings where id = ?", pastDrill.getId());
+
+        assertThat(ids(query(BookingRole.BOOKER, State.ALL, BookingFilter.NONE)),
+                contains(canceledSaw.getId(), futureDrill.getId(), currentSaw.getId(), pastDrill.getId()));
+        assertThat(ids(query(BookingRole.OWNER, State.ALL, BookingFilter.builder().itemId(drill.getId()).build())),
+                contains(futureDrill.getId(), pastDrill.getId()));
+        assertThat(ids(query(BookingRole.OWNER, State.PAST, BookingFilter.NONE)), contains(pastDrill.getId()));
+    }
+
+    @Test
+    void find_whenItemAndRangeGiven_thenBookingsFiltered() {
+        BookingFilter byDrill = BookingFilter.builder().itemId(drill.getId()).build();
+        BookingFilter nextTwoDays = BookingFilter.builder().rangeStart(now).rangeEnd(now.plusDays(2).plusHours(1))
+                .build();
+
+        assertThat(ids(query(BookingRole.BOOKER, State.ALL, byDrill)),
+                contains(futureDrill.getId(), pastDrill.getId()));
+        assertThat(ids(query(BookingRole.OWNER, State.ALL, nextTwoDays)),
+                contains(futureDrill.getId(), currentSaw.getId()));
+    }
+
+    @Test
+    void find_whenCursorGiven_thenNextPageReturned() {
+        List<Booking> firstPage = bookingQueryEngine.find(BookingQuery.builder()
+                .userId(booker.getId()).role(BookingRole.BOOKER).state(State.ALL).at(now).limit(2).build());
+        Booking last = firstPage.get(firstPage.size() - 1);
+        BookingFilter after = BookingFilter.builder().before(new KeysetCursor(last.getStart(), last.getId())).build();
+
+        List<Booking> secondPage = bookingQueryEngine.find(BookingQuery.builder()
+                .userId(booker.getId()).role(BookingRole.BOOKER).state(State.ALL).at(now).filter(after).limit(2)
+                .build());
+
+        assertThat(ids(firstPage), contains(canceledSaw.getId(), futureDrill.getId()));
+        assertThat(ids(secondPage), contains(currentSaw.getId(), pastDrill.getId()));
+    }
+
+    @Test
+    void find_whenSameShapeQueriedTwice_thenCompiledOnce() {
+        query(BookingRole.OWNER, State.REJECTED, BookingFilter.builder().itemId(saw.getId()).build());
+        int compiled = bookingQueryEngine.compiledShapes();
+
+        query(BookingRole.OWNER, State.REJECTED, BookingFilter.builder().itemId(drill.getId()).build());
+
+        assertThat(bookingQueryEngine.compiledShapes(), equalTo(compiled));
+    }
+
+    @Test
+    void compile_whenAnyShape_thenBookingsReadThroughIndex() {
+        NamedParameterJdbcTemplate namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("userId", booker.getId())
+                .addValue("at", now)
+                .addValue("itemId", drill.getId())
+                .addValue("rangeStart", now)
+                .addValue("rangeEnd", now.plusDays(1))
+                .addValue("beforeStart", now)
+                .addValue("beforeId", Long.MAX_VALUE);
+        for (BookingRole role : BookingRole.values()) {
+            for (State state : State.values()) {
+                for (int flags = 0; flags < 16; flags++) {
+                    BookingQueryShape shape = new BookingQueryShape(role, state,
+                            (flags & 1) != 0, (flags & 2) != 0, (flags & 4) != 0, (flags & 8) != 0);
+                    String plan = namedJdbcTemplate.queryForObject(
+                            "explain " + BookingQueryEngine.compile(shape).getSql(), parameters, String.class);
+
+                    assertThat(shape.toString(), plan, not(containsStringIgnoringCase("BOOKINGS.tableScan")));
+                    assertThat(shape.toString(), plan, not(containsStringIgnoringCase("BOOKINGS_ARCHIVE.tableScan")));
+                }
+            }
+        }
+    }
+
+    private List<Booking> query(BookingRole role, State state, BookingFilter filter) {
+        return bookingQueryEngine.find(BookingQuery.builder()
+                .userId(role == BookingRole.BOOKER ? booker.getId() : owner.getId())
+                .role(role)
+                .state(state)
+                .at(now)
+                .filter(filter)
+                .limit(10)
+                .build());
+    }
+
+    private Booking save(Item item, LocalDateTime start, LocalDateTime end, Booking.Status status) {
+        return bookingRepository.save(Booking.builder()
+                .start(start).end(end).item(item).booker(booker).status(status).build());
+    }
+
+    private static List<Long> ids(List<Booking> bookings) {
+        return bookings.stream().map(Booking::getId).collect(Collectors.toList());
+    }
+
+}
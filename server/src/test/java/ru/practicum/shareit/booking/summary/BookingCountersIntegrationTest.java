@@ -0,0 +1,260 @@
+package ru.practicum.shareit.booking.summary;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingService.State;
+import ru.practicum.shareit.booking.BookingServiceImpl;
+import ru.practicum.shareit.booking.archive.BookingArchiver;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
+import ru.practicum.shareit.booking.dto.NewBookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.query.BookingFilter;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserServiceImpl;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static ru.practicum.shareit.sql.SqlStatementAssertions.assertMaxStatements;
+
+@SpringBootTest(properties = "db.name=test", webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class BookingCountersIntegrationTest {
+
+    private final BookingCounters bookingCounters;
+    private final BookingServiceImpl bookingService;
+    private final BookingArchiver bookingArchiver;
+    private final UserServiceImpl userService;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    private User owner;
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void fillDataBase() {
+        jdbcTemplate.update("delete from booking_counters_rollover");
+        owner = userRepository.save(User.builder().name("owner").email("owner@yandex.ru").build());
+        booker = userRepository.save(User.builder().name("booker").email("booker@yandex.ru").build());
+        item = itemRepository.save(Item.builder()
+                .name("item")
+                .description("description")
+                .available(true)
+                .owner(owner)
+                .build());
+    }
+
+    @AfterEach
+    void clearDataBase() {
+        jdbcTemplate.update("delete from booking_counters");
+        jdbcTemplate.update("delete from booking_counters_rollover");
+        jdbcTemplate.update("delete from bookings_archive");
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void getSummary_whenBookingsCreatedAndDecided_thenCountersMatchLists() {
+        bookingCounters.getSummary(booker.getId(), BookingRole.BOOKER);
+        bookingCounters.getSummary(owner.getId(), BookingRole.OWNER);
+        LocalDateTime now = LocalDateTime.now();
+        BookingDto approved = book(now.plusDays(1), now.plusDays(2));
+        BookingDto rejected = book(now.plusDays(3), now.plusDays(4));
+        book(now.minusDays(2), now.minusDays(1));
+        bookingService.approveOrRejectBooking(approved.getId(), owner.getId(), true);
+        bookingService.approveOrRejectBooking(rejected.getId(), owner.getId(), false);
+
+        BookingSummaryDto bookerSummary = bookingService.getBookingSummaryByUser(booker.getId());
+        BookingSummaryDto ownerSummary = bookingService.getBookingSummaryByOwner(owner.getId());
+
+        assertThat(bookerSummary, equalTo(BookingSummaryDto.builder()
+                .all(3).current(0).past(1).future(2).waiting(1).rejected(1).build()));
+        assertThat(ownerSummary, equalTo(bookerSummary));
+        assertMatchesLists(bookerSummary, ownerSummary);
+    }
+
+    @Test
+    void rollover_whenBookingStartedAndEnded_thenMovedBetweenBuckets() {
+        LocalDateTime now = LocalDateTime.now();
+        book(now.plusHours(1), now.plusHours(3));
+        book(now.plusHours(2), now.plusHours(4));
+        bookingCounters.getSummary(booker.getId(), BookingRole.BOOKER);
+
+        bookingCounters.rollover(now.plusHours(3).plusMinutes(30));
+
+        BookingSummaryDto summary = bookingCounters.getSummary(booker.getId(), BookingRole.BOOKER);
+        assertThat(summary.getFuture(), equalTo(0L));
+        assertThat(summary.getCurrent(), equalTo(1L));
+        assertThat(summary.getPast(), equalTo(1L));
+        jdbcTemplate.update("delete from booking_counters");
+        assertThat(bookingCounters.getSummary(booker.getId(), BookingRole.BOOKER), equalTo(summary));
+    }
+
+    @Test
+    void rollover_whenBookingStartsExactlyAtWatermark_thenNeitherFutureNorCurrent() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        book(now.plusHours(1), now.plusHours(2));
+        bookingCounters.getSummary(booker.getId(), BookingRole.BOOKER);
+
+        bookingCounters.rollover(now.plusHours(1));
+        BookingSummaryDto atStart = bookingCounters.getSummary(booker.getId(), BookingRole.BOOKER);
+        bookingCounters.rollover(now.plusHours(1).plusMinutes(1));
+        BookingSummaryDto afterStart = bookingCounters.getSummary(booker.getId(), BookingRole.BOOKER);
+
+        assertThat(atStart, equalTo(BookingSummaryDto.builder().all(1).waiting(1).build()));
+        assertThat(afterStart, equalTo(BookingSummaryDto.builder().all(1).current(1).waiting(1).build()));
+    }
+
+    @Test
+    void getSummary_whenBookingCommittedDuringRebuild_thenBookingCounted() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<BookingSummaryDto> summary = new TransactionTemplate(transactionManager).execute(status -> {
+                book(now.plusDays(1), now.plusDays(2));
+                Future<BookingSummaryDto> rebuilt = executor.submit(() ->
+                        bookingService.getBookingSummaryByUser(booker.getId()));
+                try {
+                    Thread.sleep(200);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return rebuilt;
+            });
+
+            assertThat(summary.get(10, TimeUnit.SECONDS).getAll(), equalTo(1L));
+            assertThat(bookingCounters.getSummary(booker.getId(), BookingRole.BOOKER).getAll(), equalTo(1L));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void reconcile_whenCountersDrifted_thenRecounted() {
+        LocalDateTime now = LocalDateTime.now();
+        book(now.plusDays(1), now.plusDays(2));
+        BookingSummaryDto bookerSummary = bookingCounters.getSummary(booker.getId(), BookingRole.BOOKER);
+        BookingSummaryDto ownerSummary = bookingCounters.getSummary(owner.getId(), BookingRole.OWNER);
+        jdbcTemplate.update("update booking_counters set all_count = 42 where user_id = ?", owner.getId());
+
+        int drifted = bookingCounters.reconcile(1);
+
+        assertThat(drifted, equalTo(1));
+        assertThat(bookingCounters.getSummary(booker.getId(), BookingRole.BOOKER), equalTo(bookerSummary));
+        assertThat(bookingCounters.getSummary(owner.getId(), BookingRole.OWNER), equalTo(ownerSummary));
+    }
+
+    @Test
+    void getSummary_whenCountersMissing_thenRebuiltFromBookings() {
+        LocalDateTime now = LocalDateTime.now();
+        bookingRepository.save(Booking.builder()
+                .start(now.minusDays(1)).end(now.plusDays(1))
+                .item(item).booker(booker).status(Booking.Status.APPROVED).build());
+        bookingRepository.save(Booking.builder()
+                .start(now.plusDays(1)).end(now.plusDays(2))
+                .item(item).booker(booker).status(Booking.Status.WAITING).build());
+
+        BookingSummaryDto bookerSummary = bookingService.getBookingSummaryByUser(booker.getId());
+        BookingSummaryDto ownerSummary = bookingService.getBookingSummaryByOwner(owner.getId());
+
+        assertThat(bookerSummary, equalTo(BookingSummaryDto.builder()
+                .all(2).current(1).past(0).future(1).waiting(1).rejected(0).build()));
+        assertMatchesLists(bookerSummary, ownerSummary);
+    }
+
+    @Test
+    void getBookingSummaryByOwner_whenCountersStored_thenWithinStatementBudget() throws Throwable {
+        book(LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2));
+        bookingCounters.getSummary(owner.getId(), BookingRole.OWNER);
+
+        assertMaxStatements(2, () -> bookingService.getBookingSummaryByOwner(owner.getId()));
+    }
+
+    @Test
+    void onArchived_whenBookingArchived_thenStillCountedInAllAndPast() {
+        LocalDateTime now = LocalDateTime.now();
+        book(now.minusYears(3).minusDays(1), now.minusYears(3));
+        book(now.plusDays(1), now.plusDays(2));
+        bookingCounters.getSummary(booker.getId(), BookingRole.BOOKER);
+        bookingCounters.getSummary(owner.getId(), BookingRole.OWNER);
+
+        bookingArchiver.archiveEndedBefore(now.minusYears(2));
+
+        BookingSummaryDto bookerSummary = bookingService.getBookingSummaryByUser(booker.getId());
+        BookingSummaryDto ownerSummary = bookingService.getBookingSummaryByOwner(owner.getId());
+        assertThat(bookerSummary, equalTo(BookingSummaryDto.builder()
+                .all(2).current(0).past(1).future(1).waiting(1).rejected(0).build()));
+        assertMatchesLists(bookerSummary, ownerSummary);
+    }
+
+    @Test
+    void deleteUserById_whenBookerDeleted_thenOwnerCountersRebuilt() {
+        LocalDateTime now = LocalDateTime.now();
+        book(now.plusDays(1), now.plusDays(2));
+        assertThat(bookingCounters.getSummary(owner.getId(), BookingRole.OWNER).getAll(), equalTo(1L));
+
+        userService.deleteUserById(booker.getId());
+
+        assertThat(bookingCounters.getSummary(owner.getId(), BookingRole.OWNER), equalTo(new BookingSummaryDto()));
+    }
+
+    private BookingDto book(LocalDateTime start, LocalDateTime end) {
+        return bookingService.addBooking(NewBookingDto.builder()
+                .itemId(item.getId())
+                .start(start)
+                .end(end)
+                .build(), booker.getId());
+    }
+
+    private void assertMatchesLists(BookingSummaryDto bookerSummary, BookingSummaryDto ownerSummary) {
+        for (State state : BookingCounters.COUNTED_STATES) {
+            assertThat(state.name(), (long) bookingService.getAllBookingsByUser(
+                    booker.getId(), state.name(), BookingFilter.NONE, 0, 100).size(),
+                    equalTo(count(bookerSummary, state)));
+            assertThat(state.name(), (long) bookingService.getAllBookingsAllItemsByOwner(
+                    owner.getId(), state.name(), BookingFilter.NONE, 0, 100).size(),
+                    equalTo(count(ownerSummary, state)));
+        }
+    }
+
+    private static long count(BookingSummaryDto summary, State state) {
+        switch (state) {
+            case ALL:
+                return summary.getAll();
+            case CURRENT:
+                return summary.getCurrent();
+            case PAST:
+                return summary.getPast();
+            case FUTURE:
+                return summary.getFuture();
+            case WAITING:
+                return summary.getWaiting();
+            default:
+                return summary.getRejected();
+        }
+    }
+
+}
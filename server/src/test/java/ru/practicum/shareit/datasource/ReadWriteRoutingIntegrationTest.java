@@ -0,0 +1,121 @@
+package ru.practicum.shareit.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.pool.ConnectionPoolHealthIndicator;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+
+@SpringBootTest(properties = {
+        "db.name=test",
+        "shareit-server.datasource.replica.enabled=true",
+        "shareit-server.datasource.replica.url=jdbc:h2:mem:shareit",
+        "shareit-server.datasource.replica.hikari.pool-name=shareit-replica"
+}, webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ReadWriteRoutingIntegrationTest {
+
+    private static final long USER_ID = 42L;
+
+    @Autowired
+    private final PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private final DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private final DataSource replicaDataSource;
+
+    @Autowired
+    private final ConnectionPoolHealthIndicator connectionPoolHealthIndicator;
+
+    @Autowired
+    private final MeterRegistry meterRegistry;
+
+    @AfterEach
+    void clearContext() {
+        RoutingContext.clear();
+    }
+
+    @Test
+    void query_whenTransactionReadOnly_thenReplicaUsed() throws SQLException {
+        assertThat(routeOfQuery(true), equalTo(DataSourceRole.REPLICA));
+    }
+
+    @Test
+    void query_whenTransactionReadWrite_thenPrimaryUsed() throws SQLException {
+        assertThat(routeOfQuery(false), equalTo(DataSourceRole.PRIMARY));
+    }
+
+    @Test
+    void query_whenUserWroteRecently_thenReadOnlyTransactionUsesPrimary() throws SQLException {
+        RoutingContext.set(USER_ID, false);
+        routeOfQuery(false);
+
+        assertThat(routeOfQuery(true), equalTo(DataSourceRole.PRIMARY));
+    }
+
+    @Test
+    void query_whenPrimaryRequested_thenReadOnlyTransactionUsesPrimary() throws SQLException {
+        RoutingContext.set(null, true);
+
+        assertThat(routeOfQuery(true), equalTo(DataSourceRole.PRIMARY));
+    }
+
+    @Test
+    void connectionPoolMonitor_whenRoutingEnabled_thenBothPoolsMonitored() throws SQLException {
+        routeOfQuery(true);
+        routeOfQuery(false);
+
+        Health health = connectionPoolHealthIndicator.health();
+
+        assertThat(health.getStatus(), equalTo(Status.UP));
+        assertThat(health.getDetails().keySet(), contains("shareit-primary", "shareit-replica", "sizing"));
+        for (String pool : List.of("shareit-primary", "shareit-replica")) {
+            assertThat(meterRegistry.find("shareit.db.pool.saturation").tag("pool", pool).gauge(), notNullValue());
+        }
+    }
+
+    private DataSourceRole routeOfQuery(boolean readOnly) throws SQLException {
+        HikariDataSource primary = primaryDataSource.unwrap(HikariDataSource.class);
+        HikariDataSource replica = replicaDataSource.unwrap(HikariDataSource.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.queryForObject("select count(*) from users", Long.class);
+            if (activeConnections(replica) == 1) {
+                return DataSourceRole.REPLICA;
+            }
+            assertThat(activeConnections(primary), equalTo(1));
+            return DataSourceRole.PRIMARY;
+        });
+    }
+
+    private static int activeConnections(HikariDataSource pool) {
+        return pool.getHikariPoolMXBean() == null ? 0 : pool.getHikariPoolMXBean().getActiveConnections();
+    }
+
+}
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.datasource;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+public class RecentWritersTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void wroteRecently_whenInsideWindow_thenTrue() {
+        RecentWriters recentWriters = new RecentWriters(Duration.ofNanos(100), 10, clock::get);
+
+        recentWriters.recordWrite(1L);
+        clock.addAndGet(99);
+
+        assertThat(recentWriters.wroteRecently(1L), equalTo(true));
+        assertThat(recentWriters.wroteRecently(2L), equalTo(false));
+    }
+
+    @Test
+    void wroteRecently_whenWindowElapsed_thenFalse() {
+        RecentWriters recentWriters = new RecentWriters(Duration.ofNanos(100), 10, clock::get);
+
+        recentWriters.recordWrite(1L);
+        clock.addAndGet(100);
+
+        assertThat(recentWriters.wroteRecently(1L), equalTo(false));
+    }
+
+    @Test
+    void recordWrite_whenFull_thenExpiredUsersEvicted() {
+        RecentWriters recentWriters = new RecentWriters(Duration.ofNanos(100), 1, clock::get);
+        recentWriters.recordWrite(1L);
+        clock.addAndGet(100);
+
+        recentWriters.recordWrite(2L);
+
+        assertThat(recentWriters.wroteRecently(2L), equalTo(true));
+    }
+
+}
@@ -0,0 +1,64 @@
+package ru.practicum.shareit.exception;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ExpectedErrorLogTest {
+
+    @Mock
+    Logger log;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private ExpectedErrorLog expectedErrorLog;
+
+    @BeforeEach
+    void setUp() {
+        expectedErrorLog = new ExpectedErrorLog(log, 2, Duration.ofSeconds(1), clock::get);
+    }
+
+    @Test
+    void warn_whenLimitExceeded_thenRestSuppressedUntilNextWindow() {
+        when(log.isWarnEnabled()).thenReturn(true);
+
+        for (int i = 0; i < 5; i++) {
+            expectedErrorLog.warn(new NoSuchEntityException("missing " + i));
+        }
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        expectedErrorLog.warn(new NoSuchEntityException("missing 5"));
+
+        verify(log).warn("missing 0");
+        verify(log).warn("missing 1");
+        verify(log).warn("{} ({} similar errors suppressed)", "missing 5", 3L);
+        verifyNoMoreInteractions(ignoreStubs(log));
+    }
+
+    @Test
+    void warn_whenDifferentTypes_thenLimitedSeparately() {
+        when(log.isWarnEnabled()).thenReturn(true);
+
+        expectedErrorLog.warn(new NoSuchEntityException("missing 1"));
+        expectedErrorLog.warn(new NoSuchEntityException("missing 2"));
+        expectedErrorLog.warn(new HasNotSavedException("not saved"));
+
+        verify(log).warn("not saved");
+    }
+
+    @Test
+    void shareItException_whenCreated_thenStackTraceNotCaptured() {
+        assertThat(new NoSuchEntityException("missing").getStackTrace().length, equalTo(0));
+    }
+
+}
@@ -13,6 +13,7 @@ import ru.practicum.shareit.exception.NoSuchEntityException;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.exception.*;
+import ru.practicum.shareit.pagination.KeysetCursor;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
@@ -306,7 +307,7 @@ public class ItemControllerTest {
         long from = 0;
         long size = 10;
 
-        when(itemService.getAllItemsWithText(searchString, from, size))
+        when(itemService.getAllItemsWithText(searchString, ItemService.SearchSort.DEFAULT, from, size))
                 .thenReturn(List.of(itemDtoOut));
 
         mvc.perform(get("/items/search?text={text}&from={from}&size={size}", searchString, from, size)
@@ -317,7 +318,26 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$[0].description", is(itemDtoOut.getDescription())))
                 .andExpect(jsonPath("$[0].available", is(itemDtoOut.getAvailable())));
 
-        verify(itemService).getAllItemsWithText(searchString, from, size);
+        verify(itemService).getAllItemsWithText(searchString, ItemService.SearchSort.DEFAULT, from, size);
+    }
+
+    @Test
+    void getAllAvailableItemsWithText_SortByPopularityTest() throws Exception {
+        String searchString = "script";
+        long from = 0;
+        long size = 10;
+        itemDtoOut.setCommentCount(3);
+
+        when(itemService.getAllItemsWithText(searchString, ItemService.SearchSort.POPULARITY, from, size))
+                .thenReturn(List.of(itemDtoOut));
+
+        mvc.perform(get("/items/search?text={text}&sort=POPULARITY&from={from}&size={size}", searchString, from, size)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(itemDtoOut.getId()), Long.class))
+                .andExpect(jsonPath("$[0].commentCount", is(3L), Long.class));
+
+        verify(itemService).getAllItemsWithText(searchString, ItemService.SearchSort.POPULARITY, from, size);
     }
 
     @Test
@@ -410,4 +430,39 @@ public class ItemControllerTest {
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isConflict());
     }
+
+    @Test
+    void getItemCommentsTest() throws Exception {
+        long userId = 1;
+        long itemId = 1;
+        KeysetCursor before = new KeysetCursor(LocalDateTime.of(2024, 03, 02, 12, 0), 5L);
+
+        when(itemService.getItemComments(userId, itemId, before, 5))
+                .thenReturn(List.of(commentDtoOut));
+
+        mvc.perform(get("/items/{itemId}/comments", itemId)
+                        .param("before", "2024-03-02T12:00:00,5")
+                        .param("size", "5")
+                        .header("X-Sharer-User-Id", userId)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(commentDtoOut.getId()), Long.class))
+                .andExpect(jsonPath("$[0].text", is(commentDtoOut.getText())));
+
+        verify(itemService).getItemComments(userId, itemId, before, 5);
+    }
+
+    @Test
+    void getItemComments_InvalidCursorTest() throws Exception {
+        long userId = 1;
+        long itemId = 1;
+
+        mvc.perform(get("/items/{itemId}/comments", itemId)
+                        .param("before", "yesterday")
+                        .header("X-Sharer-User-Id", userId)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verify(itemService, never()).getItemComments(anyLong(), anyLong(), any(), anyLong());
+    }
 }
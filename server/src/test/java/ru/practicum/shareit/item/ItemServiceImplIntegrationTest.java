@@ -14,6 +14,7 @@ import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.UserRepository;
@@ -24,6 +25,7 @@ import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
 
 @Transactional
 @SpringBootTest(properties = "db.name=test", webEnvironment = SpringBootTest.WebEnvironment.NONE)
@@ -242,6 +244,35 @@ public class ItemServiceImplIntegrationTest {
         assertThat(actualList, equalTo(List.of(expectedItemDto1, expectedItemDto2)));
     }
 
+    @Test
+    void getAllItemsByUserId_whenManyCommentsAndBookings_thenLatestPerItemInlined() {
+        for (int i = 1; i <= 11; i++) {
+            commentRepository.save(Comment.builder().text("comment" + i).item(item2).author(user2)
+                    .created(LocalDateTime.of(2024, 4, i, 12, 0)).build());
+        }
+        bookingRepository.save(Booking.builder()
+                .start(LocalDateTime.of(2024, 1, 1, 12, 0))
+                .end(LocalDateTime.of(2024, 1, 2, 12, 0))
+                .item(item1).booker(user2).status(Booking.Status.APPROVED).build());
+        bookingRepository.save(Booking.builder()
+                .start(LocalDateTime.now().plusHours(1))
+                .end(LocalDateTime.now().plusHours(2))
+                .item(item1).booker(user2).status(Booking.Status.WAITING).build());
+        bookingRepository.save(Booking.builder()
+                .start(LocalDateTime.now().plusDays(3))
+                .end(LocalDateTime.now().plusDays(4))
+                .item(item1).booker(user2).status(Booking.Status.APPROVED).build());
+
+        List<ItemDto> actualList = itemService.getAllItemsByUserId(user1.getId(), 0, 10);
+
+        assertThat(actualList.get(0).getComments().size(), equalTo(1));
+        assertThat(actualList.get(0).getLastBooking().getId(), equalTo(lastBooking.getId()));
+        assertThat(actualList.get(0).getNextBooking().getId(), equalTo(nextBooking.getId()));
+        assertThat(actualList.get(1).getComments().size(), equalTo(10));
+        assertThat(actualList.get(1).getComments().get(0).getText(), equalTo("comment11"));
+        assertThat(actualList.get(1).getComments().get(9).getText(), equalTo("comment2"));
+    }
+
 //    @Test
 //    void getAllItemsByUserId_whenFromIsNegative_thenExceptionThrown() {
 //        long from = -1;
@@ -272,7 +303,7 @@ public class ItemServiceImplIntegrationTest {
                 .available(true)
                 .build();
 
-        List<ItemDto> actualList = itemService.getAllItemsWithText(searchString, from, size);
+        List<ItemDto> actualList = itemService.getAllItemsWithText(searchString, ItemService.SearchSort.DEFAULT, from, size);
 
         assertThat(actualList, equalTo(List.of(expectedItemDto)));
     }
@@ -297,6 +328,24 @@ public class ItemServiceImplIntegrationTest {
 //                () -> itemService.getAllItemsWithText(searchString, from, size));
 //    }
 
+    @Test
+    void getItemComments_whenPagedWithCursor_thenReturnCommentsNewestFirst() {
+        Comment newerComment = commentRepository.save(Comment.builder().text("newer").item(item1).author(user2)
+                .created(LocalDateTime.of(2024, 3, 2, 12, 0)).build());
+        Comment sameTimeComment = commentRepository.save(Comment.builder().text("same time").item(item1).author(user2)
+                .created(LocalDateTime.of(2024, 3, 1, 12, 0)).build());
+
+        List<CommentDto> firstPage = itemService.getItemComments(user1.getId(), item1.getId(), null, 2);
+        CommentDto last = firstPage.get(firstPage.size() - 1);
+        List<CommentDto> secondPage = itemService.getItemComments(user1.getId(), item1.getId(),
+                new KeysetCursor(last.getCreated(), last.getId()), 2);
+
+        assertThat(firstPage.get(0).getId(), equalTo(newerComment.getId()));
+        assertThat(last.getId(), equalTo(sameTimeComment.getId()));
+        assertThat(secondPage.size(), equalTo(1));
+        assertThat(secondPage.get(0).getId(), equalTo(comment.getId()));
+    }
+
     @Test
     void addComment_whenCommentValid_thenCommentSaved() {
         CommentDto newCommentDto = CommentDto.builder().text("new comment").build();
@@ -310,6 +359,22 @@ public class ItemServiceImplIntegrationTest {
         assertThat(actualCommentDto, equalTo(expectedCommentDto));
     }
 
+    @Test
+    void addComment_whenCommentSaved_thenItemStatisticsUpdated() {
+        CommentDto newCommentDto = CommentDto.builder().text("new comment").build();
+
+        itemService.addComment(user2.getId(), item1.getId(), newCommentDto);
+        itemService.addComment(user2.getId(), item1.getId(), newCommentDto);
+        List<ItemDto> actualList = itemService.getAllItemsWithText("description", ItemService.SearchSort.POPULARITY,
+                0, 10);
+
+        assertThat(actualList.get(0).getId(), equalTo(item1.getId()));
+        assertThat(actualList.get(0).getCommentCount(), equalTo(2L));
+        assertThat(actualList.get(0).getLastCommentCreated(), notNullValue());
+        assertThat(actualList.get(1).getId(), equalTo(item2.getId()));
+        assertThat(actualList.get(1).getCommentCount(), equalTo(0L));
+    }
+
 //    @Test
 //    void addComment_whenTextIsBlank_thenExceptionThrown() {
 //        CommentDto newCommentDto = CommentDto.builder().text("").build();
@@ -2,11 +2,14 @@ package ru.practicum.shareit.item;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.dto.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
@@ -19,6 +22,7 @@ import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.exception.*;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.UserRepository;
@@ -368,7 +372,7 @@ public class ItemServiceImplTest {
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(owner));
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
-        when(commentRepository.findAllByItemId(itemId)).thenReturn(List.of(comment));
+        when(commentRepository.findLatestByItemId(eq(itemId), any(Pageable.class))).thenReturn(List.of(comment));
         when(bookingRepository.findFirstByItemIdAndStartIsBeforeAndStatusOrderByStartDesc(
                 eq(itemId), any(LocalDateTime.class), eq(Booking.Status.APPROVED))).thenReturn(Optional.of(lastBooking));
         when(bookingRepository.findFirstByItemIdAndStartIsAfterAndStatusOrderByStartAsc(
@@ -421,7 +425,7 @@ public class ItemServiceImplTest {
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(owner));
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
-        when(commentRepository.findAllByItemId(itemId)).thenReturn(List.of(comment));
+        when(commentRepository.findLatestByItemId(eq(itemId), any(Pageable.class))).thenReturn(List.of(comment));
 
         ItemDto actualItemDto = itemService.getItemById(userId, itemId);
 
@@ -478,7 +482,7 @@ public class ItemServiceImplTest {
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(owner));
         when(itemRepository.findAllByOwnerId(eq(userId), any(Pageable.class))).thenReturn(List.of(item));
-        when(commentRepository.findAllByItemId(any(Long.class))).thenReturn(List.of());
+        when(commentRepository.findLatestIdsByItemIds(eq(List.of(itemId)), anyInt())).thenReturn(List.of());
 
         List<ItemDto> actualList = itemService.getAllItemsByUserId(userId, from, size);
 
@@ -525,22 +529,125 @@ public class ItemServiceImplTest {
         when(itemRepository.findAllContainingText(eq(searchString), any(Pageable.class)))
                 .thenReturn(List.of(item));
 
-        List<ItemDto> actualList = itemService.getAllItemsWithText(searchString, from, size);
+        List<ItemDto> actualList = itemService.getAllItemsWithText(searchString, ItemService.SearchSort.DEFAULT, from, size);
 
         assertThat(actualList, equalTo(List.of(expectedItemDto)));
     }
 
+    @Test
+    void getAllItemsWithText_whenSortByPopularity_thenOrderByCommentCount() {
+        long from = 0;
+        long size = 10;
+        String searchString = "script";
+        ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+
+        when(itemRepository.findAllContainingText(eq(searchString), pageableCaptor.capture()))
+                .thenReturn(List.of());
+
+        itemService.getAllItemsWithText(searchString, ItemService.SearchSort.POPULARITY, from, size);
+
+        assertThat(pageableCaptor.getValue().getSort(),
+                equalTo(Sort.by(Sort.Direction.DESC, "commentCount", "id")));
+    }
+
     @Test
     void getAllItemsWithText_whenTextBlank_thenReturnEmptyList() {
         long from = 0;
         long size = 10;
         String searchString = "";
 
-        List<ItemDto> actualList = itemService.getAllItemsWithText(searchString, from, size);
+        List<ItemDto> actualList = itemService.getAllItemsWithText(searchString, ItemService.SearchSort.DEFAULT, from, size);
 
         assertThat(actualList, equalTo(List.of()));
     }
 
+    @Test
+    void getItemComments_whenNoCursor_thenReturnLatestComments() {
+        long userId = 1;
+        long itemId = 1;
+        long size = 2;
+        User author = User.builder()
+                .id(userId)
+                .name("author")
+                .email("author@yandex.ru")
+                .build();
+        Comment comment = Comment.builder()
+                .id(3L)
+                .text("comment")
+                .author(author)
+                .created(LocalDateTime.of(2024, 03, 01, 12, 0))
+                .build();
+
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(itemRepository.existsById(itemId)).thenReturn(true);
+        when(commentRepository.findLatestByItemId(eq(itemId), any(Pageable.class))).thenReturn(List.of(comment));
+
+        List<CommentDto> actualList = itemService.getItemComments(userId, itemId, null, size);
+
+        assertThat(actualList, equalTo(List.of(CommentMapper.mapToCommentDto(comment))));
+        verify(commentRepository, never()).findLatestByItemIdBefore(anyLong(), any(), anyLong(), any());
+    }
+
+    @Test
+    void getItemComments_whenCursorProvided_thenReturnCommentsBeforeCursor() {
+        long userId = 1;
+        long itemId = 1;
+        long size = 2;
+        KeysetCursor before = new KeysetCursor(LocalDateTime.of(2024, 03, 01, 12, 0), 3L);
+
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(itemRepository.existsById(itemId)).thenReturn(true);
+        when(commentRepository.findLatestByItemIdBefore(eq(itemId), eq(before.getCreated()), eq(before.getId()),
+                any(Pageable.class))).thenReturn(List.of());
+
+        List<CommentDto> actualList = itemService.getItemComments(userId, itemId, before, size);
+
+        assertThat(actualList, equalTo(List.of()));
+        verify(commentRepository, never()).findLatestByItemId(anyLong(), any());
+    }
+
+    @Test
+    void getItemComments_whenSizeAtLimit_thenFullPageRequested() {
+        long userId = 1;
+        long itemId = 1;
+
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(itemRepository.existsById(itemId)).thenReturn(true);
+        when(commentRepository.findLatestByItemId(itemId, PageRequest.of(0, ItemServiceImpl.MAX_COMMENTS_PAGE_SIZE)))
+                .thenReturn(List.of());
+
+        List<CommentDto> actualList = itemService.getItemComments(userId, itemId, null,
+                ItemServiceImpl.MAX_COMMENTS_PAGE_SIZE);
+
+        assertThat(actualList, equalTo(List.of()));
+    }
+
+    @Test
+    void getItemComments_whenSizeTooLarge_thenSizeClamped() {
+        long userId = 1;
+        long itemId = 1;
+
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(itemRepository.existsById(itemId)).thenReturn(true);
+        when(commentRepository.findLatestByItemId(itemId, PageRequest.of(0, ItemServiceImpl.MAX_COMMENTS_PAGE_SIZE)))
+                .thenReturn(List.of());
+
+        List<CommentDto> actualList = itemService.getItemComments(userId, itemId, null, Long.MAX_VALUE);
+
+        assertThat(actualList, equalTo(List.of()));
+    }
+
+    @Test
+    void getItemComments_whenItemIdInvalid_thenExceptionThrown() {
+        long userId = 1;
+        long itemId = 1;
+
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(itemRepository.existsById(itemId)).thenReturn(false);
+
+        assertThrows(NoSuchEntityException.class, () -> itemService.getItemComments(userId, itemId, null, 10));
+    }
+
     @Test
     void addComment_whenCommentValid_thenCommentSaved() {
         long authorId = 2;
@@ -590,8 +697,8 @@ public class ItemServiceImplTest {
 
         when(userRepository.findById(authorId)).thenReturn(Optional.of(author));
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
-        when(bookingRepository.findFirstByBookerIdAndItemIdAndStatusIsAndEndIsBeforeOrderByEndDesc(
-                    eq(authorId), eq(itemId), eq(Booking.Status.APPROVED), any(LocalDateTime.class)))
+        when(bookingRepository.findLastApprovedEndedBefore(
+                    eq(authorId), eq(itemId), any(LocalDateTime.class)))
                 .thenReturn(Optional.of(finishedBooking));
         when(commentRepository.save(any(Comment.class))).thenReturn(savedComment);
 
@@ -599,6 +706,7 @@ public class ItemServiceImplTest {
 
         assertThat(actualCommentDto, equalTo(expectedCommentDto));
         verify(commentRepository, times(1)).save(any(Comment.class));
+        verify(itemRepository, times(1)).incrementCommentStatistics(eq(itemId), any(LocalDateTime.class));
     }
 
     @Test
@@ -650,8 +758,8 @@ public class ItemServiceImplTest {
 
         when(userRepository.findById(authorId)).thenReturn(Optional.of(author));
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
-        when(bookingRepository.findFirstByBookerIdAndItemIdAndStatusIsAndEndIsBeforeOrderByEndDesc(
-                eq(authorId), eq(itemId), eq(Booking.Status.APPROVED), any(LocalDateTime.class)))
+        when(bookingRepository.findLastApprovedEndedBefore(
+                eq(authorId), eq(itemId), any(LocalDateTime.class)))
                 .thenReturn(Optional.of(finishedBooking));
         when(commentRepository.save(any(Comment.class)))
                 .thenThrow(new DataIntegrityViolationException("Database error"));
@@ -718,8 +826,8 @@ public class ItemServiceImplTest {
 
         when(userRepository.findById(authorId)).thenReturn(Optional.of(author));
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
-        when(bookingRepository.findFirstByBookerIdAndItemIdAndStatusIsAndEndIsBeforeOrderByEndDesc(
-                eq(authorId), eq(itemId), eq(Booking.Status.APPROVED), any(LocalDateTime.class)))
+        when(bookingRepository.findLastApprovedEndedBefore(
+                eq(authorId), eq(itemId), any(LocalDateTime.class)))
                 .thenReturn(Optional.empty());
 
         assertThrows(NoFinishBookingForCommentException.class,
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exception.NoSuchUserException;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Transactional
+@SpringBootTest(properties = "db.name=test", webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ServiceTimingAspectIntegrationTest {
+
+    @Autowired
+    private final UserService userService;
+
+    @Autowired
+    private final MeterRegistry meterRegistry;
+
+    @Test
+    void addUser_whenCalled_thenServiceAndRepositoryTimersRecorded() {
+        long before = serviceCount("addUser", "none");
+
+        userService.addUser(UserDto.builder().name("user").email("timed@yandex.ru").build());
+
+        assertThat(serviceCount("addUser", "none"), equalTo(before + 1));
+        Timer repositoryTimer = meterRegistry.find("spring.data.repository.invocations")
+                .tag("repository", "UserRepository")
+                .timer();
+        assertThat(repositoryTimer, notNullValue());
+        assertThat(repositoryTimer.count(), greaterThanOrEqualTo(1L));
+    }
+
+    @Test
+    void deleteUserById_whenUserMissing_thenExceptionTagged() {
+        long before = serviceCount("deleteUserById", "NoSuchUserException");
+
+        assertThrows(NoSuchUserException.class, () -> userService.deleteUserById(Long.MAX_VALUE));
+
+        assertThat(serviceCount("deleteUserById", "NoSuchUserException"), equalTo(before + 1));
+    }
+
+    private long serviceCount(String method, String exception) {
+        Timer timer = meterRegistry.find("shareit.service")
+                .tag("service", "UserServiceImpl")
+                .tag("method", method)
+                .tag("exception", exception)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+}
@@ -0,0 +1,117 @@
+package ru.practicum.shareit.pool;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ConnectionPoolAutoSizerTest {
+
+    private static final String POOL = "shareit-primary";
+    private static final String REPLICA_POOL = "shareit-replica";
+
+    @Mock
+    private ConnectionPoolMonitor monitor;
+
+    @Mock
+    private ConnectionPoolMonitor.Pool pool;
+
+    @Mock
+    private ConnectionPoolMonitor.Pool replicaPool;
+
+    private SimpleMeterRegistry meterRegistry;
+    private Timer usage;
+    private ConnectionPoolProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        usage = Timer.builder("hikaricp.connections.usage").tag("pool", POOL).register(meterRegistry);
+        properties = new ConnectionPoolProperties();
+        properties.getAuto().setInterval(Duration.ofSeconds(10));
+        properties.getAuto().setHeadroom(1.5);
+        when(monitor.getPools()).thenReturn(List.of(pool));
+    }
+
+    @Test
+    void new_whenCreated_thenPoolSizedFromProcessorCount() {
+        new ConnectionPoolAutoSizer(monitor, properties, meterRegistry, 4, false);
+
+        verify(pool).resize(9);
+    }
+
+    @Test
+    void resize_whenConnectionsBusy_thenPoolGrowsWithHeadroom() {
+        ConnectionPoolAutoSizer sizer = new ConnectionPoolAutoSizer(monitor, properties, meterRegistry, 4, false);
+        when(pool.getPoolName()).thenReturn(POOL);
+        when(pool.getMaximumPoolSize()).thenReturn(9);
+        when(pool.snapshot()).thenReturn(Optional.of(new ConnectionPoolMonitor.Snapshot(9, 0, 9, 2, 9)));
+
+        sizer.resize();
+        usage.record(Duration.ofSeconds(80));
+        sizer.resize();
+
+        verify(pool).resize(14);
+    }
+
+    @Test
+    void resize_whenPoolIdle_thenShrunkToMinimum() {
+        properties.getAuto().setMinSize(3);
+        ConnectionPoolAutoSizer sizer = new ConnectionPoolAutoSizer(monitor, properties, meterRegistry, 4, false);
+        when(pool.getPoolName()).thenReturn(POOL);
+        when(pool.getMaximumPoolSize()).thenReturn(9);
+        when(pool.snapshot()).thenReturn(Optional.of(new ConnectionPoolMonitor.Snapshot(0, 3, 3, 0, 9)));
+
+        sizer.resize();
+        usage.record(Duration.ofMillis(100));
+        sizer.resize();
+
+        verify(pool).resize(3);
+    }
+
+    @Test
+    void resize_whenReplicaPoolBusy_thenOnlyReplicaPoolGrows() {
+        when(monitor.getPools()).thenReturn(List.of(pool, replicaPool));
+        Timer replicaUsage = Timer.builder("hikaricp.connections.usage").tag("pool", REPLICA_POOL)
+                .register(meterRegistry);
+        ConnectionPoolAutoSizer sizer = new ConnectionPoolAutoSizer(monitor, properties, meterRegistry, 4, false);
+        when(pool.getPoolName()).thenReturn(POOL);
+        when(pool.getMaximumPoolSize()).thenReturn(9);
+        when(pool.snapshot()).thenReturn(Optional.of(new ConnectionPoolMonitor.Snapshot(6, 3, 9, 0, 9)));
+        when(replicaPool.getPoolName()).thenReturn(REPLICA_POOL);
+        when(replicaPool.getMaximumPoolSize()).thenReturn(9);
+        when(replicaPool.snapshot()).thenReturn(Optional.of(new ConnectionPoolMonitor.Snapshot(9, 0, 9, 2, 9)));
+
+        sizer.resize();
+        usage.record(Duration.ofSeconds(60));
+        replicaUsage.record(Duration.ofSeconds(80));
+        sizer.resize();
+
+        verify(pool, never()).resize(14);
+        verify(replicaPool).resize(14);
+    }
+
+    @Test
+    void resize_whenFirstSample_thenPoolNotResized() {
+        ConnectionPoolAutoSizer sizer = new ConnectionPoolAutoSizer(monitor, properties, meterRegistry, 4, false);
+        when(pool.getPoolName()).thenReturn(POOL);
+        usage.record(Duration.ofSeconds(80));
+
+        sizer.resize();
+
+        verify(pool, never()).resize(14);
+    }
+
+}
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.pool;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+
+@Transactional
+@SpringBootTest(properties = "db.name=test", webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ConnectionPoolHealthIndicatorIntegrationTest {
+
+    @Autowired
+    private final ConnectionPoolHealthIndicator healthIndicator;
+
+    @Autowired
+    private final ConnectionPoolMonitor connectionPoolMonitor;
+
+    @Autowired
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    private final UserRepository userRepository;
+
+    @Test
+    void health_whenPoolHasHeadroom_thenUpWithPoolDetails() {
+        userRepository.count();
+
+        Health health = healthIndicator.health();
+
+        assertThat(health.getStatus(), equalTo(Status.UP));
+        assertThat(health.getDetails().keySet(), contains("shareit-primary", "sizing"));
+        assertThat(((Map<?, ?>) health.getDetails().get("shareit-primary")).get("maximumPoolSize"), equalTo(20));
+    }
+
+    @Test
+    void health_whenActiveShareOverThreshold_thenSaturatedReported() {
+        userRepository.count();
+        ConnectionPoolProperties properties = new ConnectionPoolProperties();
+        properties.setSaturationThreshold(0.01);
+
+        Health health = new ConnectionPoolHealthIndicator(connectionPoolMonitor, properties).health();
+
+        assertThat(health.getStatus(), equalTo(ConnectionPoolHealthIndicator.SATURATED));
+    }
+
+    @Test
+    void acquireTimer_whenConnectionsUsed_thenRecorded() {
+        userRepository.count();
+
+        assertThat(meterRegistry.find("hikaricp.connections.acquire").tag("pool", "shareit-primary").timer(),
+                notNullValue());
+    }
+
+}
@@ -10,15 +10,18 @@ import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.exception.HasNotSavedException;
 import ru.practicum.shareit.exception.NoSuchEntityException;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -191,6 +194,25 @@ public class ItemRequestControllerTest {
         verify(itemRequestService).getItemRequestsAllButOwner(requesterId, from, size);
     }
 
+    @Test
+    void getItemRequestsAllButOwner_WithCursorTest() throws Exception {
+        long requesterId = 2L;
+        long size = 10;
+        KeysetCursor before = new KeysetCursor(LocalDateTime.of(2024, 1, 1, 12, 0), 7L);
+
+        when(itemRequestService.getItemRequestsAllButOwner(requesterId, before, size))
+                .thenReturn(List.of());
+
+        mvc.perform(get("/requests/all?before={before}&size={size}", "2024-01-01T12:00:00,7", size)
+                        .header("X-Sharer-User-Id", requesterId)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        verify(itemRequestService).getItemRequestsAllButOwner(requesterId, before, size);
+        verify(itemRequestService, never()).getItemRequestsAllButOwner(anyLong(), anyLong(), anyLong());
+    }
+
     @Test
     void getItemRequestsAllButOwner_NoSuchUserExceptionTest() throws Exception {
         long requesterId = 2L;
@@ -10,6 +10,7 @@ import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.UserRepository;
@@ -156,6 +157,25 @@ public class ItemRequestServiceImplIntegrationTest {
         assertThat(actualList, equalTo(List.of(expectedItemRequestDto)));
     }
 
+    @Test
+    void getItemRequestsAllButOwner_whenCursorProvided_thenOlderRequestsReturned() {
+        LocalDateTime created = LocalDateTime.of(2024, 1, 1, 12, 0);
+        ItemRequest olderRequest = itemRequestRepository.save(ItemRequest.builder()
+                .description("older").requester(user4).created(created.minusDays(1)).build());
+        ItemRequest sameTimeRequest1 = itemRequestRepository.save(ItemRequest.builder()
+                .description("same time 1").requester(user4).created(created).build());
+        ItemRequest sameTimeRequest2 = itemRequestRepository.save(ItemRequest.builder()
+                .description("same time 2").requester(user4).created(created).build());
+
+        List<ItemRequestDto> actualList = itemRequestService.getItemRequestsAllButOwner(user2.getId(),
+                new KeysetCursor(created, sameTimeRequest2.getId()), 10);
+
+        assertThat(actualList.size(), equalTo(2));
+        assertThat(actualList.get(0).getId(), equalTo(sameTimeRequest1.getId()));
+        assertThat(actualList.get(1).getId(), equalTo(olderRequest.getId()));
+        assertThat(actualList.get(1).getItems(), equalTo(List.of()));
+    }
+
 //    @Test
 //    void getItemRequestsAllButOwner_whenFromNegative_thenExceptionThrown() {
 //        long from = -1L;
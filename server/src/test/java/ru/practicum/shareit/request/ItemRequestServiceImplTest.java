@@ -7,10 +7,12 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import ru.practicum.shareit.exception.HasNotSavedException;
 import ru.practicum.shareit.exception.NoSuchEntityException;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemShort;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -18,7 +20,9 @@ import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -151,13 +155,27 @@ public class ItemRequestServiceImplTest {
         when(userRepository.findById(requesterId)).thenReturn(Optional.of(requester));
         when(itemRequestRepository.findAllByRequesterIdOrderByCreatedDesc(requesterId))
                 .thenReturn(List.of(itemRequest));
-        when(itemRepository.findAllByRequestIdIn(List.of(requestId))).thenReturn(List.of(item));
+        when(itemRepository.findAllShortByRequestIdIn(List.of(requestId))).thenReturn(List.of(toItemShort(item)));
 
         List<ItemRequestDto> actualList = itemRequestService.getItemRequestsByOwner(requesterId);
 
         assertThat(actualList, equalTo(List.of(expectedItemRequestDto)));
     }
 
+    @Test
+    void getItemRequestsByOwner_whenNoRequests_thenItemsNotQueried() {
+        long requesterId = 2L;
+        User requester = User.builder().id(requesterId).name("requester").email("requester@yandex.ru").build();
+
+        when(userRepository.findById(requesterId)).thenReturn(Optional.of(requester));
+        when(itemRequestRepository.findAllByRequesterIdOrderByCreatedDesc(requesterId)).thenReturn(List.of());
+
+        List<ItemRequestDto> actualList = itemRequestService.getItemRequestsByOwner(requesterId);
+
+        assertThat(actualList, equalTo(List.of()));
+        verify(itemRepository, never()).findAllShortByRequestIdIn(any());
+    }
+
     @Test
     void getItemRequestsByOwner_whenRequestorInvalid_thenExceptionThrown() {
         long requesterId = 3L;
@@ -211,7 +229,7 @@ public class ItemRequestServiceImplTest {
         when(userRepository.findById(requesterId)).thenReturn(Optional.of(requester));
         when(itemRequestRepository.findAllByRequesterIdIsNot(eq(requesterId), any(Pageable.class)))
                 .thenReturn(List.of(itemRequest));
-        when(itemRepository.findAllByRequestIdIn(List.of(requestId))).thenReturn(List.of(item));
+        when(itemRepository.findAllShortByRequestIdIn(List.of(requestId))).thenReturn(List.of(toItemShort(item)));
 
         List<ItemRequestDto> actualList = itemRequestService.getItemRequestsAllButOwner(requesterId, from, size);
 
@@ -298,4 +316,17 @@ public class ItemRequestServiceImplTest {
         assertThrows(NoSuchEntityException.class,
                 () -> itemRequestService.getItemRequestById(requesterId, requestId));
     }
+
+    private ItemShort toItemShort(Item item) {
+        Map<String, Object> values = new HashMap<>();
+        values.put("id", item.getId());
+        values.put("name", item.getName());
+        values.put("description", item.getDescription());
+        values.put("available", item.getAvailable());
+        values.put("requestId", item.getRequest().getId());
+        values.put("commentCount", item.getCommentCount());
+        values.put("lastCommentCreated", item.getLastCommentCreated());
+        return new SpelAwareProxyProjectionFactory().createProjection(ItemShort.class, values);
+    }
+
 }
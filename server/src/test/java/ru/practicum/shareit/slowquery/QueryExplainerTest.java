@@ -0,0 +1,41 @@
+package ru.practicum.shareit.slowquery;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+public class QueryExplainerTest {
+
+    @Test
+    void explainCommand_whenPlainSelect_thenAnalyzed() {
+        assertThat(QueryExplainer.explainCommand(" select * from bookings where booker_id = ?"),
+                equalTo("EXPLAIN (ANALYZE, BUFFERS) "));
+        assertThat(QueryExplainer.explainCommand("WITH recent AS (SELECT * FROM bookings) SELECT * FROM recent"),
+                equalTo("EXPLAIN (ANALYZE, BUFFERS) "));
+    }
+
+    @Test
+    void explainCommand_whenLockingSelect_thenNotAnalyzed() {
+        assertThat(QueryExplainer.explainCommand("select rolled_over_to from booking_counters_rollover for update"),
+                equalTo("EXPLAIN "));
+        assertThat(QueryExplainer.explainCommand("SELECT * FROM bookings b FOR NO KEY UPDATE SKIP LOCKED"),
+                equalTo("EXPLAIN "));
+        assertThat(QueryExplainer.explainCommand("select * from booking_counters_rollover for share"),
+                equalTo("EXPLAIN "));
+    }
+
+    @Test
+    void explainCommand_whenDataModifyingCte_thenNotAnalyzed() {
+        assertThat(QueryExplainer.explainCommand("with moved as (delete from bookings where end_date < ? "
+                + "returning *) insert into bookings_archive select * from moved"), equalTo("EXPLAIN "));
+    }
+
+    @Test
+    void explainCommand_whenNotQuery_thenSkipped() {
+        assertThat(QueryExplainer.explainCommand("update bookings set status = ? where id = ?"), nullValue());
+        assertThat(QueryExplainer.explainCommand("insert into users (name, email) values (?, ?)"), nullValue());
+    }
+
+}
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.slowquery;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+
+@Transactional
+@SpringBootTest(properties = {"db.name=test", "shareit-server.slow-query.threshold=0ms"},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class SlowQueryLogIntegrationTest {
+
+    @Autowired
+    private final SlowQueryLog slowQueryLog;
+
+    @Autowired
+    private final UserRepository userRepository;
+
+    @BeforeEach
+    void clearLog() {
+        slowQueryLog.clear();
+    }
+
+    @Test
+    void findIdByNormalizedEmail_whenOverThreshold_thenStatementAndParameterShapesRecorded() {
+        userRepository.findIdByNormalizedEmail("someone@yandex.ru");
+
+        List<SlowQuery> slowQueries = slowQueryLog.recent();
+        assertThat(slowQueries, hasSize(1));
+        SlowQuery slowQuery = slowQueries.get(0);
+        assertThat(slowQuery.getRepository(), equalTo("UserRepository"));
+        assertThat(slowQuery.getMethod(), equalTo("findIdByNormalizedEmail"));
+        assertThat(slowQuery.getStatements(), hasSize(1));
+        SlowStatement statement = slowQuery.getStatements().get(0);
+        assertThat(statement.getSql(), containsString("normalized_email"));
+        assertThat(statement.getParameterShapes(), equalTo(List.of("String(17)")));
+        assertThat(statement.getPlanStatus(), not(equalTo(SlowStatement.PlanStatus.NOT_REQUESTED)));
+    }
+
+    @Test
+    void recent_whenSeveralCallsRecorded_thenNewestFirst() {
+        userRepository.findIdByNormalizedEmail("first@yandex.ru");
+        userRepository.existsById(1L);
+
+        List<SlowQuery> slowQueries = slowQueryLog.recent();
+        assertThat(slowQueries, hasSize(2));
+        assertThat(slowQueries.get(0).getMethod(), equalTo("existsById"));
+        assertThat(slowQueries.get(1).getMethod(), equalTo("findIdByNormalizedEmail"));
+    }
+
+}
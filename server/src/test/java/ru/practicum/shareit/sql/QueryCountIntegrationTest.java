@@ -0,0 +1,243 @@
+package ru.practicum.shareit.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.summary.BookingCounters;
+import ru.practicum.shareit.booking.summary.BookingRole;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.sql.SqlStatementAssertions.assertMaxStatements;
+
+@Transactional
+@AutoConfigureMockMvc
+@SpringBootTest(properties = "db.name=test")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class QueryCountIntegrationTest {
+
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final int ITEMS = 5;
+
+    @Autowired
+    private final MockMvc mockMvc;
+
+    @Autowired
+    private final EntityManager entityManager;
+
+    @Autowired
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    private final UserRepository userRepository;
+
+    @Autowired
+    private final ItemRepository itemRepository;
+
+    @Autowired
+    private final ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private final BookingRepository bookingRepository;
+
+    @Autowired
+    private final CommentRepository commentRepository;
+
+    @Autowired
+    private final BookingCounters bookingCounters;
+
+    private User owner;
+    private User booker;
+    private ItemRequest itemRequest;
+    private final List<Item> items = new ArrayList<>();
+    private final List<Booking> waitingBookings = new ArrayList<>();
+
+    @BeforeEach
+    void fillDataBase() {
+        LocalDateTime now = LocalDateTime.now();
+        owner = userRepository.save(User.builder().name("owner").email("owner@yandex.ru").build());
+        booker = userRepository.save(User.builder().name("booker").email("booker@yandex.ru").build());
+        itemRequest = itemRequestRepository.save(ItemRequest.builder()
+                .description("description").requester(booker).created(now.minusDays(10)).build());
+        for (int i = 0; i < ITEMS; i++) {
+            Item item = itemRepository.save(Item.builder()
+                    .name("item" + i).description("drill " + i).available(true).owner(owner)
+                    .request(itemRequest).build());
+            items.add(item);
+            bookingRepository.save(Booking.builder().item(item).booker(booker)
+                    .start(now.minusDays(5)).end(now.minusDays(4)).status(Booking.Status.APPROVED).build());
+            waitingBookings.add(bookingRepository.save(Booking.builder().item(item).booker(booker)
+                    .start(now.plusDays(4)).end(now.plusDays(5)).status(Booking.Status.WAITING).build()));
+            commentRepository.save(Comment.builder().item(item).author(booker).text("comment " + i)
+                    .created(now.minusDays(3)).build());
+        }
+        bookingCounters.getSummary(owner.getId(), BookingRole.OWNER);
+        bookingCounters.getSummary(booker.getId(), BookingRole.BOOKER);
+    }
+
+    @Test
+    void addUser_whenRequested_thenWithinStatementBudget() throws Throwable {
+        assertQueries(1, post("/users").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"new\",\"email\":\"new@yandex.ru\"}"));
+    }
+
+    @Test
+    void updateUserData_whenRequested_thenWithinStatementBudget() throws Throwable {
+        assertQueries(2, patch("/users/" + owner.getId()).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"renamed\"}"));
+    }
+
+    @Test
+    void getAllUsers_whenRequested_thenWithinStatementBudget() throws Throwable {
+        assertQueries(1, get("/users"));
+    }
+
+    @Test
+    void lookupUsers_whenRequested_thenWithinStatementBudget() throws Throwable {
+        assertQueries(1, get("/users").param("ids", owner.getId() + "," + booker.getId()));
+    }
+
+    @Test
+    void getUserById_whenRequested_thenWithinStatementBudget() throws Throwable {
+        assertQueries(1, get("/users/" + owner.getId()));
+    }
+
+    @Test
+    void addItem_whenRequested_thenWithinStatementBudget() throws Throwable {
+        assertQueries(2, post("/items").header(USER_HEADER, owner.getId()).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"saw\",\"description\":\"saw\",\"available\":true}"));
+    }
+
+    @Test
+    void updateItemData_whenRequested_thenWithinStatementBudget() throws Throwable {
+        assertQueries(2, patch("/items/" + items.get(0).getId()).header(USER_HEADER, owner.getId())
+                .contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"renamed\"}"));
+    }
+
+    @Test
+    void getItemById_whenRequested_thenWithinStatementBudget() throws Throwable {
+        assertQueries(5, get("/items/" + items.get(0).getId()).header(USER_HEADER, owner.getId()));
+    }
+
+    @Test
+    void getAllItemsByUserId_whenRequested_thenWithinStatementBudget() throws Throwable {
+        assertQueries(6, get("/items").header(USER_HEADER, owner.getId()));
+    }
+
+    @Test
+    void getAllItemsWithText_whenRequested_thenWithinStatementBudget() throws Throwable {
+        assertQueries(1, get("/items/search").param("text", "drill"));
+    }
+
+    @Test
+    void getItemComments_whenRequested_thenWithinStatementBudget() throws Throwable {
+        assertQueries(3, get("/items/" + items.get(0).getId() + "/comments").header(USER_HEADER, booker.getId()));
+    }
+
+    @Test
+    void addComment_whenRequested_thenWithinStatementBudget() throws Throwable {
+        assertQueries(5, post("/items/" + items.get(0).getId() + "/comment").header(USER_HEADER, booker.getId())
+                .contentType(MediaType.APPLICATION_JSON).content("{\"text\":\"great\"}"));
+    }
+
+    @Test
+    void addBooking_whenRequested_thenWithinStatementBudget() throws Throwable {
+        LocalDateTime start = LocalDateTime.now().plusDays(10).withNano(0);
+        assertQueries(6, post("/bookings").header(USER_HEADER, booker.getId())
+                .contentType(MediaType.APPLICATION_JSON).content("{\"itemId\":" + items.get(0).getId()
+                        + ",\"start\":\"" + start + "\",\"end\":\"" + start.plusDays(1) + "\"}"));
+    }
+
+    @Test
+    void approveOrRejectBooking_whenRequested_thenWithinStatementBudget() throws Throwable {
+        assertQueries(5, patch("/bookings/" + waitingBookings.get(0).getId()).param("approved", "true")
+                .header(USER_HEADER, owner.getId()));
+    }
+
+    @Test
+    void getBookingById_whenRequested_thenWithinStatementBudget() throws Throwable {
+        assertQueries(2, get("/bookings/" + waitingBookings.get(0).getId()).header(USER_HEADER, booker.getId()));
+    }
+
+    @Test
+    void getAllBookingsByUser_whenRequested_thenWithinStatementBudget() throws Throwable {
+        assertQueries(3, get("/bookings").header(USER_HEADER, booker.getId()));
+    }
+
+    @Test
+    void getAllBookingsAllItemsByOwner_whenRequested_thenWithinStatementBudget() throws Throwable {
+        assertQueries(3, get("/bookings/owner").header(USER_HEADER, owner.getId()));
+    }
+
+    @Test
+    void addItemRequest_whenRequested_thenWithinStatementBudget() throws Throwable {
+        assertQueries(2, post("/requests").header(USER_HEADER, booker.getId())
+                .contentType(MediaType.APPLICATION_JSON).content("{\"description\":\"need a saw\"}"));
+    }
+
+    @Test
+    void getItemRequestsByOwner_whenRequested_thenWithinStatementBudget() throws Throwable {
+        assertQueries(3, get("/requests").header(USER_HEADER, booker.getId()));
+    }
+
+    @Test
+    void getItemRequestsAllButOwner_whenRequested_thenWithinStatementBudget() throws Throwable {
+        assertQueries(3, get("/requests/all").header(USER_HEADER, owner.getId()));
+    }
+
+    @Test
+    void getItemRequestById_whenRequested_thenWithinStatementBudget() throws Throwable {
+        assertQueries(3, get("/requests/" + itemRequest.getId()).header(USER_HEADER, owner.getId()));
+    }
+
+    @Test
+    void getUserById_whenRequested_thenStatementsRecordedPerEndpoint() throws Exception {
+        mockMvc.perform(get("/users/" + owner.getId())).andExpect(status().isOk());
+
+        DistributionSummary statements = meterRegistry.find("shareit.sql.statements")
+                .tags("method", "GET", "uri", "/users/{userId}")
+                .summary();
+        assertThat(statements, notNullValue());
+        assertThat(statements.count(), greaterThanOrEqualTo(1L));
+        assertThat(statements.max(), greaterThanOrEqualTo(1.0));
+    }
+
+    private void assertQueries(long maxStatements, MockHttpServletRequestBuilder request) throws Throwable {
+        entityManager.flush();
+        entityManager.clear();
+        assertMaxStatements(maxStatements, () -> {
+            mockMvc.perform(request).andExpect(status().isOk());
+            entityManager.flush();
+        });
+    }
+
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.sql;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.function.Executable;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class SqlStatementAssertions {
+
+    public static void assertMaxStatements(long maxStatements, Executable action) throws Throwable {
+        SqlStatementCounter.Snapshot snapshot = SqlStatementCounter.snapshot();
+        action.execute();
+        assertThat("SQL statements executed", snapshot.statementsSince(), lessThanOrEqualTo(maxStatements));
+    }
+
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.tracing;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasItems;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Transactional
+@AutoConfigureMockMvc
+@SpringBootTest(properties = "db.name=test")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class TracingIntegrationTest {
+
+    private static final String TRACE_ID = "0af7651916cd43dd8448eb211c80319c";
+
+    @Autowired
+    private final MockMvc mockMvc;
+
+    @Autowired
+    private final SpanRecorder spanRecorder;
+
+    @Test
+    void addUser_whenTraceparentSent_thenServerServiceAndJdbcSpansRecorded() throws Exception {
+        mockMvc.perform(post("/users")
+                        .header(Tracer.TRACEPARENT_HEADER, "00-" + TRACE_ID + "-b7ad6b7169203331-01")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"user\",\"email\":\"traced@yandex.ru\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(Tracer.TRACE_ID_HEADER, TRACE_ID));
+
+        List<Span> spans = spanRecorder.findTrace(TRACE_ID);
+        List<String> names = spans.stream().map(Span::getName).collect(Collectors.toList());
+        assertThat(names, hasItems("POST /users", "UserServiceImpl.addUser"));
+        assertThat(spans.stream().map(Span::getKind).collect(Collectors.toList()), hasItem(SpanKind.CLIENT));
+        Span serverSpan = spans.stream().filter(span -> span.getKind() == SpanKind.SERVER).findFirst().orElseThrow();
+        Span serviceSpan = spans.stream().filter(span -> span.getKind() == SpanKind.INTERNAL).findFirst().orElseThrow();
+        assertThat(serviceSpan.getParentSpanId(), equalTo(serverSpan.getSpanId()));
+    }
+
+}
@@ -0,0 +1,81 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class EmailRegistryTest {
+
+    @Mock
+    UserRepository userRepository;
+
+    @InjectMocks
+    EmailRegistry emailRegistry;
+
+    @Test
+    void warmUp_whenUsersExist_thenAllEmailsLoaded() {
+        when(userRepository.findAllDtoByIdGreaterThan(0L, PageRequest.of(0, EmailRegistry.WARM_UP_BATCH_SIZE)))
+                .thenReturn(List.of(new UserDto(1L, "user1", "user1@yandex.ru"),
+                        new UserDto(2L, "user2", "User2@Yandex.ru")));
+
+        emailRegistry.warmUp();
+
+        assertThat(emailRegistry.size(), equalTo(2));
+    }
+
+    @Test
+    void isTaken_whenEmailUnknown_thenDatabaseNotQueried() {
+        assertThat(emailRegistry.isTaken("user@yandex.ru"), equalTo(false));
+        verify(userRepository, never()).findIdByNormalizedEmail(anyString());
+    }
+
+    @Test
+    void isTaken_whenEmailRegisteredInOtherCase_thenConfirmedByDatabase() {
+        emailRegistry.registerAfterCommit(1L, "user@yandex.ru", null);
+
+        when(userRepository.findIdByNormalizedEmail("user@yandex.ru")).thenReturn(Optional.of(1L));
+
+        assertThat(emailRegistry.isTaken("USER@yandex.ru "), equalTo(true));
+    }
+
+    @Test
+    void isTaken_whenEntryStale_thenEntryEvicted() {
+        emailRegistry.registerAfterCommit(1L, "user@yandex.ru", null);
+
+        when(userRepository.findIdByNormalizedEmail("user@yandex.ru")).thenReturn(Optional.empty());
+
+        assertThat(emailRegistry.isTaken("user@yandex.ru"), equalTo(false));
+        assertThat(emailRegistry.size(), equalTo(0));
+    }
+
+    @Test
+    void isTakenByOther_whenEmailBelongsToSameUser_thenNotTaken() {
+        emailRegistry.registerAfterCommit(1L, "user@yandex.ru", null);
+
+        assertThat(emailRegistry.isTakenByOther("User@yandex.ru", 1L), equalTo(false));
+        verify(userRepository, never()).findIdByNormalizedEmail(anyString());
+    }
+
+    @Test
+    void registerAfterCommit_whenEmailChanged_thenPreviousEmailReleased() {
+        emailRegistry.registerAfterCommit(1L, "user@yandex.ru", null);
+        emailRegistry.registerAfterCommit(1L, "updated@yandex.ru", "user@yandex.ru");
+
+        assertThat(emailRegistry.size(), equalTo(1));
+        assertThat(emailRegistry.isTaken("user@yandex.ru"), equalTo(false));
+    }
+
+}
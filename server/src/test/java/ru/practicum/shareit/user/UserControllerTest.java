@@ -8,20 +8,28 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import ru.practicum.shareit.exception.HasNotSavedException;
 import ru.practicum.shareit.exception.NoSuchEntityException;
+import ru.practicum.shareit.exception.NoSuchUserException;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserLookupDto;
 
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = UserController.class)
@@ -129,7 +137,7 @@ public class UserControllerTest {
 
     @Test
     void getAllUsersTest() throws Exception {
-        when(mockUserService.getAllUsers())
+        when(mockUserService.getAllUsers(0L, 1000))
                 .thenReturn(List.of(userDtoUpdateOut));
         mvc.perform(get("/users").accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
@@ -139,6 +147,67 @@ public class UserControllerTest {
                 .andExpect(jsonPath("$[0].email", is(userDtoUpdateOut.getEmail())));
     }
 
+    @Test
+    void getAllUsers_whenPageRequested_thenPageParamsPassed() throws Exception {
+        when(mockUserService.getAllUsers(5L, 20))
+                .thenReturn(List.of(userDtoUpdateOut));
+        mvc.perform(get("/users")
+                        .param("afterId", "5")
+                        .param("size", "20")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()", is(1)));
+    }
+
+    @Test
+    void getUsersByIdsTest() throws Exception {
+        when(mockUserService.lookupUsers(List.of(1L, 2L)))
+                .thenReturn(List.of(new UserLookupDto(1L, true, userDtoAddOut), new UserLookupDto(2L, false, null)));
+        mvc.perform(get("/users")
+                        .param("ids", "1,2")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()", is(2)))
+                .andExpect(jsonPath("$[0].found", is(true)))
+                .andExpect(jsonPath("$[0].user.name", is(userDtoAddOut.getName())))
+                .andExpect(jsonPath("$[1].id", is(2L), Long.class))
+                .andExpect(jsonPath("$[1].found", is(false)));
+    }
+
+    @Test
+    void lookupUsersTest() throws Exception {
+        when(mockUserService.lookupUsers(List.of(2L, 1L)))
+                .thenReturn(List.of(new UserLookupDto(2L, false, null), new UserLookupDto(1L, true, userDtoAddOut)));
+        mvc.perform(post("/users/lookup")
+                        .content(mapper.writeValueAsString(List.of(2L, 1L)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].found", is(false)))
+                .andExpect(jsonPath("$[1].user.id", is(1L), Long.class));
+    }
+
+    @Test
+    void streamAllUsersTest() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<UserDto> consumer = invocation.getArgument(0);
+            consumer.accept(userDtoAddOut);
+            consumer.accept(userDtoUpdateOut);
+            return null;
+        }).when(mockUserService).streamAllUsers(any());
+
+        MvcResult mvcResult = mvc.perform(get("/users/stream").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(mapper.writeValueAsString(userDtoAddOut) + "\n"
+                        + mapper.writeValueAsString(userDtoUpdateOut) + "\n"));
+    }
+
     @Test
     void getUserByIdTest() throws Exception {
         when(mockUserService.getUserById(1L))
@@ -162,6 +231,15 @@ public class UserControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void getUserById_whenUserMissing_thenMissingUserIdHeaderSet() throws Exception {
+        when(mockUserService.getUserById(7L))
+                .thenThrow(new NoSuchUserException(7L, "Error"));
+        mvc.perform(get("/users/7").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound())
+                .andExpect(header().string("X-Missing-User-Id", "7"));
+    }
+
     @Test
     void deleteUserByIdTest() throws Exception {
         mvc.perform(delete("/users/1").accept(MediaType.APPLICATION_JSON))
@@ -6,15 +6,31 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.exception.HasNotSavedException;
 import ru.practicum.shareit.exception.NoSuchEntityException;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserLookupDto;
+import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @Transactional
@@ -25,9 +41,24 @@ public class UserServiceImplIntegrationTest {
     @Autowired
     private final UserServiceImpl userService;
 
+    @Autowired
+    private final ItemService itemService;
+
     @Autowired
     private final UserRepository userRepository;
 
+    @Autowired
+    private final ItemRepository itemRepository;
+
+    @Autowired
+    private final ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private final BookingRepository bookingRepository;
+
+    @Autowired
+    private final CommentRepository commentRepository;
+
     private User user1;
 
     @BeforeEach
@@ -72,6 +103,17 @@ public class UserServiceImplIntegrationTest {
 //        assertThrows(ConstraintViolationException.class, () -> userService.addUser(newUserDto));
 //    }
 
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void addUser_whenEmailDiffersOnlyInCase_thenExceptionThrown() {
+        UserDto firstUserDto = UserDto.builder().name("user").email("user@yandex.ru").build();
+        UserDto duplicateUserDto = UserDto.builder().name("duplicate").email(" USER@yandex.ru").build();
+
+        userService.addUser(firstUserDto);
+
+        assertThrows(HasNotSavedException.class, () -> userService.addUser(duplicateUserDto));
+    }
+
     @Test
     void updateUserData_whenUserValid_thenUserUpdated() {
         UserDto toUpdateUserDto = UserDto.builder().name("user1-updated").build();
@@ -94,11 +136,36 @@ public class UserServiceImplIntegrationTest {
                 .email(user1.getEmail())
                 .build();
 
-        List<UserDto> actualList = userService.getAllUsers();
+        List<UserDto> actualList = userService.getAllUsers(0L, 10);
 
         assertThat(actualList, equalTo(List.of(expectedUserDto)));
     }
 
+    @Test
+    void getAllUsers_whenAfterIdProvided_thenNextPageReturned() {
+        User user2 = userRepository.save(User.builder().name("user2").email("user2@yandex.ru").build());
+        User user3 = userRepository.save(User.builder().name("user3").email("user3@yandex.ru").build());
+
+        List<UserDto> firstPage = userService.getAllUsers(0L, 2);
+        List<UserDto> secondPage = userService.getAllUsers(firstPage.get(1).getId(), 2);
+
+        assertThat(firstPage.size(), equalTo(2));
+        assertThat(firstPage.get(0).getId(), equalTo(user1.getId()));
+        assertThat(firstPage.get(1).getId(), equalTo(user2.getId()));
+        assertThat(secondPage, equalTo(List.of(UserMapper.mapToUserDto(user3))));
+    }
+
+    @Test
+    void lookupUsers_whenIdsMixed_thenFoundAndMissingFlagged() {
+        long missingId = user1.getId() + 100;
+
+        List<UserLookupDto> actualList = userService.lookupUsers(List.of(missingId, user1.getId()));
+
+        assertThat(actualList, equalTo(List.of(
+                new UserLookupDto(missingId, false, null),
+                new UserLookupDto(user1.getId(), true, UserMapper.mapToUserDto(user1)))));
+    }
+
     @Test
     void getUserById_whenInputValid_thenDtoReturned() {
         UserDto expectedUserDto = UserDto.builder()
@@ -113,10 +180,52 @@ public class UserServiceImplIntegrationTest {
     }
 
     @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     void deleteUserById_whenInvoked_thenUserDeleted() {
         userService.deleteUserById(user1.getId());
 
         assertThrows(NoSuchEntityException.class, () -> userService.getUserById(user1.getId()));
     }
 
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void deleteUserById_whenUserHasDependentRows_thenDependentRowsRemoved() {
+        User other = userRepository.save(User.builder().name("other").email("other@yandex.ru").build());
+        ItemRequest request = itemRequestRepository.save(ItemRequest.builder()
+                .description("request").requester(user1).created(LocalDateTime.now()).build());
+        Item ownItem = itemRepository.save(Item.builder()
+                .name("own").description("own item").available(true).owner(user1).build());
+        Item otherItem = itemRepository.save(Item.builder()
+                .name("other").description("other item").available(true).owner(other).request(request).build());
+        bookingRepository.save(Booking.builder()
+                .start(LocalDateTime.now().minusDays(2)).end(LocalDateTime.now().minusDays(1))
+                .item(ownItem).booker(other).status(Booking.Status.APPROVED).build());
+        bookingRepository.save(Booking.builder()
+                .start(LocalDateTime.now().minusDays(2)).end(LocalDateTime.now().minusDays(1))
+                .item(otherItem).booker(user1).status(Booking.Status.APPROVED).build());
+        commentRepository.save(Comment.builder()
+                .text("own item comment").item(ownItem).author(other).created(LocalDateTime.now()).build());
+        itemService.addComment(user1.getId(), otherItem.getId(), CommentDto.builder().text("other item comment").build());
+
+        userService.deleteUserById(user1.getId());
+
+        Item actualOtherItem = itemRepository.findById(otherItem.getId()).orElseThrow();
+        assertThat(userRepository.existsById(user1.getId()), equalTo(false));
+        assertThat(userRepository.existsById(other.getId()), equalTo(true));
+        assertThat(itemRepository.existsById(ownItem.getId()), equalTo(false));
+        assertThat(itemRequestRepository.existsById(request.getId()), equalTo(false));
+        assertThat(actualOtherItem.getRequest(), nullValue());
+        assertThat(actualOtherItem.getCommentCount(), equalTo(0L));
+        assertThat(actualOtherItem.getLastCommentCreated(), nullValue());
+        assertThat(bookingRepository.count(), equalTo(0L));
+        assertThat(commentRepository.count(), equalTo(0L));
+
+        itemRepository.deleteById(otherItem.getId());
+    }
+
+    @Test
+    void deleteUserById_whenUserNotFound_thenExceptionThrown() {
+        assertThrows(NoSuchEntityException.class, () -> userService.deleteUserById(user1.getId() + 100));
+    }
+
 }
@@ -2,17 +2,37 @@ package ru.practicum.shareit.user;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionOperations;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.archive.BookingArchiver;
+import ru.practicum.shareit.booking.summary.BookingCounters;
+import ru.practicum.shareit.booking.summary.BookingRole;
+import ru.practicum.shareit.booking.summary.CounterKey;
 import ru.practicum.shareit.exception.HasNotSavedException;
 import ru.practicum.shareit.exception.NoSuchEntityException;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserLookupDto;
+import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
@@ -25,6 +45,30 @@ public class UserServiceImplTest {
     @Mock
     UserRepository userRepository;
 
+    @Mock
+    ItemRepository itemRepository;
+
+    @Mock
+    ItemRequestRepository itemRequestRepository;
+
+    @Mock
+    BookingRepository bookingRepository;
+
+    @Mock
+    BookingArchiver bookingArchiver;
+
+    @Mock
+    BookingCounters bookingCounters;
+
+    @Mock
+    CommentRepository commentRepository;
+
+    @Mock
+    EmailRegistry emailRegistry;
+
+    @Mock
+    TransactionOperations transactionOperations;
+
     @InjectMocks
     UserServiceImpl userService;
 
@@ -56,6 +100,41 @@ public class UserServiceImplTest {
         assertThrows(HasNotSavedException.class, () -> userService.addUser(newUserDto));
     }
 
+    @Test
+    void addUser_whenEmailTaken_thenExceptionThrownWithoutInsert() {
+        UserDto newUserDto = UserDto.builder().name("user").email("User@Yandex.ru").build();
+
+        when(emailRegistry.isTaken("User@Yandex.ru")).thenReturn(true);
+
+        assertThrows(HasNotSavedException.class, () -> userService.addUser(newUserDto));
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void addUser_whenUserSaved_thenEmailRegistered() {
+        UserDto newUserDto = UserDto.builder().name("user").email("user@yandex.ru").build();
+        User user = User.builder().id(1L).name("user").email("user@yandex.ru").build();
+
+        when(userRepository.save(any(User.class))).thenReturn(user);
+
+        userService.addUser(newUserDto);
+
+        verify(emailRegistry).registerAfterCommit(1L, "user@yandex.ru", null);
+    }
+
+    @Test
+    void updateUserData_whenEmailTakenByOther_thenExceptionThrownWithoutUpdate() {
+        long userId = 1L;
+        UserDto toUpdateUserDto = UserDto.builder().email("other@yandex.ru").build();
+        User user = User.builder().id(userId).name("user").email("user@yandex.ru").build();
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(emailRegistry.isTakenByOther("other@yandex.ru", userId)).thenReturn(true);
+
+        assertThrows(HasNotSavedException.class, () -> userService.updateUserData(toUpdateUserDto, userId));
+        verify(userRepository, never()).save(any(User.class));
+    }
+
     @Test
     void updateUserData_whenUserValid_thenUserUpdated() {
         long userId = 1L;
@@ -103,13 +182,72 @@ public class UserServiceImplTest {
         User user = User.builder().id(userId).name("user").email("user@yandex.ru").build();
         UserDto expectedUserDto = UserDto.builder().id(userId).name("user").email("user@yandex.ru").build();
 
-        when(userRepository.findAll()).thenReturn(List.of(user));
+        when(userRepository.findAllDtoByIdGreaterThan(0L, PageRequest.of(0, 10)))
+                .thenReturn(List.of(expectedUserDto));
 
-        List<UserDto> actualUserDto = userService.getAllUsers();
+        List<UserDto> actualUserDto = userService.getAllUsers(0L, 10);
 
         assertThat(actualUserDto, equalTo(List.of(expectedUserDto)));
     }
 
+    @Test
+    void getAllUsers_whenSizeTooLarge_thenSizeClamped() {
+        when(userRepository.findAllDtoByIdGreaterThan(0L, PageRequest.of(0, UserServiceImpl.MAX_USERS_PAGE_SIZE)))
+                .thenReturn(List.of());
+
+        List<UserDto> actualUserDto = userService.getAllUsers(0L, Integer.MAX_VALUE);
+
+        assertThat(actualUserDto, equalTo(List.of()));
+    }
+
+    @Test
+    void streamAllUsers_whenSeveralBatches_thenAllUsersConsumed() {
+        List<UserDto> firstBatch = LongStream.rangeClosed(1, 500)
+                .mapToObj(id -> UserDto.builder().id(id).name("user" + id).email("user" + id + "@yandex.ru").build())
+                .collect(Collectors.toList());
+        UserDto lastUserDto = UserDto.builder().id(501L).name("user501").email("user501@yandex.ru").build();
+        List<UserDto> consumed = new ArrayList<>();
+
+        when(userRepository.findAllDtoByIdGreaterThan(eq(0L), any(Pageable.class))).thenReturn(firstBatch);
+        when(userRepository.findAllDtoByIdGreaterThan(eq(500L), any(Pageable.class))).thenReturn(List.of(lastUserDto));
+
+        userService.streamAllUsers(consumed::add);
+
+        assertThat(consumed.size(), equalTo(501));
+        assertThat(consumed.get(500), equalTo(lastUserDto));
+        verify(userRepository, times(2)).findAllDtoByIdGreaterThan(anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    void lookupUsers_whenSomeIdsMissing_thenResultsInRequestOrder() {
+        User user1 = User.builder().id(1L).name("user1").email("user1@yandex.ru").build();
+        User user3 = User.builder().id(3L).name("user3").email("user3@yandex.ru").build();
+
+        when(userRepository.findAllById(List.of(3L, 2L, 1L))).thenReturn(List.of(user1, user3));
+
+        List<UserLookupDto> actualList = userService.lookupUsers(List.of(3L, 2L, 1L, 3L));
+
+        assertThat(actualList, equalTo(List.of(
+                new UserLookupDto(3L, true, UserMapper.mapToUserDto(user3)),
+                new UserLookupDto(2L, false, null),
+                new UserLookupDto(1L, true, UserMapper.mapToUserDto(user1)),
+                new UserLookupDto(3L, true, UserMapper.mapToUserDto(user3)))));
+    }
+
+    @Test
+    void lookupUsers_whenManyIds_thenQueriedInChunks() {
+        List<Long> ids = LongStream.rangeClosed(1, UserServiceImpl.LOOKUP_CHUNK_SIZE + 1).boxed()
+                .collect(Collectors.toList());
+
+        when(userRepository.findAllById(anyList())).thenReturn(List.of());
+
+        List<UserLookupDto> actualList = userService.lookupUsers(ids);
+
+        assertThat(actualList.size(), equalTo(ids.size()));
+        verify(userRepository).findAllById(ids.subList(0, UserServiceImpl.LOOKUP_CHUNK_SIZE));
+        verify(userRepository).findAllById(List.of((long) UserServiceImpl.LOOKUP_CHUNK_SIZE + 1));
+    }
+
     @Test
     void getUserById_whenInputValid_thenDtoReturned() {
         long userId = 1;
@@ -133,12 +271,54 @@ public class UserServiceImplTest {
     }
 
     @Test
-    void deleteUserById_whenInvoked_thenUserDeleted() {
+    void deleteUserById_whenInvoked_thenDependentRowsDeletedBeforeUser() {
         long userId = 1;
+        List<Long> fullBatch = LongStream.rangeClosed(1, UserServiceImpl.DELETE_BATCH_SIZE).boxed()
+                .collect(Collectors.toList());
+
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(commentRepository.findIdsByAuthorId(eq(userId), any(Pageable.class))).thenReturn(List.of(7L));
+        when(commentRepository.findItemIdsByIds(List.of(7L))).thenReturn(List.of(5L));
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionOperations).executeWithoutResult(any());
+        when(bookingRepository.findIdsByBookerId(eq(userId), any(Pageable.class)))
+                .thenReturn(fullBatch, List.of(8L));
+        when(itemRepository.findIdsByRequestRequesterId(eq(userId), any(Pageable.class))).thenReturn(List.of(9L));
+        Set<CounterKey> relatedCounters = Set.of(new CounterKey(userId, BookingRole.BOOKER),
+                new CounterKey(2L, BookingRole.OWNER));
+        when(bookingCounters.findRelatedTo(userId)).thenReturn(relatedCounters);
 
         userService.deleteUserById(userId);
 
-        verify(userRepository, times(1)).deleteById(userId);
+        InOrder inOrder = inOrder(transactionOperations, commentRepository, bookingCounters, bookingRepository,
+                bookingArchiver, itemRepository, itemRequestRepository, userRepository);
+        inOrder.verify(transactionOperations).executeWithoutResult(any());
+        inOrder.verify(commentRepository).deleteByIds(List.of(7L));
+        inOrder.verify(itemRepository).refreshCommentStatistics(List.of(5L));
+        inOrder.verify(commentRepository).findIdsByItemOwnerId(eq(userId), any(Pageable.class));
+        inOrder.verify(bookingCounters).findRelatedTo(userId);
+        inOrder.verify(bookingRepository).deleteByIds(fullBatch);
+        inOrder.verify(bookingRepository).deleteByIds(List.of(8L));
+        inOrder.verify(bookingRepository).findIdsByItemOwnerId(eq(userId), any(Pageable.class));
+        inOrder.verify(bookingArchiver).deleteByUserId(userId);
+        inOrder.verify(bookingCounters).invalidate(relatedCounters);
+        inOrder.verify(itemRepository).detachFromRequestByIds(List.of(9L));
+        inOrder.verify(itemRequestRepository).findIdsByRequesterId(eq(userId), any(Pageable.class));
+        inOrder.verify(itemRepository).findIdsByOwnerId(eq(userId), any(Pageable.class));
+        inOrder.verify(userRepository).deleteRowById(userId);
+        verify(itemRepository, never()).deleteByIds(anyList());
+    }
+
+    @Test
+    void deleteUserById_whenUserNotFound_thenExceptionThrown() {
+        long userId = 1;
+
+        when(userRepository.existsById(userId)).thenReturn(false);
+
+        assertThrows(NoSuchEntityException.class, () -> userService.deleteUserById(userId));
+        verify(userRepository, never()).deleteRowById(anyLong());
     }
 
 }
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.tracing;
+
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+public class Span {
+
+    private final String traceId;
+    private final String spanId;
+    private final String parentSpanId;
+    private final SpanKind kind;
+    private final boolean sampled;
+    private final long startEpochNanos;
+    private final long startNanos;
+    private final Map<String, Object> attributes = new LinkedHashMap<>();
+    private String name;
+    private long durationNanos;
+    private String errorMessage;
+
+    final Span previous;
+
+    Span(String traceId, String spanId, String parentSpanId, String name, SpanKind kind, boolean sampled,
+         Span previous) {
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.name = name;
+        this.kind = kind;
+        this.sampled = sampled;
+        this.previous = previous;
+        long epochMillis = System.currentTimeMillis();
+        this.startNanos = System.nanoTime();
+        this.startEpochNanos = epochMillis * 1_000_000L;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public void setAttribute(String key, Object value) {
+        if (sampled && value != null) {
+            attributes.put(key, value);
+        }
+    }
+
+    public void recordError(Throwable e) {
+        recordError(e.getClass().getSimpleName() + ": " + e.getMessage());
+    }
+
+    public void recordError(String message) {
+        errorMessage = message;
+    }
+
+    public boolean isError() {
+        return errorMessage != null;
+    }
+
+    public Map<String, Object> getAttributes() {
+        return Collections.unmodifiableMap(attributes);
+    }
+
+    public String traceparent() {
+        return "00-" + traceId + "-" + spanId + (sampled ? "-01" : "-00");
+    }
+
+    void end() {
+        durationNanos = System.nanoTime() - startNanos;
+    }
+
+}
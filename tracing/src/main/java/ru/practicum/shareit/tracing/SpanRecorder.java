@@ -0,0 +1,156 @@
+package ru.practicum.shareit.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class SpanRecorder implements DisposableBean {
+
+    private static final Span SHUTDOWN = new Span("", "", null, "", SpanKind.INTERNAL, false, null);
+
+    private final TracingProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Deque<Span> recent = new ArrayDeque<>();
+    private final BlockingQueue<Span> exportQueue;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread exporter;
+
+    public SpanRecorder(TracingProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        if (properties.getExportFile() == null || properties.getExportFile().isBlank()) {
+            this.exportQueue = null;
+            this.exporter = null;
+        } else {
+            this.exportQueue = new ArrayBlockingQueue<>(properties.getExportQueueSize());
+            this.exporter = new Thread(() -> export(Path.of(properties.getExportFile())), "span-exporter");
+            this.exporter.setDaemon(true);
+            this.exporter.start();
+        }
+    }
+
+    public void record(Span span) {
+        synchronized (recent) {
+            if (recent.size() >= properties.getMaxSpans()) {
+                recent.removeFirst();
+            }
+            recent.addLast(span);
+        }
+        if (exportQueue != null && !exportQueue.offer(span)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    public List<Span> findTrace(String traceId) {
+        synchronized (recent) {
+            return recent.stream()
+                    .filter(span -> span.getTraceId().equals(traceId))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    public List<Span> recentRootSpans() {
+        List<Span> roots = new ArrayList<>();
+        synchronized (recent) {
+            recent.descendingIterator().forEachRemaining(span -> {
+                if (span.getKind() == SpanKind.SERVER || span.getParentSpanId() == null) {
+                    roots.add(span);
+                }
+            });
+        }
+        return roots;
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        if (exporter != null) {
+            exportQueue.clear();
+            exportQueue.put(SHUTDOWN);
+            exporter.join(1000);
+        }
+    }
+
+    private void export(Path file) {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            while (true) {
+                Span span = exportQueue.take();
+                if (span == SHUTDOWN) {
+                    return;
+                }
+                writer.write(objectMapper.writeValueAsString(toOtlp(span)));
+                writer.newLine();
+                if (exportQueue.isEmpty()) {
+                    writer.flush();
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Span export to {} stopped: {}", file, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Map<String, Object> toOtlp(Span span) {
+        Map<String, Object> otlpSpan = new LinkedHashMap<>();
+        otlpSpan.put("traceId", span.getTraceId());
+        otlpSpan.put("spanId", span.getSpanId());
+        if (span.getParentSpanId() != null) {
+            otlpSpan.put("parentSpanId", span.getParentSpanId());
+        }
+        otlpSpan.put("name", span.getName());
+        otlpSpan.put("kind", span.getKind().getOtlpCode());
+        otlpSpan.put("startTimeUnixNano", String.valueOf(span.getStartEpochNanos()));
+        otlpSpan.put("endTimeUnixNano", String.valueOf(span.getStartEpochNanos() + span.getDurationNanos()));
+        otlpSpan.put("attributes", attributes(span.getAttributes()));
+        otlpSpan.put("status", span.isError()
+                ? Map.of("code", 2, "message", span.getErrorMessage())
+                : Map.of("code", 0));
+        Map<String, Object> resource = Map.of("attributes",
+                attributes(Map.of("service.name", properties.getServiceName())));
+        Map<String, Object> scopeSpans = Map.of("scope", Map.of("name", "ru.practicum.shareit.tracing"),
+                "spans", List.of(otlpSpan));
+        return Map.of("resourceSpans", List.of(Map.of("resource", resource, "scopeSpans", List.of(scopeSpans))));
+    }
+
+    private static List<Map<String, Object>> attributes(Map<String, Object> attributes) {
+        return attributes.entrySet().stream()
+                .map(entry -> Map.of("key", entry.getKey(), "value", attributeValue(entry.getValue())))
+                .collect(Collectors.toList());
+    }
+
+    private static Map<String, Object> attributeValue(Object value) {
+        if (value instanceof Integer || value instanceof Long) {
+            return Map.of("intValue", String.valueOf(value));
+        }
+        if (value instanceof Boolean) {
+            return Map.of("boolValue", value);
+        }
+        return Map.of("stringValue", String.valueOf(value));
+    }
+
+}
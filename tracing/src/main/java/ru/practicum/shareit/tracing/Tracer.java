@@ -0,0 +1,95 @@
+package ru.practicum.shareit.tracing;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+@Component
+@RequiredArgsConstructor
+public class Tracer {
+
+    public static final String TRACEPARENT_HEADER = "traceparent";
+    public static final String TRACE_ID_HEADER = "X-Trace-Id";
+
+    private static final Pattern TRACEPARENT = Pattern.compile("00-[0-9a-f]{32}-[0-9a-f]{16}-[0-9a-f]{2}");
+    private static final String INVALID_TRACE_ID = "00000000000000000000000000000000";
+    private static final String INVALID_SPAN_ID = "0000000000000000";
+    private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+
+    private final TracingProperties properties;
+    private final SpanRecorder spanRecorder;
+
+    @Nullable
+    public static Span currentSpan() {
+        return CURRENT.get();
+    }
+
+    @Nullable
+    public static String currentTraceparent() {
+        Span span = CURRENT.get();
+        return span == null ? null : span.traceparent();
+    }
+
+    public Span startSpan(String name, SpanKind kind) {
+        Span parent = CURRENT.get();
+        if (parent == null) {
+            return open(newTraceId(), null, name, kind, sample());
+        }
+        return open(parent.getTraceId(), parent.getSpanId(), name, kind, parent.isSampled());
+    }
+
+    public Span startServerSpan(String name, @Nullable String traceparent) {
+        if (traceparent == null || !TRACEPARENT.matcher(traceparent).matches()) {
+            return startSpan(name, SpanKind.SERVER);
+        }
+        String traceId = traceparent.substring(3, 35);
+        String parentSpanId = traceparent.substring(36, 52);
+        if (INVALID_TRACE_ID.equals(traceId) || INVALID_SPAN_ID.equals(parentSpanId)) {
+            return startSpan(name, SpanKind.SERVER);
+        }
+        boolean sampled = properties.isEnabled() && (Integer.parseInt(traceparent.substring(53), 16) & 1) == 1;
+        return open(traceId, parentSpanId, name, SpanKind.SERVER, sampled);
+    }
+
+    public void end(Span span) {
+        span.end();
+        if (CURRENT.get() == span) {
+            if (span.previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(span.previous);
+            }
+        }
+        if (span.isSampled()) {
+            spanRecorder.record(span);
+        }
+    }
+
+    private Span open(String traceId, String parentSpanId, String name, SpanKind kind, boolean sampled) {
+        Span span = new Span(traceId, newSpanId(), parentSpanId, name, kind, sampled, CURRENT.get());
+        CURRENT.set(span);
+        return span;
+    }
+
+    private boolean sample() {
+        return properties.isEnabled() && ThreadLocalRandom.current().nextDouble() < properties.getSampleRatio();
+    }
+
+    private static String newTraceId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return hex(random.nextLong(1, Long.MAX_VALUE)) + hex(random.nextLong());
+    }
+
+    private static String newSpanId() {
+        return hex(ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE));
+    }
+
+    private static String hex(long value) {
+        String digits = Long.toHexString(value);
+        return "0000000000000000".substring(digits.length()) + digits;
+    }
+
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.tracing;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@Component
+@Endpoint(id = "traces")
+@RequiredArgsConstructor
+public class TracesEndpoint {
+
+    private static final int RECENT_LIMIT = 100;
+
+    private final SpanRecorder spanRecorder;
+
+    @ReadOperation
+    public Map<String, Object> recent() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("dropped", spanRecorder.getDropped());
+        result.put("traces", spanRecorder.recentRootSpans().stream()
+                .limit(RECENT_LIMIT)
+                .map(TracesEndpoint::describe)
+                .collect(Collectors.toList()));
+        return result;
+    }
+
+    @ReadOperation
+    public List<Map<String, Object>> trace(@Selector String traceId) {
+        return spanRecorder.findTrace(traceId).stream()
+                .map(TracesEndpoint::describe)
+                .collect(Collectors.toList());
+    }
+
+    private static Map<String, Object> describe(Span span) {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("traceId", span.getTraceId());
+        description.put("spanId", span.getSpanId());
+        description.put("parentSpanId", span.getParentSpanId());
+        description.put("name", span.getName());
+        description.put("kind", span.getKind());
+        description.put("durationMicros", TimeUnit.NANOSECONDS.toMicros(span.getDurationNanos()));
+        description.put("attributes", span.getAttributes());
+        description.put("error", span.getErrorMessage());
+        return description;
+    }
+
+}
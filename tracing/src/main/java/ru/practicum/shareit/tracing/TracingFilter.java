@@ -0,0 +1,42 @@
+package ru.practicum.shareit.tracing;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+@RequiredArgsConstructor
+public class TracingFilter extends OncePerRequestFilter {
+
+    private final Tracer tracer;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Span span = tracer.startServerSpan(request.getMethod(), request.getHeader(Tracer.TRACEPARENT_HEADER));
+        response.setHeader(Tracer.TRACE_ID_HEADER, span.getTraceId());
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            span.recordError(e);
+            throw e;
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            span.setName(pattern == null ? request.getMethod() : request.getMethod() + " " + pattern);
+            span.setAttribute("http.method", request.getMethod());
+            span.setAttribute("http.target", request.getRequestURI());
+            span.setAttribute("http.route", pattern);
+            span.setAttribute("http.status_code", response.getStatus());
+            if (response.getStatus() >= 500 && !span.isError()) {
+                span.recordError("HTTP " + response.getStatus());
+            }
+            tracer.end(span);
+        }
+    }
+
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.tracing;
+
+import lombok.Data;
+
+@Data
+public class TracingProperties {
+
+    private boolean enabled = true;
+
+    private String serviceName = "shareit";
+
+    private double sampleRatio = 1.0;
+
+    private int maxSpans = 2048;
+
+    private String exportFile;
+
+    private int exportQueueSize = 4096;
+
+}
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+
+class TracerTest {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String PARENT_SPAN_ID = "00f067aa0ba902b7";
+
+    private SpanRecorder spanRecorder;
+    private Tracer tracer;
+
+    @BeforeEach
+    void setUp() {
+        TracingProperties properties = new TracingProperties();
+        spanRecorder = new SpanRecorder(properties, new ObjectMapper());
+        tracer = new Tracer(properties, spanRecorder);
+    }
+
+    @Test
+    void startServerSpan_whenTraceparentValid_thenTraceContinued() {
+        Span span = tracer.startServerSpan("GET", "00-" + TRACE_ID + "-" + PARENT_SPAN_ID + "-01");
+        tracer.end(span);
+
+        assertThat(span.getTraceId(), equalTo(TRACE_ID));
+        assertThat(span.getParentSpanId(), equalTo(PARENT_SPAN_ID));
+        assertThat(spanRecorder.findTrace(TRACE_ID), equalTo(List.of(span)));
+        assertThat(Tracer.currentSpan(), nullValue());
+    }
+
+    @Test
+    void startServerSpan_whenTraceparentMalformed_thenNewTraceStarted() {
+        Span span = tracer.startServerSpan("GET", "00-" + TRACE_ID + "-zz");
+        tracer.end(span);
+
+        assertThat(span.getTraceId(), not(equalTo(TRACE_ID)));
+        assertThat(span.getParentSpanId(), nullValue());
+    }
+
+    @Test
+    void startServerSpan_whenParentNotSampled_thenSpansNotRecorded() {
+        Span span = tracer.startServerSpan("GET", "00-" + TRACE_ID + "-" + PARENT_SPAN_ID + "-00");
+        Span child = tracer.startSpan("child", SpanKind.INTERNAL);
+        tracer.end(child);
+        tracer.end(span);
+
+        assertThat(child.traceparent(), equalTo("00-" + TRACE_ID + "-" + child.getSpanId() + "-00"));
+        assertThat(spanRecorder.findTrace(TRACE_ID), hasSize(0));
+    }
+
+    @Test
+    void startSpan_whenParentActive_thenChildLinkedAndParentRestored() {
+        Span parent = tracer.startSpan("parent", SpanKind.SERVER);
+        Span child = tracer.startSpan("child", SpanKind.CLIENT);
+
+        assertThat(Tracer.currentTraceparent(), equalTo(child.traceparent()));
+        tracer.end(child);
+        assertThat(Tracer.currentSpan(), equalTo(parent));
+        tracer.end(parent);
+
+        assertThat(child.getTraceId(), equalTo(parent.getTraceId()));
+        assertThat(child.getParentSpanId(), equalTo(parent.getSpanId()));
+        assertThat(Tracer.currentSpan(), nullValue());
+    }
+
+}